@@ -0,0 +1,91 @@
+package com.fuel50.moodtracker.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the JMH benchmarks, taking the usual JMH command line options, then compares the scores with the
+ * checked-in baseline. All benchmarks measure average time, so a score above the baseline by more than
+ * the tolerance is reported as a regression.
+ * <p>
+ * System properties:
+ * <ul>
+ *     <li>{@code jmh.baseline}: baseline result file, {@code src/jmh/baseline.json} by default</li>
+ *     <li>{@code jmh.tolerance}: allowed slowdown before reporting a regression, 0.25 by default</li>
+ *     <li>{@code jmh.failOnRegression}: exit with status 1 when a regression is found</li>
+ * </ul>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Collection<RunResult> results = new Runner(new CommandLineOptions(args)).run();
+
+        Path baselineFile = Path.of(System.getProperty("jmh.baseline", "src/jmh/baseline.json"));
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline found at " + baselineFile + ", nothing to compare with");
+            return;
+        }
+        double tolerance = Double.parseDouble(System.getProperty("jmh.tolerance", "0.25"));
+        Map<String, Double> baseline = readBaseline(baselineFile);
+
+        Map<String, Double> current = new TreeMap<>();
+        for (RunResult result : results) {
+            current.put(key(result.getParams().getBenchmark(), paramsOf(result)), result.getPrimaryResult().getScore());
+        }
+
+        int regressions = 0;
+        System.out.printf("%nCompared with %s (tolerance %.0f%%)%n", baselineFile, tolerance * 100);
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            Double baselineScore = baseline.get(entry.getKey());
+            if (baselineScore == null) {
+                System.out.printf("  %-110s %12.3f  (new)%n", entry.getKey(), entry.getValue());
+                continue;
+            }
+            double change = entry.getValue() / baselineScore - 1;
+            boolean regression = change > tolerance;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("  %-110s %12.3f %12.3f %+7.1f%%%s%n", entry.getKey(), baselineScore, entry.getValue(),
+                    change * 100, regression ? "  REGRESSION" : "");
+        }
+        if (regressions > 0 && Boolean.getBoolean("jmh.failOnRegression")) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Double> readBaseline(Path baselineFile) throws Exception {
+        Map<String, Double> scores = new HashMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(baselineFile.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            benchmark.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            scores.put(key(benchmark.get("benchmark").asText(), params), benchmark.get("primaryMetric").get("score").asDouble());
+        }
+        return scores;
+    }
+
+    private static Map<String, String> paramsOf(RunResult result) {
+        Map<String, String> params = new TreeMap<>();
+        for (String name : result.getParams().getParamsKeys()) {
+            params.put(name, result.getParams().getParam(name));
+        }
+        return params;
+    }
+
+    private static String key(String benchmark, Map<String, String> params) {
+        return params.isEmpty() ? benchmark : benchmark + params;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fuel50.moodtracker.benchmark;
+
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic submission data shared by the benchmarks: every second submission has a comment,
+ * moods are spread evenly.
+ */
+public final class Submissions {
+    private static final MoodType[] MOOD_TYPES = MoodType.values();
+
+    private Submissions() {
+    }
+
+    public static List<MoodSubmissionDO> generate(int count) {
+        Random random = new Random(42);
+        List<MoodSubmissionDO> submissions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MoodType mood = MOOD_TYPES[random.nextInt(MOOD_TYPES.length)];
+            String comment = i % 2 == 0 ? "Comment number " + i + " about how the day went" : null;
+            submissions.add(new MoodSubmissionDO(mood, new UUID(random.nextLong(), random.nextLong()).toString(), comment));
+        }
+        return submissions;
+    }
+
+    public static List<String> comments(List<MoodSubmissionDO> submissions) {
+        List<String> comments = new ArrayList<>(submissions.size() / 2 + 1);
+        for (MoodSubmissionDO submission : submissions) {
+            if (submission.getComment() != null) {
+                comments.add(submission.getComment());
+            }
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,57 @@
+package com.fuel50.moodtracker.controller.mapper;
+
+import com.fuel50.moodtracker.benchmark.Submissions;
+import com.fuel50.moodtracker.datatransferobject.MoodSubmissionDTO;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoodMapperBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SingleSubmission {
+        private final MoodSubmissionDTO moodSubmissionDTO =
+                new MoodSubmissionDTO(MoodType.HAPPY, "b1f4c7d2-5a8e-4f3b-9c6d-2e7a1b8f0c3d", "Feeling good");
+    }
+
+    @State(Scope.Benchmark)
+    public static class TodayMoods {
+        @Param({"1000", "100000", "1000000"})
+        private int submissions;
+
+        private List<MoodSubmissionDO> todayMoods;
+
+        @Setup
+        public void setUp() {
+            todayMoods = Submissions.generate(submissions);
+        }
+    }
+
+    @Benchmark
+    public MoodSubmissionDO makeMoodSubmissionDO(SingleSubmission state) {
+        return MoodMapper.makeMoodSubmissionDO(state.moodSubmissionDTO);
+    }
+
+    @Benchmark
+    public List<MoodSubmissionDTO> makeMoodSubmissionDTOList(TodayMoods state) {
+        return MoodMapper.makeMoodSubmissionDTOList(state.todayMoods);
+    }
+}
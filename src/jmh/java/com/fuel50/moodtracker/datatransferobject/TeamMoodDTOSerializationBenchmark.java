@@ -0,0 +1,57 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fuel50.moodtracker.benchmark.Submissions;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TeamMoodDTOSerializationBenchmark {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @State(Scope.Benchmark)
+    public static class Summary {
+        private final TeamMoodDTO teamMood = new TeamMoodDTO(MoodType.A_BIT_MEH, null, 500_000);
+    }
+
+    @State(Scope.Benchmark)
+    public static class WithComments {
+        @Param({"1000", "100000", "1000000"})
+        private int submissions;
+
+        private TeamMoodDTO teamMood;
+
+        @Setup
+        public void setUp() {
+            teamMood = new TeamMoodDTO(MoodType.A_BIT_MEH, Submissions.comments(Submissions.generate(submissions)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeWithComments(WithComments state) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(state.teamMood);
+    }
+
+    // What /overall?includeComments=false pays, whatever the number of submissions
+    @Benchmark
+    public byte[] serializeSummary(Summary state) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(state.teamMood);
+    }
+}
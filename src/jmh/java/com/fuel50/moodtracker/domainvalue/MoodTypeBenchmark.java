@@ -0,0 +1,47 @@
+package com.fuel50.moodtracker.domainvalue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoodTypeBenchmark {
+    private static final int SCORES = 1024;
+
+    private double[] averageScores;
+
+    @Setup
+    public void setUp() {
+        // Random averages between 1 and 5 so the branch predictor can not learn the result
+        Random random = new Random(42);
+        averageScores = new double[SCORES];
+        for (int i = 0; i < SCORES; i++) {
+            averageScores[i] = 1 + random.nextDouble() * 4;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCORES)
+    public void fromScore(Blackhole blackhole) {
+        for (double averageScore : averageScores) {
+            blackhole.consume(MoodType.fromScore(averageScore));
+        }
+    }
+}
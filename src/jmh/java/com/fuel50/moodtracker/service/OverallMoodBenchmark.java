@@ -0,0 +1,174 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.benchmark.Submissions;
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.dataaccessobject.TeamCommentView;
+import com.fuel50.moodtracker.dataaccessobject.TeamMoodCount;
+import com.fuel50.moodtracker.datatransferobject.TeamMoodDTO;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of building the overall mood of a day, outside of the database: the in-memory aggregate used by
+ * {@link DefaultMoodService#getOverallMood(String)} against the stream averaging over every submission it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class OverallMoodBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int submissions;
+
+    private List<MoodSubmissionDO> todayMoods;
+    private DailyMoodAggregate aggregate;
+    private DefaultMoodService moodService;
+
+    @Setup
+    public void setUp() {
+        todayMoods = Submissions.generate(submissions);
+        aggregate = record(todayMoods);
+
+        MoodRepository moodRepository = repositoryReturning(teamMoodCounts(todayMoods), Submissions.comments(todayMoods));
+        moodService = new DefaultMoodService(moodRepository, new DailyMoodAggregator(moodRepository),
+                new DailySubmitterRegistry(moodRepository),
+                new MoodWriteBehindQueue(moodRepository, event -> { }, null, new SimpleMeterRegistry(), false, 1, 1, Duration.ZERO, Duration.ZERO),
+                event -> { }, null, new ColumnarDayStore(moodRepository),
+                new PhraseFrequencyIndex(moodRepository, 7, 200));
+    }
+
+    @Benchmark
+    public TeamMoodDTO getOverallMood() {
+        return moodService.getOverallMood(MoodSubmissionDO.DEFAULT_TEAM);
+    }
+
+    @Benchmark
+    public TeamMoodDTO getOverallMoodSummary() {
+        return moodService.getOverallMoodSummary(MoodSubmissionDO.DEFAULT_TEAM);
+    }
+
+    @Benchmark
+    public MoodType aggregateOverallMood() {
+        return aggregate.getOverallMood();
+    }
+
+    @Benchmark
+    public DailyMoodAggregate aggregateRecordDay() {
+        return record(todayMoods);
+    }
+
+    // The averaging and comment collection getOverallMood did over the loaded submissions before the aggregates
+    @Benchmark
+    public TeamMoodDTO streamAveraging() {
+        double averageScore = todayMoods.stream()
+                .mapToInt(submission -> submission.getMood().getScore())
+                .average()
+                .orElse(0.0);
+        List<String> comments = todayMoods.stream()
+                .map(MoodSubmissionDO::getComment)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new TeamMoodDTO(MoodType.fromScore(averageScore), comments);
+    }
+
+    private static DailyMoodAggregate record(List<MoodSubmissionDO> submissions) {
+        DailyMoodAggregate aggregate = new DailyMoodAggregate(LocalDate.now());
+        for (MoodSubmissionDO submission : submissions) {
+            aggregate.record(submission.getMood(), submission.getComment() != null);
+        }
+        return aggregate;
+    }
+
+    private static List<TeamMoodCount> teamMoodCounts(List<MoodSubmissionDO> submissions) {
+        Map<MoodType, long[]> counts = new EnumMap<>(MoodType.class);
+        for (MoodSubmissionDO submission : submissions) {
+            long[] count = counts.computeIfAbsent(submission.getMood(), mood -> new long[2]);
+            count[0]++;
+            if (submission.getComment() != null) {
+                count[1]++;
+            }
+        }
+        return counts.entrySet().stream()
+                .map(entry -> (TeamMoodCount) new TeamMoodCount() {
+                    @Override
+                    public String getTeamId() { return MoodSubmissionDO.DEFAULT_TEAM; }
+
+                    @Override
+                    public MoodType getMood() { return entry.getKey(); }
+
+                    @Override
+                    public long getTotal() { return entry.getValue()[0]; }
+
+                    @Override
+                    public long getComments() { return entry.getValue()[1]; }
+                })
+                .toList();
+    }
+
+    // Only the queries used to read the overall mood are answered, with data prepared up front
+    private static MoodRepository repositoryReturning(List<TeamMoodCount> teamMoodCounts, List<String> comments) {
+        return (MoodRepository) Proxy.newProxyInstance(MoodRepository.class.getClassLoader(),
+                new Class<?>[]{MoodRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "countTeamMoods" -> teamMoodCounts;
+                    case "findCommentsByTeamIdAndSubmissionDateBetween" -> comments;
+                    case "findTeamCommentsAfter" -> teamComments(comments, (long) args[2], (Limit) args[3]);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "MoodRepository stub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // Comment ids are their position in the list plus one
+    private static List<TeamCommentView> teamComments(List<String> comments, long afterId, Limit limit) {
+        int from = (int) Math.min(afterId, comments.size());
+        int to = Math.min(comments.size(), from + limit.max());
+        List<TeamCommentView> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            long id = i + 1;
+            String comment = comments.get(i);
+            page.add(new TeamCommentView() {
+                @Override
+                public Long getId() { return id; }
+
+                @Override
+                public String getTeamId() { return MoodSubmissionDO.DEFAULT_TEAM; }
+
+                @Override
+                public MoodType getMood() { return MoodType.HAPPY; }
+
+                @Override
+                public String getComment() { return comment; }
+            });
+        }
+        return page;
+    }
+}
@@ -0,0 +1,201 @@
+package com.fuel50.moodtracker.loadtest;
+
+import com.fuel50.moodtracker.loadtest.LoadTestOptions.Operation;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One simulated client: every {@code loadtest.interval} it picks an operation by weight, sends it and waits for
+ * the response. Latencies are recorded in the client's own histograms, merged once the run is over, so recording
+ * never contends between clients.
+ * <p>
+ * A response slower than the interval delays the requests this client would have sent meanwhile, which would
+ * leave the slowest moments out of the percentiles (coordinated omission). For every interval the client was
+ * kept waiting, a request that should have been sent then is recorded too, with the latency it would have seen
+ * queued behind the slow one. Each of those picks its operation by weight like a real one, so a stalled read
+ * also counts against the submissions scheduled meanwhile rather than only against reads. With an interval of
+ * zero the client runs a closed loop and latencies are only those of the requests actually sent.
+ */
+final class LoadClient implements Callable<Map<Operation, LoadClient.Result>> {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int REMEMBERED_USERS = 64;
+    private static final String[] MOODS = {"HAPPY", "JUST_NORMAL_REALLY", "A_BIT_MEH", "GRUMPY", "STRESSED_OUT_NOT_A_HAPPY_CAMPER"};
+
+    private final HttpClient httpClient;
+    private final URI moodUri;
+    private final URI overallUri;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final String team;
+    private final long intervalNanos;
+    private final long measureFrom;
+    private final long measureUntil;
+    private final SplittableRandom random;
+    // Picks the operations of the omitted requests, so correcting leaves the sequence of sent requests unchanged
+    private final SplittableRandom omittedRandom;
+    private final List<String> submittedUsers = new ArrayList<>();
+
+    LoadClient(HttpClient httpClient, URI baseUri, LoadTestOptions options, String team,
+               long measureFrom, long measureUntil, long seed) {
+        this.httpClient = httpClient;
+        this.moodUri = baseUri.resolve("/api/mood");
+        this.overallUri = baseUri.resolve("/api/mood/overall?includeComments=" + options.includeComments);
+        this.operations = options.mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.team = team;
+        this.intervalNanos = options.interval.toNanos();
+        this.measureFrom = measureFrom;
+        this.measureUntil = measureUntil;
+        this.random = new SplittableRandom(seed);
+        this.omittedRandom = random.split();
+    }
+
+    @Override
+    public Map<Operation, Result> call() {
+        Map<Operation, Result> results = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            results.put(operation, new Result());
+        }
+        long scheduled = System.nanoTime();
+        while (scheduled < measureUntil) {
+            waitUntil(scheduled);
+            Operation operation = next();
+            if (operation == Operation.DUPLICATE && submittedUsers.isEmpty()) {
+                operation = Operation.SUBMIT;
+            }
+            String userId = operation == Operation.DUPLICATE
+                    ? submittedUsers.get(random.nextInt(submittedUsers.size()))
+                    : UUID.randomUUID().toString();
+
+            long start = System.nanoTime();
+            int status = send(request(operation, userId));
+            long end = System.nanoTime();
+
+            if (operation == Operation.SUBMIT && status == Operation.SUBMIT.getExpectedStatus()) {
+                remember(userId);
+            }
+            if (start >= measureFrom && end <= measureUntil) {
+                results.get(operation).record(end - start, status == operation.getExpectedStatus());
+                recordOmitted(results, end - start);
+            }
+            // A late client starts its next request right away rather than catching up in a burst
+            scheduled = Math.max(scheduled + intervalNanos, end);
+        }
+        return results;
+    }
+
+    private static void waitUntil(long scheduled) {
+        long wait;
+        while ((wait = scheduled - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    // The requests the interval would have started while this one was waiting, as HdrHistogram's
+    // recordValueWithExpectedInterval adds them, but spread over the mix
+    private void recordOmitted(Map<Operation, Result> results, long nanos) {
+        if (intervalNanos <= 0) {
+            return;
+        }
+        for (long missed = nanos - intervalNanos; missed >= intervalNanos; missed -= intervalNanos) {
+            results.get(next(omittedRandom)).recordOmitted(missed);
+        }
+    }
+
+    private Operation next() {
+        return next(random);
+    }
+
+    private Operation next(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest request(Operation operation, String userId) {
+        if (operation == Operation.READ) {
+            return HttpRequest.newBuilder(overallUri)
+                    .header("X-Team-Id", team)
+                    .GET()
+                    .build();
+        }
+        String body = "{\"mood\":\"" + MOODS[random.nextInt(MOODS.length)] + "\",\"comment\":\"Load test\"}";
+        return HttpRequest.newBuilder(moodUri)
+                .header("Content-Type", "application/json")
+                .header("X-User-Id", userId)
+                .header("X-Team-Id", team)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private void remember(String userId) {
+        if (submittedUsers.size() < REMEMBERED_USERS) {
+            submittedUsers.add(userId);
+        } else {
+            submittedUsers.set(random.nextInt(REMEMBERED_USERS), userId);
+        }
+    }
+
+    /**
+     * Latencies of the responses with the expected status, and the number of both. The histogram also holds the
+     * requests added for coordinated omission, whichever operation's response held them up, so it counts more
+     * than were sent.
+     */
+    static final class Result {
+        final Histogram latencies = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long requests;
+        long errors;
+
+        void record(long nanos, boolean expected) {
+            if (expected) {
+                latencies.recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+                requests++;
+            } else {
+                errors++;
+            }
+        }
+
+        void recordOmitted(long nanos) {
+            latencies.recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+        }
+
+        void add(Result other) {
+            latencies.add(other.latencies);
+            requests += other.requests;
+            errors += other.errors;
+        }
+    }
+}
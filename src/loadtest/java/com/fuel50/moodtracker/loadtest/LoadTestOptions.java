@@ -0,0 +1,96 @@
+package com.fuel50.moodtracker.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from {@code loadtest.*} system properties.
+ */
+final class LoadTestOptions {
+
+    /**
+     * What a client does in one iteration.
+     */
+    enum Operation {
+        /** POST /api/mood as a user who has not submitted today, expects 201 */
+        SUBMIT(201),
+        /** POST /api/mood again as a user who already submitted, expects 400 */
+        DUPLICATE(400),
+        /** GET /api/mood/overall, expects 200 */
+        READ(200);
+
+        private final int expectedStatus;
+
+        Operation(int expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+
+        int getExpectedStatus() {
+            return expectedStatus;
+        }
+    }
+
+    final int clients;
+    final Duration interval;
+    final Duration warmup;
+    final Duration duration;
+    final Map<Operation, Integer> mix;
+    final int teams;
+    final boolean includeComments;
+    final String datasourceUrl;
+    final Path reportDirectory;
+
+    private LoadTestOptions(int clients, Duration interval, Duration warmup, Duration duration, Map<Operation, Integer> mix,
+                            int teams, boolean includeComments, String datasourceUrl, Path reportDirectory) {
+        this.clients = clients;
+        this.interval = interval;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = mix;
+        this.teams = teams;
+        this.includeComments = includeComments;
+        this.datasourceUrl = datasourceUrl;
+        this.reportDirectory = reportDirectory;
+    }
+
+    static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                Integer.getInteger("loadtest.clients", 200),
+                Duration.parse(System.getProperty("loadtest.interval", "PT0.1S")),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                parseMix(System.getProperty("loadtest.mix", "submit:20,duplicate:10,read:70")),
+                Integer.getInteger("loadtest.teams", 1),
+                Boolean.parseBoolean(System.getProperty("loadtest.includeComments", "false")),
+                System.getProperty("loadtest.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+                Path.of(System.getProperty("loadtest.reportDirectory", "target/loadtest")));
+    }
+
+    // e.g. "submit:20,duplicate:10,read:70", weights need not add up to 100
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in loadtest.mix, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in loadtest.mix: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one positive weight");
+        }
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d clients %s, mix %s, %d team(s), %s measured after %s warmup, database %s",
+                clients, interval.isZero() ? "in a closed loop" : "every " + interval, mix, teams, duration, warmup, datasourceUrl);
+    }
+}
@@ -0,0 +1,163 @@
+package com.fuel50.moodtracker.loadtest;
+
+import com.fuel50.moodtracker.MoodTrackerApplication;
+import com.fuel50.moodtracker.loadtest.LoadTestOptions.Operation;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Starts the application on an embedded database and drives {@code POST /api/mood} and
+ * {@code GET /api/mood/overall} with many concurrent clients, then reports throughput and latency
+ * percentiles per operation. Runs offline, nothing but the JDK and the test classpath is needed:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.clients=500 -Dloadtest.mix=submit:50,read:50
+ * </pre>
+ * Properties, all optional:
+ * <ul>
+ *     <li>{@code loadtest.clients}: concurrent clients, 200 by default</li>
+ *     <li>{@code loadtest.interval}: how often each client starts a request, PT0.1S by default; PT0S sends the
+ *     next request as soon as the previous one is answered, without correcting for coordinated omission</li>
+ *     <li>{@code loadtest.warmup} and {@code loadtest.duration}: ISO-8601 durations, PT10S and PT30S by default</li>
+ *     <li>{@code loadtest.mix}: operation weights, {@code submit:20,duplicate:10,read:70} by default</li>
+ *     <li>{@code loadtest.teams}: number of teams the clients are spread over, 1 by default</li>
+ *     <li>{@code loadtest.includeComments}: whether reads embed today's comments, false by default</li>
+ *     <li>{@code loadtest.datasource.url}: H2 in MySQL mode by default, a {@code jdbc:mysql:} URL runs
+ *     against a real server using the credentials of application.properties</li>
+ *     <li>{@code loadtest.reportDirectory}: where the report and the HdrHistogram distributions are written,
+ *     {@code target/loadtest} by default</li>
+ * </ul>
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        Map<Operation, LoadClient.Result> results;
+        try (ConfigurableApplicationContext context = start(options)) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            results = run(options, URI.create("http://localhost:" + port));
+        }
+        String report = report(options, results);
+        System.out.println();
+        System.out.println(report);
+        write(options.reportDirectory, report, results);
+
+        boolean failed = options.mix.entrySet().stream()
+                .anyMatch(entry -> entry.getValue() > 0 && results.get(entry.getKey()).requests == 0);
+        if (failed) {
+            System.err.println("Some operations never succeeded, see the error counts above");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestOptions options) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=" + options.datasourceUrl,
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                // Every simulated client shares one address, which the rate limits would treat as a single client
+                "moodtracker.rate-limit.enabled=false",
+                "logging.level.com.fuel50.moodtracker=INFO",
+                "logging.level.org.hibernate.SQL=INFO",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"));
+        if (options.datasourceUrl.startsWith("jdbc:h2:")) {
+            properties.addAll(List.of(
+                    "spring.datasource.driver-class-name=org.h2.Driver",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.password=",
+                    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                    "spring.jpa.hibernate.ddl-auto=create-drop"));
+        }
+        // Passed as command line arguments, which unlike default properties override application.properties
+        return new SpringApplicationBuilder(MoodTrackerApplication.class)
+                .run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    private static Map<Operation, LoadClient.Result> run(LoadTestOptions options, URI baseUri) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long measureFrom = System.nanoTime() + options.warmup.toNanos();
+        long measureUntil = measureFrom + options.duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.clients);
+        List<Future<Map<Operation, LoadClient.Result>>> futures = new ArrayList<>();
+        for (int i = 0; i < options.clients; i++) {
+            String team = "team-" + (i % options.teams);
+            futures.add(executor.submit(new LoadClient(httpClient, baseUri, options, team, measureFrom, measureUntil, i)));
+        }
+
+        Map<Operation, LoadClient.Result> merged = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            merged.put(operation, new LoadClient.Result());
+        }
+        for (Future<Map<Operation, LoadClient.Result>> future : futures) {
+            future.get().forEach((operation, result) -> merged.get(operation).add(result));
+        }
+        executor.shutdown();
+        return merged;
+    }
+
+    static String report(LoadTestOptions options, Map<Operation, LoadClient.Result> results) {
+        double seconds = options.duration.toNanos() / 1_000_000_000.0;
+        StringBuilder report = new StringBuilder();
+        report.append(options).append('\n');
+        report.append(String.format("%-10s %10s %12s %10s %10s %10s %10s %8s%n",
+                "operation", "requests", "requests/s", "p50 (ms)", "p99 (ms)", "p99.9 (ms)", "max (ms)", "errors"));
+        LoadClient.Result total = new LoadClient.Result();
+        for (Map.Entry<Operation, LoadClient.Result> entry : results.entrySet()) {
+            if (options.mix.getOrDefault(entry.getKey(), 0) > 0) {
+                report.append(line(entry.getKey().name().toLowerCase(), entry.getValue(), seconds));
+                total.add(entry.getValue());
+            }
+        }
+        report.append(line("total", total, seconds));
+        return report.toString();
+    }
+
+    private static String line(String name, LoadClient.Result result, double seconds) {
+        Histogram latencies = result.latencies;
+        return String.format("%-10s %10d %12.0f %10.2f %10.2f %10.2f %10.2f %8d%n", name,
+                result.requests, result.requests / seconds,
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()), result.errors);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // The .hgrm files can be plotted with the HdrHistogram plotter to compare runs
+    private static void write(Path directory, String report, Map<Operation, LoadClient.Result> results) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("report.txt"), report);
+        for (Map.Entry<Operation, LoadClient.Result> entry : results.entrySet()) {
+            if (entry.getValue().latencies.getTotalCount() == 0) {
+                continue;
+            }
+            Path file = directory.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().latencies.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+        System.out.println("Report and latency distributions (in ms) written to " + directory.toAbsolutePath());
+    }
+}
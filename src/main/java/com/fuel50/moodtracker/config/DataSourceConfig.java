@@ -0,0 +1,63 @@
+package com.fuel50.moodtracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits database access over two connection pools: read-only transactions use the replica pool,
+ * everything else the primary pool, so dashboard and analytics reads do not hold the connections
+ * submissions are waiting for. Without {@code moodtracker.datasource.replica.jdbc-url} both go to
+ * the primary pool.
+ * <p>
+ * The connection handed out is a lazy proxy that only fetches a pooled connection on the first
+ * statement, once the transaction has marked it read-only or not, and routes it by that flag.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    // The replica signs in like the primary unless it has its own credentials
+    @Bean
+    @ConditionalOnProperty("moodtracker.datasource.replica.jdbc-url")
+    @ConfigurationProperties("moodtracker.datasource.replica")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setUsername(properties.determineUsername());
+        replica.setPassword(properties.determinePassword());
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource) {
+        return routingDataSource(primaryDataSource, replicaDataSource.getIfAvailable());
+    }
+
+    static DataSource routingDataSource(DataSource primaryDataSource, DataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        if (replicaDataSource != null) {
+            routing.setReadOnlyDataSource(replicaDataSource);
+        }
+        return routing;
+    }
+}
@@ -1,10 +1,14 @@
 package com.fuel50.moodtracker.config;
 
 import com.fuel50.moodtracker.exception.DuplicateMoodSubmissionException;
+import com.fuel50.moodtracker.exception.SubmissionQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Hidden;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -12,13 +16,50 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 @Hidden
 public class GlobalExceptionHandler {
+    static final String DATABASE_BUSY_MESSAGE = "Sorry, we are a bit busy right now, please try again in a moment!";
+    public static final String REJECTED_SUBMISSIONS_METRIC = "moodtracker.mood.rejected";
+
+    private final Counter duplicateRejections;
+    private final Counter validationRejections;
+    private final Counter queueFullRejections;
+    private final Counter databaseBusyRejections;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.duplicateRejections = rejectionCounter(meterRegistry, "duplicate");
+        this.validationRejections = rejectionCounter(meterRegistry, "validation");
+        this.queueFullRejections = rejectionCounter(meterRegistry, "queue_full");
+        this.databaseBusyRejections = rejectionCounter(meterRegistry, "database_busy");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(REJECTED_SUBMISSIONS_METRIC)
+                .description("Requests rejected by the mood API")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
     @ExceptionHandler(DuplicateMoodSubmissionException.class)
     public ResponseEntity<String> handleAlreadySubmittedException(DuplicateMoodSubmissionException ex) {
+        duplicateRejections.increment();
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    @ExceptionHandler(SubmissionQueueFullException.class)
+    public ResponseEntity<String> handleSubmissionQueueFullException(SubmissionQueueFullException ex) {
+        queueFullRejections.increment();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    // Raised when no pooled connection became free within the Hikari connection timeout
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<String> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        databaseBusyRejections.increment();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(DATABASE_BUSY_MESSAGE);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<String> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        validationRejections.increment();
         String errorMessage = ex.getBindingResult()
                 .getAllErrors()
                 .stream()
@@ -0,0 +1,47 @@
+package com.fuel50.moodtracker.config;
+
+import com.fuel50.moodtracker.service.DailyMoodAggregator;
+import com.fuel50.moodtracker.service.MoodUpdateBroadcaster;
+import com.fuel50.moodtracker.service.MoodWriteBehindQueue;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Gauges read from the in-memory state of the service, so a scrape never queries the database
+ * (except to load the day's aggregate right after midnight).
+ */
+@Component
+public class MoodMetrics implements MeterBinder {
+    private final DailyMoodAggregator dailyMoodAggregator;
+    private final MoodWriteBehindQueue writeBehindQueue;
+    private final MoodUpdateBroadcaster moodUpdateBroadcaster;
+
+    public MoodMetrics(DailyMoodAggregator dailyMoodAggregator, MoodWriteBehindQueue writeBehindQueue,
+                       MoodUpdateBroadcaster moodUpdateBroadcaster) {
+        this.dailyMoodAggregator = dailyMoodAggregator;
+        this.writeBehindQueue = writeBehindQueue;
+        this.moodUpdateBroadcaster = moodUpdateBroadcaster;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("moodtracker.mood.today", dailyMoodAggregator,
+                        aggregator -> aggregator.forDay(LocalDate.now()).getTotalCount())
+                .description("Mood submissions made today")
+                .register(registry);
+        Gauge.builder("moodtracker.mood.today.comments", dailyMoodAggregator,
+                        aggregator -> aggregator.forDay(LocalDate.now()).getCommentCount())
+                .description("Mood submissions with a comment made today")
+                .register(registry);
+        Gauge.builder("moodtracker.ingest.queue.size", writeBehindQueue, MoodWriteBehindQueue::size)
+                .description("Submissions waiting in the write-behind queue")
+                .register(registry);
+        Gauge.builder("moodtracker.stream.subscribers", moodUpdateBroadcaster, MoodUpdateBroadcaster::getSubscriberCount)
+                .description("Open live mood streams")
+                .register(registry);
+    }
+}
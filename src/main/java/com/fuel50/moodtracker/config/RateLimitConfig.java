@@ -0,0 +1,35 @@
+package com.fuel50.moodtracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "moodtracker.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    // First in the chain, so shed requests cost as little as possible
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${moodtracker.rate-limit.user.capacity:5}") int userCapacity,
+            @Value("${moodtracker.rate-limit.user.refill-period:PT12S}") Duration userRefillPeriod,
+            @Value("${moodtracker.rate-limit.client.capacity:100}") int clientCapacity,
+            @Value("${moodtracker.rate-limit.client.refill-period:PT0.1S}") Duration clientRefillPeriod,
+            @Value("${moodtracker.rate-limit.max-keys:100000}") int maxKeys) {
+        RateLimitFilter filter = new RateLimitFilter(
+                new TokenBucketLimiter(userCapacity, userRefillPeriod, maxKeys),
+                new TokenBucketLimiter(clientCapacity, clientRefillPeriod, maxKeys),
+                meterRegistry);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/mood/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
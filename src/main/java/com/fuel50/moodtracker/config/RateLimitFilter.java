@@ -0,0 +1,91 @@
+package com.fuel50.moodtracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds submissions over the rate limits before they reach the controller: every client address, and
+ * every user that sends an {@value #USER_HEADER} header, has a token bucket, and a submission without a
+ * token is answered {@code 429 Too Many Requests} with a {@code Retry-After} of whole seconds. Rejected
+ * requests never open a transaction or read the body.
+ * <p>
+ * A request storing several submissions, a batch, is let through on one token like any other, and once the
+ * controller has read it and set {@link #SUBMISSIONS_ATTRIBUTE}, the other submissions are charged to the
+ * client address as well. That may overdraw the bucket, so the client's next requests wait until the batch
+ * is paid for and batches store no more submissions over time than single requests.
+ * <p>
+ * Imports are left out on purpose: they store any number of submissions on one request, so the import
+ * endpoint is an administrative one that only exists while {@code moodtracker.import.enabled} is set.
+ * <p>
+ * Submissions without a user header get a new user id each, so the per-address bucket is what limits
+ * a client that leaves it out. Behind a proxy, set {@code server.forward-headers-strategy} so the
+ * address is the client's rather than the proxy's.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String USER_HEADER = "X-User-Id";
+    /** Request attribute with the number of submissions the request carried, when more than one */
+    public static final String SUBMISSIONS_ATTRIBUTE = RateLimitFilter.class.getName() + ".submissions";
+    static final String RATE_LIMITED_MESSAGE = "Sorry, that is a lot of submissions, please try again in a moment!";
+    // The controller's import endpoint, switched on by an administrator rather than limited
+    static final String IMPORT_PATH = "/api/mood/import";
+
+    private final TokenBucketLimiter userLimiter;
+    private final TokenBucketLimiter clientLimiter;
+    private final Counter rateLimitedRejections;
+
+    RateLimitFilter(TokenBucketLimiter userLimiter, TokenBucketLimiter clientLimiter, MeterRegistry meterRegistry) {
+        this.userLimiter = userLimiter;
+        this.clientLimiter = clientLimiter;
+        this.rateLimitedRejections = Counter.builder(GlobalExceptionHandler.REJECTED_SUBMISSIONS_METRIC)
+                .description("Requests rejected by the mood API")
+                .tag("reason", "rate_limited")
+                .register(meterRegistry);
+    }
+
+    // Reads are served from memory, only submissions write to the database
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getRequestURI().equals(request.getContextPath() + IMPORT_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = clientLimiter.tryAcquire(request.getRemoteAddr());
+        String userId = request.getHeader(USER_HEADER);
+        if (waitNanos == 0 && userId != null) {
+            waitNanos = userLimiter.tryAcquire(userId);
+        }
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+        if (request.getAttribute(SUBMISSIONS_ATTRIBUTE) instanceof Integer submissions && submissions > 1) {
+            clientLimiter.charge(request.getRemoteAddr(), submissions - 1);
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        rateLimitedRejections.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(RATE_LIMITED_MESSAGE);
+    }
+}
@@ -0,0 +1,119 @@
+package com.fuel50.moodtracker.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A token bucket per key: a key may spend up to {@code capacity} tokens at once, and gets one back every
+ * {@code refillPeriod}. Buckets are spread over {@value #STRIPES} stripes by key hash, each behind its own
+ * lock, so requests of different keys rarely wait on each other and a check costs a map lookup and a
+ * little arithmetic.
+ * <p>
+ * A request carrying several submissions can be charged for the rest once they are known, which may take
+ * the bucket below zero; the key then waits until it has refilled past one token again.
+ * <p>
+ * Memory is bounded: a stripe keeps its {@code maxKeys / STRIPES} most recently used buckets and forgets
+ * the others, which were either idle or are refilled when they come back.
+ */
+final class TokenBucketLimiter {
+    static final int STRIPES = 64;
+
+    private final int capacity;
+    private final long refillNanos;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    TokenBucketLimiter(int capacity, Duration refillPeriod, int maxKeys) {
+        if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("A token bucket needs a capacity and a refill period");
+        }
+        this.capacity = capacity;
+        this.refillNanos = refillPeriod.toNanos();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(Math.max(1, maxKeys / STRIPES));
+        }
+    }
+
+    /**
+     * Takes a token of the key's bucket.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token is due
+     */
+    long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(String key, long now) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            Bucket bucket = refill(stripe, key, now);
+            if (bucket.tokens >= 1) {
+                bucket.tokens--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) * refillNanos);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Takes tokens of the key's bucket whether or not it holds them, for work already done.
+     */
+    void charge(String key, int tokens) {
+        charge(key, tokens, System.nanoTime());
+    }
+
+    void charge(String key, int tokens, long now) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            refill(stripe, key, now).tokens -= tokens;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private Bucket refill(Stripe stripe, String key, long now) {
+        Bucket bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket(capacity, now);
+            stripe.buckets.put(key, bucket);
+        } else {
+            bucket.tokens = Math.min(capacity, bucket.tokens + (double) (now - bucket.updated) / refillNanos);
+            bucket.updated = now;
+        }
+        return bucket;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets;
+
+        private Stripe(int maxKeys) {
+            buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updated;
+
+        private Bucket(double tokens, long updated) {
+            this.tokens = tokens;
+            this.updated = updated;
+        }
+    }
+}
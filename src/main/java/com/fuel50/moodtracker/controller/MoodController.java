@@ -1,26 +1,64 @@
 package com.fuel50.moodtracker.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fuel50.moodtracker.config.RateLimitFilter;
 import com.fuel50.moodtracker.controller.mapper.MoodMapper;
+import com.fuel50.moodtracker.datatransferobject.CommentPageDTO;
+import com.fuel50.moodtracker.datatransferobject.DailyMoodDTO;
+import com.fuel50.moodtracker.datatransferobject.MoodBatchResultDTO;
+import com.fuel50.moodtracker.datatransferobject.MoodImportDTO;
+import com.fuel50.moodtracker.datatransferobject.MoodImportResultDTO;
 import com.fuel50.moodtracker.datatransferobject.MoodSubmissionDTO;
+import com.fuel50.moodtracker.datatransferobject.MoodUpdateDTO;
+import com.fuel50.moodtracker.datatransferobject.ParticipationDTO;
+import com.fuel50.moodtracker.datatransferobject.PhraseCountDTO;
 import com.fuel50.moodtracker.datatransferobject.TeamMoodDTO;
 import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.BatchItemStatus;
+import com.fuel50.moodtracker.domainvalue.ExportFormat;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import com.fuel50.moodtracker.domainvalue.MoodVersion;
+import com.fuel50.moodtracker.domainvalue.ReportingPeriod;
 import com.fuel50.moodtracker.service.MoodService;
+import com.fuel50.moodtracker.service.MoodUpdateBroadcaster;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 
@@ -28,16 +66,34 @@ import java.util.UUID;
  * REST controller for managing mood submissions and retrieving mood analytics.
  * This controller provides endpoints for team members to submit their daily mood
  * and retrieve aggregate team mood information.
+ * <p>
+ * Submissions and today's mood are scoped to the team named by the {@code X-Team-Id} header,
+ * requests without it use the default team.
  */
 @RestController
 @RequestMapping("/api/mood")
 @Tag(name = "Mood")
 class MoodController {
 
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_TREND_DAYS = 5 * 366;
+    static final int MAX_PARTICIPATION_DAYS = 366;
+    static final String TEAM_HEADER = "X-Team-Id";
+
     private final MoodService moodService;
+    private final MoodUpdateBroadcaster moodUpdateBroadcaster;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final boolean importEnabled;
 
-    public MoodController(MoodService moodService) {
+    public MoodController(MoodService moodService, MoodUpdateBroadcaster moodUpdateBroadcaster, Validator validator,
+                          ObjectMapper objectMapper,
+                          @Value("${moodtracker.import.enabled:false}") boolean importEnabled) {
         this.moodService = moodService;
+        this.moodUpdateBroadcaster = moodUpdateBroadcaster;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.importEnabled = importEnabled;
     }
     
     
@@ -48,6 +104,7 @@ class MoodController {
      *
      * @param moodSubmission The mood submission data containing mood level and optional comment
      * @param userId The user's ID from cookie (if exists)
+     * @param teamId The team the user belongs to
      * @param response HTTP response used to set the user ID cookie if needed
      * @throws com.fuel50.moodtracker.exception.DuplicateMoodSubmissionException if the user has already submitted a mood today
      */
@@ -74,8 +131,10 @@ class MoodController {
     public void submitMood (
             @Valid @RequestBody MoodSubmissionDTO moodSubmission,
             @RequestHeader(value = "X-User-Id", required = false)  String userId,
+            @RequestHeader(value = TEAM_HEADER, defaultValue = MoodSubmissionDO.DEFAULT_TEAM) String teamId,
             HttpServletResponse response
     ) {
+        validateTeamId(teamId);
         if (userId == null) {
             // Generate a new unique user ID and set it in a cookie
             userId = UUID.randomUUID().toString();
@@ -86,21 +145,163 @@ class MoodController {
             response.addCookie(cookie);
         }
         
-        // Store the user ID in the mood submission
+        // Store the user and team IDs in the mood submission
         moodSubmission.setUserId(userId);
+        moodSubmission.setTeamId(teamId);
 
         MoodSubmissionDO moodSubmissionDO = MoodMapper.makeMoodSubmissionDO(moodSubmission);
         moodService.submitMood(moodSubmissionDO);
     }
 
 
+    /**
+     * Submits many mood entries at once, as collected offline by kiosks and chat integrations.
+     * Every item carries its own user ID and is checked on its own, so one invalid or duplicate
+     * item does not reject the rest. Accepted items are stored with a single JDBC batch.
+     * Each item counts as a submission towards the client's rate limit.
+     *
+     * @param moodSubmissions The mood submissions, each with a user ID, mood level, optional comment and optional team ID
+     * @param teamId The team of the items that do not name one
+     * @param request The request, told how many submissions it carried
+     * @return A ResponseEntity containing one result per submitted item, in request order
+     */
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Submit a batch of mood entries",
+        description = "Submits up to " + MAX_BATCH_SIZE + " mood entries for different users and reports the outcome of each one."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch processed, see the status of each item",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = MoodBatchResultDTO.class)))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Batch too large",
+            content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class))
+        )
+    })
+    public ResponseEntity<List<MoodBatchResultDTO>> submitMoods(
+            @RequestBody List<MoodSubmissionDTO> moodSubmissions,
+            @RequestHeader(value = TEAM_HEADER, defaultValue = MoodSubmissionDO.DEFAULT_TEAM) String teamId,
+            HttpServletRequest request
+    ) {
+        validateTeamId(teamId);
+        if (moodSubmissions.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch can not hold more than " + MAX_BATCH_SIZE + " submissions!");
+        }
+        // Every item counts against the client's rate limit, not only the request
+        request.setAttribute(RateLimitFilter.SUBMISSIONS_ATTRIBUTE, moodSubmissions.size());
+
+        MoodBatchResultDTO[] results = new MoodBatchResultDTO[moodSubmissions.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<MoodSubmissionDO> validSubmissions = new ArrayList<>();
+        for (int i = 0; i < moodSubmissions.size(); i++) {
+            String error = validate(moodSubmissions.get(i));
+            if (error != null) {
+                results[i] = new MoodBatchResultDTO(i, BatchItemStatus.INVALID, error);
+            } else {
+                if (moodSubmissions.get(i).getTeamId() == null) {
+                    moodSubmissions.get(i).setTeamId(teamId);
+                }
+                validIndexes.add(i);
+                validSubmissions.add(MoodMapper.makeMoodSubmissionDO(moodSubmissions.get(i)));
+            }
+        }
+
+        List<BatchItemStatus> statuses = validSubmissions.isEmpty() ? List.of() : moodService.submitMoods(validSubmissions);
+        for (int i = 0; i < statuses.size(); i++) {
+            int index = validIndexes.get(i);
+            results[index] = new MoodBatchResultDTO(index, statuses.get(i), null);
+        }
+        return ResponseEntity.ok(List.of(results));
+    }
+
+    /**
+     * Imports historical mood entries, such as those of a previous survey tool, from newline-delimited
+     * JSON: one submission per line, with its user ID, mood level, optional comment, optional team ID
+     * and the date it was submitted on. The body is read and stored in batches as it arrives, so files
+     * of any size can be imported. Lines are checked like batch items, each invalid or duplicate line
+     * is skipped and reported.
+     * <p>
+     * An import stores any number of submissions, for any users and days, on one request, so it is an
+     * administrative operation: it only exists while {@code moodtracker.import.enabled} is set, and is
+     * not subject to the submission rate limits.
+     *
+     * @param body The NDJSON body
+     * @param teamId The team of the lines that do not name one
+     * @return A ResponseEntity containing the counts of imported, duplicate and invalid lines, and the first rejected lines
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @RegisterReflectionForBinding(MoodImportDTO.class)
+    @Operation(
+        summary = "Import historical mood entries",
+        description = "Streams mood entries with their original submission date from newline-delimited JSON, "
+                + "for example {\"userId\":\"u1\",\"mood\":\"HAPPY\",\"submissionDate\":\"2024-05-01T09:30:00\"}"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import finished, see the counts and the rejected lines",
+            content = @Content(schema = @Schema(implementation = MoodImportResultDTO.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid team ID",
+            content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Importing is not enabled",
+            content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class))
+        )
+    })
+    public ResponseEntity<MoodImportResultDTO> importMoods(
+            InputStream body,
+            @RequestHeader(value = TEAM_HEADER, defaultValue = MoodSubmissionDO.DEFAULT_TEAM) String teamId
+    ) throws IOException {
+        if (!importEnabled) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Importing is not enabled!");
+        }
+        validateTeamId(teamId);
+        return ResponseEntity.ok(new MoodImporter(moodService, objectMapper, this::validate, teamId).run(body));
+    }
+
+    private static void validateTeamId(String teamId) {
+        if (!teamId.matches(MoodSubmissionDTO.TEAM_ID_PATTERN)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Team id must be 1 to 64 letters, digits, '.', '_' or '-'!");
+        }
+    }
+
+    private String validate(MoodSubmissionDTO moodSubmission) {
+        if (moodSubmission == null) {
+            return "Submission can not be null!";
+        }
+        if (moodSubmission.getUserId() == null || moodSubmission.getUserId().isBlank()) {
+            return "User id can not be empty!";
+        }
+        Set<ConstraintViolation<MoodSubmissionDTO>> violations = validator.validate(moodSubmission);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+
 
     /**
      * Retrieves the overall team mood calculated from all submissions for the current day.
      * The overall mood is determined by averaging individual mood scores and mapping
      * the result to a MoodType. All non-null comments from the day's submissions are
-     * also included in the response.
+     * also included in the response unless {@code includeComments} is false, in which case
+     * only the number of comments is returned and they can be paged through {@code /comments}.
+     * <p>
+     * Responses carry an ETag and a Last-Modified date taken from the day's aggregate version,
+     * so polling clients get a 304 Not Modified until a new mood is submitted. HTTP dates only have
+     * whole seconds, so Last-Modified is left out while the current second may still see another
+     * submission, and clients validate with the ETag alone until it has passed.
      *
+     * @param includeComments Whether to embed every comment of the day in the response
+     * @param teamId The team whose mood is returned
+     * @param request The web request, used to evaluate If-None-Match and If-Modified-Since
      * @return A ResponseEntity containing the team mood DTO with overall mood and comments
      */
     @GetMapping("/overall")
@@ -108,9 +309,236 @@ class MoodController {
               description = "Retrieves the aggregated team mood for the current day, calculated as an average of all submissions")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved team mood", 
-                    content = @Content(schema = @Schema(implementation = TeamMoodDTO.class)))
+                    content = @Content(schema = @Schema(implementation = TeamMoodDTO.class))),
+        @ApiResponse(responseCode = "304", description = "No mood was submitted since the version the client has")
+    })
+    public ResponseEntity<TeamMoodDTO> getOverallTeamMood(
+            @Parameter(description = "Set to false to return only the aggregate and the comment count")
+            @RequestParam(defaultValue = "true") boolean includeComments,
+            @RequestHeader(value = TEAM_HEADER, defaultValue = MoodSubmissionDO.DEFAULT_TEAM) String teamId,
+            WebRequest request
+    ) {
+        validateTeamId(teamId);
+        // Both representations change together, but must not validate each other's cached copy
+        MoodVersion version = moodService.getOverallMoodVersion(teamId);
+        String eTag = "\"" + (includeComments ? "full-" : "summary-") + version.getTag() + "\"";
+        long lastModified = settledLastModified(version);
+        if (request.checkNotModified(eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .varyBy(TEAM_HEADER)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        TeamMoodDTO teamMood = includeComments ? moodService.getOverallMood(teamId) : moodService.getOverallMoodSummary(teamId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(TEAM_HEADER)
+                .cacheControl(CacheControl.noCache());
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(teamMood);
+    }
+
+    // The version's last modified time once its second has passed, or -1 while a later submission could still
+    // share that second and so be hidden from an If-Modified-Since of it
+    private static long settledLastModified(MoodVersion version) {
+        long lastModified = version.getLastModified();
+        return lastModified / 1000 < System.currentTimeMillis() / 1000 ? lastModified : -1;
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of team mood updates. The first {@code mood} event holds
+     * today's totals, then one event follows every stored submission with the new totals, the
+     * submitted mood and its comment. Clients falling too far behind are disconnected and are
+     * expected to reconnect.
+     *
+     * @param teamId The team whose updates are streamed
+     * @return The emitter the updates are written to
+     */
+    @GetMapping(path = "/overall/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream team mood updates",
+              description = "Server-Sent Events stream pushing the team mood after every submission")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream of mood events",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = MoodUpdateDTO.class)))
+    })
+    public SseEmitter streamOverallTeamMood(
+            @RequestHeader(value = TEAM_HEADER, defaultValue = MoodSubmissionDO.DEFAULT_TEAM) String teamId
+    ) {
+        validateTeamId(teamId);
+        return moodUpdateBroadcaster.subscribe(teamId);
+    }
+
+    /**
+     * Retrieves a page of today's comments in submission order. The page size is capped
+     * so the response stays the same size however many people comment.
+     *
+     * @param after Cursor returned by the previous page, omitted for the first page
+     * @param limit Maximum number of comments to return
+     * @param teamId The team whose comments are returned
+     * @return A ResponseEntity containing the comments and the cursor of the next page
+     */
+    @GetMapping("/comments")
+    @Operation(summary = "Get today's comments",
+              description = "Retrieves today's comments page by page, using the submission id of the last comment as cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved comments",
+                    content = @Content(schema = @Schema(implementation = CommentPageDTO.class)))
     })
-    public ResponseEntity<TeamMoodDTO> getOverallTeamMood() {
-        return ResponseEntity.ok(moodService.getOverallMood());
+    public ResponseEntity<CommentPageDTO> getComments(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of comments to return (at most 500)")
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader(value = TEAM_HEADER, defaultValue = MoodSubmissionDO.DEFAULT_TEAM) String teamId
+    ) {
+        validateTeamId(teamId);
+        return ResponseEntity.ok(moodService.getComments(teamId, after, limit));
+    }
+
+    /**
+     * Retrieves the team mood of every day of a date range, oldest first. Past days are read from
+     * the daily rollups, so the cost depends on the number of days and not on the number of
+     * submissions. Days nobody submitted a mood are left out.
+     *
+     * @param from First day of the range, inclusive
+     * @param to Last day of the range, inclusive
+     * @return A ResponseEntity containing one entry per day with submissions
+     */
+    @GetMapping("/trend")
+    @Operation(summary = "Get the team mood trend",
+              description = "Retrieves the overall mood and mood counts of each day between two dates, spanning at most " + MAX_TREND_DAYS + " days")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the trend",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = DailyMoodDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Invalid date range",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class)))
+    })
+    public ResponseEntity<List<DailyMoodDTO>> getTrend(
+            @Parameter(description = "First day, as yyyy-MM-dd", example = "2025-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, as yyyy-MM-dd", example = "2025-01-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The start of the range must not be after its end!");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_TREND_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A trend can not span more than " + MAX_TREND_DAYS + " days!");
+        }
+        return ResponseEntity.ok(moodService.getTrend(from, to));
+    }
+
+    /**
+     * Estimates how many different people submitted a mood over a date range, and the share of each
+     * mood, either for the whole range or per day, week or month of it. Read from the daily rollups,
+     * so today's figures lag behind by up to the rollup flush interval.
+     *
+     * @param from First day of the range, inclusive
+     * @param to Last day of the range, inclusive
+     * @param period Period to split the range into, the whole range when not given
+     * @return A ResponseEntity containing one entry per period, oldest first
+     */
+    @GetMapping("/participation")
+    @Operation(summary = "Get participation analytics",
+              description = "Estimates the distinct participants and the mood shares between two dates, spanning at most "
+                      + MAX_PARTICIPATION_DAYS + " days, optionally per day, week or month")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully estimated the participation",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ParticipationDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Invalid date range or period",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class)))
+    })
+    public ResponseEntity<List<ParticipationDTO>> getParticipation(
+            @Parameter(description = "First day, as yyyy-MM-dd", example = "2025-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, as yyyy-MM-dd", example = "2025-03-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Split the range into days, weeks (from Monday) or months")
+            @RequestParam(required = false) ReportingPeriod period
+    ) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The start of the range must not be after its end!");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_PARTICIPATION_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Participation can not span more than " + MAX_PARTICIPATION_DAYS + " days!");
+        }
+        return ResponseEntity.ok(moodService.getParticipation(from, to, period));
+    }
+
+    /**
+     * Exports the raw submissions of a date range, oldest first. The response is written while the
+     * submissions are read from the database, so it starts right away and any range can be exported.
+     *
+     * @param from First day of the range, inclusive
+     * @param to Last day of the range, inclusive
+     * @param format CSV or NDJSON
+     * @return A ResponseEntity streaming the submissions as a file download
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export submissions",
+              description = "Streams every submission between two dates as CSV or newline-delimited JSON")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Streaming the submissions",
+                    content = {@Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson")}),
+        @ApiResponse(responseCode = "400", description = "Invalid date range or format",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(
+            @Parameter(description = "First day, as yyyy-MM-dd", example = "2025-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, as yyyy-MM-dd", example = "2025-03-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Format of the export")
+            @RequestParam(defaultValue = "CSV") ExportFormat format
+    ) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The start of the range must not be after its end!");
+        }
+        // Runs on an async request thread, the export's transaction starts and ends there
+        StreamingResponseBody body = out -> moodService.exportSubmissions(from, to, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("moods-" + from + "-to-" + to + "." + format.getExtension()).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Retrieves the phrases found most often in the comments of a day, optionally only in the comments
+     * of one mood. Counts are kept in memory for the last few days, in a fixed amount of memory, so
+     * they are estimates that may be slightly too high.
+     *
+     * @param day The day, today when not given
+     * @param mood Only count comments submitted with this mood
+     * @param limit Maximum number of phrases to return
+     * @return A ResponseEntity containing the phrases, most frequent first
+     */
+    @GetMapping("/phrases")
+    @Operation(summary = "Get the most frequent comment phrases",
+              description = "Retrieves the words and short phrases used most often in the comments of a day, overall or for one mood")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the phrases",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PhraseCountDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Invalid day or mood",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(implementation = String.class)))
+    })
+    public ResponseEntity<List<PhraseCountDTO>> getTopPhrases(
+            @Parameter(description = "Day, as yyyy-MM-dd; phrases are kept for the last 7 days", example = "2025-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            @Parameter(description = "Only count the comments of this mood")
+            @RequestParam(required = false) MoodType mood,
+            @Parameter(description = "Maximum number of phrases to return")
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        LocalDate today = LocalDate.now();
+        if (day != null && day.isAfter(today)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Phrases can not be retrieved for a future day!");
+        }
+        return ResponseEntity.ok(moodService.getTopPhrases(day == null ? today : day, mood, limit));
     }
 }
@@ -0,0 +1,152 @@
+package com.fuel50.moodtracker.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fuel50.moodtracker.controller.mapper.MoodMapper;
+import com.fuel50.moodtracker.datatransferobject.MoodBatchResultDTO;
+import com.fuel50.moodtracker.datatransferobject.MoodImportDTO;
+import com.fuel50.moodtracker.datatransferobject.MoodImportResultDTO;
+import com.fuel50.moodtracker.datatransferobject.MoodSubmissionDTO;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.BatchItemStatus;
+import com.fuel50.moodtracker.service.MoodService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs one NDJSON bulk import. The body is read a line at a time, each line is checked like a batch
+ * submission item, and valid lines are stored {@value #BATCH_SIZE} at a time. The next lines are only
+ * read once a batch is stored, so a client sending faster than the database writes is held back by
+ * TCP flow control, and memory use stays at one batch whatever the size of the file.
+ * <p>
+ * Batches stored before a failure stay stored. Running the same import again is safe, the lines
+ * already stored come back as duplicates.
+ */
+final class MoodImporter {
+    private static final Logger LOG = LoggerFactory.getLogger(MoodImporter.class);
+    static final int BATCH_SIZE = 500;
+    static final int MAX_LINE_LENGTH = 4096;
+    static final int MAX_REPORTED_LINES = 1000;
+    static final String DUPLICATE_MESSAGE = "A mood was already submitted for this user on that day!";
+    private static final int PROGRESS_INTERVAL = 100_000;
+
+    private final MoodService moodService;
+    private final ObjectMapper objectMapper;
+    private final Function<MoodSubmissionDTO, String> validator;
+    private final String teamId;
+
+    private final StringBuilder line = new StringBuilder();
+    private boolean lineTooLong;
+    private List<MoodSubmissionDO> batch = new ArrayList<>(BATCH_SIZE);
+    private List<Integer> batchLineNumbers = new ArrayList<>(BATCH_SIZE);
+    private final List<MoodBatchResultDTO> rejectedLines = new ArrayList<>();
+    private int lineCount;
+    private int lastReportedLine;
+    private long importedCount;
+    private long duplicateCount;
+    private long invalidCount;
+
+    MoodImporter(MoodService moodService, ObjectMapper objectMapper, Function<MoodSubmissionDTO, String> validator, String teamId) {
+        this.moodService = moodService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.teamId = teamId;
+    }
+
+    MoodImportResultDTO run(InputStream body) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        while (readLine(reader)) {
+            lineCount++;
+            if (line.isEmpty()) {
+                continue;
+            }
+            MoodImportDTO moodImport = null;
+            String error = lineTooLong ? "Line can not be longer than " + MAX_LINE_LENGTH + " characters!" : null;
+            if (error == null) {
+                try {
+                    moodImport = objectMapper.readValue(line.toString(), MoodImportDTO.class);
+                } catch (JsonProcessingException e) {
+                    error = "Line is not a valid submission: " + e.getOriginalMessage();
+                }
+            }
+            if (error == null) {
+                error = validator.apply(moodImport);
+            }
+            if (error != null) {
+                invalidCount++;
+                reject(lineCount, BatchItemStatus.INVALID, error);
+                continue;
+            }
+            if (moodImport.getTeamId() == null) {
+                moodImport.setTeamId(teamId);
+            }
+            batch.add(MoodMapper.makeMoodSubmissionDO(moodImport));
+            batchLineNumbers.add(lineCount);
+            if (batch.size() == BATCH_SIZE) {
+                store();
+            }
+        }
+        store();
+        LOG.info("Imported {} of {} lines, {} duplicates, {} invalid", importedCount, lineCount, duplicateCount, invalidCount);
+        return new MoodImportResultDTO(lineCount, importedCount, duplicateCount, invalidCount, rejectedLines);
+    }
+
+    // Reads up to the next line feed, keeping at most MAX_LINE_LENGTH characters; false at the end of the body
+    private boolean readLine(Reader reader) throws IOException {
+        line.setLength(0);
+        lineTooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1 && c != '\n') {
+            if (line.length() < MAX_LINE_LENGTH) {
+                line.append((char) c);
+            } else {
+                lineTooLong = true;
+            }
+            c = reader.read();
+        }
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return true;
+    }
+
+    private void store() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<BatchItemStatus> statuses = moodService.importMoods(batch);
+        for (int i = 0; i < statuses.size(); i++) {
+            if (statuses.get(i) == BatchItemStatus.ACCEPTED) {
+                importedCount++;
+            } else {
+                duplicateCount++;
+                reject(batchLineNumbers.get(i), statuses.get(i), DUPLICATE_MESSAGE);
+            }
+        }
+        batch = new ArrayList<>(BATCH_SIZE);
+        batchLineNumbers = new ArrayList<>(BATCH_SIZE);
+        if (lineCount - lastReportedLine >= PROGRESS_INTERVAL) {
+            lastReportedLine = lineCount;
+            LOG.info("Import in progress: {} lines read, {} imported", lineCount, importedCount);
+        }
+    }
+
+    private void reject(int lineNumber, BatchItemStatus status, String message) {
+        if (rejectedLines.size() < MAX_REPORTED_LINES) {
+            rejectedLines.add(new MoodBatchResultDTO(lineNumber, status, message));
+        }
+    }
+}
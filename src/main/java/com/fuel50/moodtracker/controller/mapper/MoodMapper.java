@@ -1,5 +1,6 @@
 package com.fuel50.moodtracker.controller.mapper;
 
+import com.fuel50.moodtracker.datatransferobject.MoodImportDTO;
 import com.fuel50.moodtracker.datatransferobject.MoodSubmissionDTO;
 import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
 
@@ -7,7 +8,17 @@ import java.util.List;
 
 public class MoodMapper {
     public static MoodSubmissionDO makeMoodSubmissionDO(MoodSubmissionDTO moodSubmissionDTO) {
-        return new MoodSubmissionDO(moodSubmissionDTO.getMood(), moodSubmissionDTO.getUserId(), moodSubmissionDTO.getComment());
+        MoodSubmissionDO moodSubmissionDO = new MoodSubmissionDO(moodSubmissionDTO.getMood(), moodSubmissionDTO.getUserId(), moodSubmissionDTO.getComment());
+        if (moodSubmissionDTO.getTeamId() != null) {
+            moodSubmissionDO.setTeamId(moodSubmissionDTO.getTeamId());
+        }
+        return moodSubmissionDO;
+    }
+
+    public static MoodSubmissionDO makeMoodSubmissionDO(MoodImportDTO moodImportDTO) {
+        MoodSubmissionDO moodSubmissionDO = makeMoodSubmissionDO((MoodSubmissionDTO) moodImportDTO);
+        moodSubmissionDO.setSubmissionDate(moodImportDTO.getSubmissionDate());
+        return moodSubmissionDO;
     }
 
     public static MoodSubmissionDTO makeMoodSubmissionDTO(MoodSubmissionDO moodSubmissionDO)
@@ -0,0 +1,9 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+/**
+ * Projection of a submission's comment together with the submission id used as a paging cursor.
+ */
+public interface CommentView {
+    Long getId();
+    String getComment();
+}
@@ -0,0 +1,13 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainvalue.MoodType;
+
+/**
+ * Number of submissions, and of those with a comment, for one mood on one day (as an epoch day).
+ */
+public interface DailyMoodCount {
+    Long getDay();
+    MoodType getMood();
+    long getTotal();
+    long getComments();
+}
@@ -0,0 +1,11 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainvalue.MoodType;
+
+/**
+ * Projection of a GROUP BY mood query: how many submissions carried a given mood.
+ */
+public interface MoodCount {
+    MoodType getMood();
+    long getTotal();
+}
@@ -0,0 +1,17 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainobject.MoodDailyRollupDO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MoodDailyRollupRepository extends JpaRepository<MoodDailyRollupDO, LocalDate> {
+    List<MoodDailyRollupDO> findByDayBetweenOrderByDay(LocalDate from, LocalDate to);
+
+    List<MoodDailyRollupDO> findByParticipantSketchIsNull();
+
+    @Query("select max(r.day) from MoodDailyRollupDO r")
+    LocalDate findLastDay();
+}
@@ -0,0 +1,18 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Queries of {@link MoodRepository} that need the entity manager, implemented in {@link MoodExportRepositoryImpl}.
+ */
+public interface MoodExportRepository {
+
+    /**
+     * Submissions made from {@code from} (inclusive) to {@code to} (exclusive), oldest first, read from the
+     * database while the stream is consumed. The stream must be consumed and closed within a transaction.
+     */
+    Stream<MoodSubmissionDO> streamSubmissions(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,39 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Streams submissions through a cursor, {@value #FETCH_SIZE} rows at a time. MySQL only honours the
+ * fetch size with {@code useCursorFetch=true} on the connection URL, otherwise it sends the whole result.
+ * Each submission is detached from the persistence context as soon as it is read, so memory use does not
+ * grow with the number of rows.
+ */
+public class MoodExportRepositoryImpl implements MoodExportRepository {
+    static final int FETCH_SIZE = 1_000;
+
+    private final EntityManager entityManager;
+
+    public MoodExportRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Ordered like the submission date index, so rows come back without sorting the whole range first
+    @Override
+    public Stream<MoodSubmissionDO> streamSubmissions(LocalDateTime from, LocalDateTime to) {
+        return entityManager.createQuery("select s from MoodSubmissionDO s where s.submissionDate >= :from and s.submissionDate < :to "
+                        + "and (s.submissionDay is null or s.submissionDay between :fromDay and :toDay) order by s.submissionDate, s.id", MoodSubmissionDO.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("fromDay", from.toLocalDate().toEpochDay())
+                .setParameter("toDay", to.toLocalDate().toEpochDay())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+}
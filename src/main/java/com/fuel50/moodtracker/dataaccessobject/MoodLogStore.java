@@ -0,0 +1,638 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Embedded {@link MoodStore} keeping submissions in an append-only log of fixed-width records on a
+ * memory-mapped file, for deployments without a database server. Enabled with {@code moodtracker.store.type=log}.
+ * <p>
+ * Appending a submission copies one record into the mapped file, so ingestion runs at memory speed.
+ * Records are numbered by position, which is also the submission id. An in-memory index lists the
+ * records of every day, four bytes a submission, so queries only read the records of the days they cover.
+ * It also holds the users of today and yesterday, so the one-submission-per-day rule is checked without
+ * reading the file; submissions of older days, from imports, are checked by reading that day's records.
+ * <p>
+ * Durability: the mapped pages are forced to disk every {@code force-interval}, or after every write when
+ * {@code force-on-write} is set. Each record carries a CRC32 of its content; on startup the log is replayed
+ * up to the first record that is incomplete or corrupt, which is where the previous run stopped.
+ * Submissions written after the last force may be lost if the machine (not only the process) goes down.
+ * <p>
+ * The database still holds the daily rollups; the log only replaces the submissions table. The
+ * {@code embedded} profile selects this store with an H2 file database for the rollups.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "moodtracker.store.type", havingValue = "log")
+public class MoodLogStore implements MoodStore {
+    private static final Logger LOG = LoggerFactory.getLogger(MoodLogStore.class);
+
+    static final int RECORD_SIZE = 2048;
+    static final int MAX_USER_ID_BYTES = 255;
+    static final int MAX_TEAM_ID_BYTES = MoodSubmissionDO.MAX_TEAM_ID_LENGTH;
+    static final int MAX_COMMENT_BYTES = 350 * 4;
+    private static final int SEGMENT_RECORDS = 1 << 15; // 64 MB segments
+    private static final long SEGMENT_SIZE = (long) SEGMENT_RECORDS * RECORD_SIZE;
+    private static final MoodType[] MOOD_TYPES = MoodType.values();
+    private static final int USER_INDEXED_DAYS = 2;
+
+    // Record layout, the CRC covers everything after it up to END
+    private static final int CRC = 0;
+    private static final int ID = 4;
+    private static final int EPOCH_SECOND = 12;
+    private static final int NANO = 20;
+    private static final int MOOD = 24;
+    private static final int USER_LENGTH = 25;
+    private static final int USER = 27;
+    private static final int TEAM_LENGTH = USER + MAX_USER_ID_BYTES;
+    private static final int TEAM = TEAM_LENGTH + 1;
+    private static final int COMMENT_LENGTH = TEAM + MAX_TEAM_ID_BYTES;
+    private static final int COMMENT = COMMENT_LENGTH + 2;
+    private static final int END = COMMENT + MAX_COMMENT_BYTES;
+
+    private final FileChannel channel;
+    private final boolean forceOnWrite;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final NavigableMap<Long, Day> days = new TreeMap<>();
+    private final NavigableSet<Long> userIndexedDays = new TreeSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final byte[] recordBuffer = new byte[RECORD_SIZE];
+    private final CRC32 crc = new CRC32();
+    private int recordCount;
+
+    @Autowired
+    public MoodLogStore(@Value("${moodtracker.store.log.path:data/moods.log}") Path path,
+                        @Value("${moodtracker.store.log.force-on-write:false}") boolean forceOnWrite) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.forceOnWrite = forceOnWrite;
+        recover();
+        LOG.info("Mood log {} opened with {} submissions", path.toAbsolutePath(), recordCount);
+    }
+
+    // Replays the log into the day index, stopping at the first record that was not completely written
+    private void recover() throws IOException {
+        long segmentsOnDisk = Math.max(1, (channel.size() + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+        for (int i = 0; i < segmentsOnDisk; i++) {
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, i * SEGMENT_SIZE, SEGMENT_SIZE));
+        }
+        int capacity = segments.size() * SEGMENT_RECORDS;
+        while (recordCount < capacity && isValid(recordCount)) {
+            index(recordCount, LocalDateTime.ofEpochSecond(readLong(recordCount, EPOCH_SECOND), 0, ZoneOffset.UTC)
+                    .toLocalDate().toEpochDay(), readString(recordCount, USER_LENGTH, USER, false));
+            recordCount++;
+        }
+        // Pages may reach the disk out of order, so a valid record can follow the torn one; clear the rest
+        // of the segment so it can never be replayed after the next record is written in the torn one's place
+        if (recordCount < capacity) {
+            MappedByteBuffer segment = segments.get(recordCount / SEGMENT_RECORDS);
+            byte[] zeros = new byte[RECORD_SIZE];
+            for (int slot = recordCount % SEGMENT_RECORDS; slot < SEGMENT_RECORDS; slot++) {
+                segment.put(slot * RECORD_SIZE, zeros);
+            }
+            segment.force();
+        }
+    }
+
+    private boolean isValid(int record) {
+        MappedByteBuffer segment = segment(record);
+        int offset = offset(record);
+        byte[] content = new byte[END - ID];
+        segment.get(offset + ID, content);
+        CRC32 checksum = new CRC32();
+        checksum.update(content);
+        return readLong(record, ID) == record + 1L && (int) checksum.getValue() == segment.getInt(offset + CRC);
+    }
+
+    @Override
+    public <S extends MoodSubmissionDO> S saveAndFlush(S moodSubmission) {
+        saveAllAndFlush(List.of(moodSubmission));
+        return moodSubmission;
+    }
+
+    @Override
+    public <S extends MoodSubmissionDO> List<S> saveAllAndFlush(Iterable<S> moodSubmissions) {
+        List<S> batch = new ArrayList<>();
+        moodSubmissions.forEach(batch::add);
+        lock.writeLock().lock();
+        try {
+            // Check the whole batch first, so a rejected batch leaves nothing behind
+            Map<Long, Set<String>> storedUsers = new HashMap<>();
+            Map<Long, Set<String>> batchUsers = new HashMap<>();
+            for (S moodSubmission : batch) {
+                validate(moodSubmission);
+                long day = moodSubmission.getSubmissionDate().toLocalDate().toEpochDay();
+                if (storedUsers.computeIfAbsent(day, this::userIds).contains(moodSubmission.getUserId())
+                        || !batchUsers.computeIfAbsent(day, d -> new HashSet<>()).add(moodSubmission.getUserId())) {
+                    throw new DuplicateKeyException("Duplicate entry for key " + MoodSubmissionDO.USER_DAY_CONSTRAINT
+                            + ": user " + moodSubmission.getUserId() + " on day " + day);
+                }
+            }
+            for (S moodSubmission : batch) {
+                append(moodSubmission);
+            }
+            if (forceOnWrite) {
+                force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return batch;
+    }
+
+    private static void validate(MoodSubmissionDO moodSubmission) {
+        if (moodSubmission.getMood() == null || moodSubmission.getUserId() == null || moodSubmission.getSubmissionDate() == null) {
+            throw new DataIntegrityViolationException("Mood, user id and submission date are required");
+        }
+        if (utf8Length(moodSubmission.getUserId()) > MAX_USER_ID_BYTES
+                || (moodSubmission.getTeamId() != null && utf8Length(moodSubmission.getTeamId()) > MAX_TEAM_ID_BYTES)
+                || (moodSubmission.getComment() != null && utf8Length(moodSubmission.getComment()) > MAX_COMMENT_BYTES)) {
+            throw new DataIntegrityViolationException("Value too long for a mood log record");
+        }
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private void append(MoodSubmissionDO moodSubmission) {
+        int record = recordCount;
+        if (record / SEGMENT_RECORDS == segments.size()) {
+            // The full segment is never written again, force it once so later forces only need the last one
+            segments.get(segments.size() - 1).force();
+            try {
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, segments.size() * SEGMENT_SIZE, SEGMENT_SIZE));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not grow the mood log", e);
+            }
+        }
+        LocalDateTime submissionDate = moodSubmission.getSubmissionDate();
+        String teamId = moodSubmission.getTeamId() == null ? MoodSubmissionDO.DEFAULT_TEAM : moodSubmission.getTeamId();
+
+        Arrays.fill(recordBuffer, (byte) 0);
+        ByteBuffer buffer = ByteBuffer.wrap(recordBuffer);
+        buffer.putLong(ID, record + 1L);
+        buffer.putLong(EPOCH_SECOND, submissionDate.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(NANO, submissionDate.getNano());
+        buffer.put(MOOD, (byte) moodSubmission.getMood().ordinal());
+        putString(buffer, USER_LENGTH, USER, moodSubmission.getUserId());
+        byte[] team = teamId.getBytes(StandardCharsets.UTF_8);
+        buffer.put(TEAM_LENGTH, (byte) team.length);
+        buffer.put(TEAM, team);
+        putString(buffer, COMMENT_LENGTH, COMMENT, moodSubmission.getComment());
+        crc.reset();
+        crc.update(recordBuffer, ID, END - ID);
+        buffer.putInt(CRC, (int) crc.getValue());
+
+        segment(record).put(offset(record), recordBuffer);
+        recordCount++;
+        index(record, submissionDate.toLocalDate().toEpochDay(), moodSubmission.getUserId());
+        moodSubmission.setId(record + 1L);
+    }
+
+    // Strings are stored as a length (-1 for null) followed by their UTF-8 bytes
+    private static void putString(ByteBuffer buffer, int lengthOffset, int offset, String value) {
+        if (value == null) {
+            buffer.putShort(lengthOffset, (short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort(lengthOffset, (short) bytes.length);
+        buffer.put(offset, bytes);
+    }
+
+    private void index(int record, long day, String userId) {
+        Day index = days.get(day);
+        if (index == null) {
+            index = new Day();
+            days.put(day, index);
+            long firstIndexedDay = LocalDate.now().toEpochDay() - USER_INDEXED_DAYS + 1;
+            if (day >= firstIndexedDay) {
+                index.userIds = new HashSet<>();
+                userIndexedDays.add(day);
+            }
+            closeDaysBefore(firstIndexedDay);
+        }
+        index.add(record);
+        if (index.userIds != null) {
+            index.userIds.add(userId);
+        }
+    }
+
+    // Days no longer written to except by imports: their users are read from the records when needed
+    private void closeDaysBefore(long firstIndexedDay) {
+        for (Iterator<Long> closed = userIndexedDays.headSet(firstIndexedDay).iterator(); closed.hasNext(); ) {
+            Day index = days.get(closed.next());
+            index.userIds = null;
+            index.records = Arrays.copyOf(index.records, index.size);
+            closed.remove();
+        }
+    }
+
+    // The users who submitted on the day; call with the lock held
+    private Set<String> userIds(long day) {
+        Day index = days.get(day);
+        if (index == null) {
+            return Set.of();
+        }
+        if (index.userIds != null) {
+            return index.userIds;
+        }
+        Set<String> userIds = new HashSet<>(index.size * 2);
+        for (int i = 0; i < index.size; i++) {
+            userIds.add(readString(index.records[i], USER_LENGTH, USER, false));
+        }
+        return userIds;
+    }
+
+    Set<Long> userIndexedDays() {
+        lock.readLock().lock();
+        try {
+            return Set.copyOf(userIndexedDays);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${moodtracker.store.log.force-interval:PT1S}")
+    public void force() {
+        lock.readLock().lock();
+        try {
+            // Earlier segments were forced when the next one was mapped
+            segments.get(segments.size() - 1).force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            segments.forEach(MappedByteBuffer::force);
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return recordCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MoodCount> countMoodsBySubmissionDateBetween(LocalDateTime start, LocalDateTime end) {
+        return countMoods(null, start, end);
+    }
+
+    @Override
+    public List<MoodCount> countMoodsByTeamIdAndSubmissionDateBetween(String teamId, LocalDateTime start, LocalDateTime end) {
+        return countMoods(teamId, start, end);
+    }
+
+    private List<MoodCount> countMoods(String teamId, LocalDateTime start, LocalDateTime end) {
+        long[] counts = new long[MOOD_TYPES.length];
+        scan(start, end, true, teamId, record -> counts[mood(record).ordinal()]++);
+        List<MoodCount> moodCounts = new ArrayList<>();
+        for (MoodType mood : MOOD_TYPES) {
+            if (counts[mood.ordinal()] > 0) {
+                moodCounts.add(new Count(mood, counts[mood.ordinal()]));
+            }
+        }
+        return moodCounts;
+    }
+
+    @Override
+    public List<TeamMoodCount> countTeamMoods(LocalDateTime from, LocalDateTime to) {
+        Map<String, long[][]> teams = new HashMap<>();
+        scan(from, to, false, null, record -> {
+            long[][] counts = teams.computeIfAbsent(readString(record, TEAM_LENGTH, TEAM, true), team -> new long[2][MOOD_TYPES.length]);
+            int mood = mood(record).ordinal();
+            counts[0][mood]++;
+            if (hasComment(record)) {
+                counts[1][mood]++;
+            }
+        });
+        List<TeamMoodCount> teamCounts = new ArrayList<>();
+        teams.forEach((team, counts) -> {
+            for (MoodType mood : MOOD_TYPES) {
+                if (counts[0][mood.ordinal()] > 0) {
+                    teamCounts.add(new TeamCount(team, mood, counts[0][mood.ordinal()], counts[1][mood.ordinal()]));
+                }
+            }
+        });
+        return teamCounts;
+    }
+
+    @Override
+    public List<DailyMoodCount> countDailyMoods(LocalDateTime from, LocalDateTime to) {
+        Map<Long, Map<MoodType, long[]>> dailyCounts = new TreeMap<>();
+        scan(from, to, false, null, record -> {
+            long day = LocalDateTime.ofEpochSecond(readLong(record, EPOCH_SECOND), 0, ZoneOffset.UTC).toLocalDate().toEpochDay();
+            long[] counts = dailyCounts.computeIfAbsent(day, d -> new EnumMap<>(MoodType.class))
+                    .computeIfAbsent(mood(record), mood -> new long[2]);
+            counts[0]++;
+            if (hasComment(record)) {
+                counts[1]++;
+            }
+        });
+        List<DailyMoodCount> result = new ArrayList<>();
+        dailyCounts.forEach((day, moods) -> moods.forEach((mood, counts) -> result.add(new DailyCount(day, mood, counts[0], counts[1]))));
+        return result;
+    }
+
+    @Override
+    public long countComments(LocalDateTime from, LocalDateTime to) {
+        long[] count = new long[1];
+        scan(from, to, false, null, record -> count[0] += hasComment(record) ? 1 : 0);
+        return count[0];
+    }
+
+    @Override
+    public long countByTeamIdAndSubmissionDateBetweenAndCommentIsNotNull(String teamId, LocalDateTime start, LocalDateTime end) {
+        long[] count = new long[1];
+        scan(start, end, true, teamId, record -> count[0] += hasComment(record) ? 1 : 0);
+        return count[0];
+    }
+
+    @Override
+    public List<String> findCommentsByTeamIdAndSubmissionDateBetween(String teamId, LocalDateTime start, LocalDateTime end) {
+        List<String> comments = new ArrayList<>();
+        scan(start, end, true, teamId, record -> {
+            if (hasComment(record)) {
+                comments.add(readString(record, COMMENT_LENGTH, COMMENT, false));
+            }
+        });
+        return comments;
+    }
+
+    @Override
+    public List<CommentView> findCommentsAfter(String teamId, LocalDateTime start, LocalDateTime end, long afterId, Limit limit) {
+        List<CommentView> comments = new ArrayList<>();
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        // Records are scanned in id order; the ones up to the cursor are skipped without being read
+        scan(start, end, true, teamId, record -> {
+            if (record + 1L > afterId && comments.size() < max && hasComment(record)) {
+                comments.add(new Comment(record + 1L, readString(record, COMMENT_LENGTH, COMMENT, false)));
+            }
+        });
+        return comments;
+    }
+
+    @Override
+    public List<TeamCommentView> findTeamCommentsAfter(LocalDateTime from, LocalDateTime to, long afterId, Limit limit) {
+        List<TeamCommentView> comments = new ArrayList<>();
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        scan(from, to, false, null, record -> {
+            if (record + 1L > afterId && comments.size() < max && hasComment(record)) {
+                comments.add(new TeamComment(record + 1L, readString(record, TEAM_LENGTH, TEAM, true), mood(record),
+                        readString(record, COMMENT_LENGTH, COMMENT, false)));
+            }
+        });
+        return comments;
+    }
+
+    // Read a day at a time, so an export holds one day of submissions and writers only wait for a day's read
+    @Override
+    public Stream<MoodSubmissionDO> streamSubmissions(LocalDateTime from, LocalDateTime to) {
+        List<Long> rangeDays;
+        lock.readLock().lock();
+        try {
+            rangeDays = new ArrayList<>(days.subMap(from.toLocalDate().toEpochDay(), true, to.toLocalDate().toEpochDay(), true).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return rangeDays.stream().flatMap(day -> submissionsOf(LocalDate.ofEpochDay(day), from, to).stream());
+    }
+
+    private List<MoodSubmissionDO> submissionsOf(LocalDate day, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime dayFrom = from.isAfter(day.atStartOfDay()) ? from : day.atStartOfDay();
+        LocalDateTime dayTo = to.isBefore(day.plusDays(1).atStartOfDay()) ? to : day.plusDays(1).atStartOfDay();
+        List<MoodSubmissionDO> submissions = new ArrayList<>();
+        scan(dayFrom, dayTo, false, null, record -> submissions.add(submission(record)));
+        submissions.sort(Comparator.comparing(MoodSubmissionDO::getSubmissionDate).thenComparing(MoodSubmissionDO::getId));
+        return submissions;
+    }
+
+    private MoodSubmissionDO submission(int record) {
+        MoodSubmissionDO submission = new MoodSubmissionDO(mood(record), readString(record, USER_LENGTH, USER, false),
+                readString(record, COMMENT_LENGTH, COMMENT, false));
+        submission.setId(record + 1L);
+        submission.setTeamId(readString(record, TEAM_LENGTH, TEAM, true));
+        submission.setSubmissionDate(LocalDateTime.ofEpochSecond(readLong(record, EPOCH_SECOND),
+                segment(record).getInt(offset(record) + NANO), ZoneOffset.UTC));
+        return submission;
+    }
+
+    @Override
+    public List<String> findUserIdsBySubmissionDay(long day) {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(userIds(day));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> findUserIdsBySubmissionDayAndUserIdIn(long day, Collection<String> userIds) {
+        lock.readLock().lock();
+        try {
+            Set<String> dayUserIds = userIds(day);
+            return userIds.stream().filter(dayUserIds::contains).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calls the consumer with every record submitted in the range, in id order, optionally of one team only.
+     */
+    private void scan(LocalDateTime start, LocalDateTime end, boolean endInclusive, String teamId, IntConsumer consumer) {
+        long startSecond = start.toEpochSecond(ZoneOffset.UTC);
+        long endSecond = end.toEpochSecond(ZoneOffset.UTC);
+        byte[] team = teamId == null ? null : teamId.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            for (Day index : days.subMap(start.toLocalDate().toEpochDay(), true, end.toLocalDate().toEpochDay(), true).values()) {
+                for (int i = 0; i < index.size; i++) {
+                    int record = index.records[i];
+                    if (inRange(record, startSecond, start.getNano(), endSecond, end.getNano(), endInclusive)
+                            && (team == null || isTeam(record, team))) {
+                        consumer.accept(record);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean inRange(int record, long startSecond, int startNano, long endSecond, int endNano, boolean endInclusive) {
+        long second = readLong(record, EPOCH_SECOND);
+        int nano = segment(record).getInt(offset(record) + NANO);
+        int fromStart = second != startSecond ? Long.compare(second, startSecond) : Integer.compare(nano, startNano);
+        int fromEnd = second != endSecond ? Long.compare(second, endSecond) : Integer.compare(nano, endNano);
+        return fromStart >= 0 && (endInclusive ? fromEnd <= 0 : fromEnd < 0);
+    }
+
+    private boolean isTeam(int record, byte[] team) {
+        MappedByteBuffer segment = segment(record);
+        int offset = offset(record);
+        if (segment.get(offset + TEAM_LENGTH) != team.length) {
+            return false;
+        }
+        for (int i = 0; i < team.length; i++) {
+            if (segment.get(offset + TEAM + i) != team[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private MoodType mood(int record) {
+        return MOOD_TYPES[segment(record).get(offset(record) + MOOD)];
+    }
+
+    private boolean hasComment(int record) {
+        return segment(record).getShort(offset(record) + COMMENT_LENGTH) >= 0;
+    }
+
+    private long readLong(int record, int field) {
+        return segment(record).getLong(offset(record) + field);
+    }
+
+    private String readString(int record, int lengthField, int field, boolean byteLength) {
+        MappedByteBuffer segment = segment(record);
+        int offset = offset(record);
+        int length = byteLength ? Byte.toUnsignedInt(segment.get(offset + lengthField)) : segment.getShort(offset + lengthField);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        segment.get(offset + field, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private MappedByteBuffer segment(int record) {
+        return segments.get(record / SEGMENT_RECORDS);
+    }
+
+    private static int offset(int record) {
+        return (record % SEGMENT_RECORDS) * RECORD_SIZE;
+    }
+
+    private static final class Day {
+        private int[] records = new int[16];
+        private int size;
+        // Only for the days still written to, see USER_INDEXED_DAYS
+        private Set<String> userIds;
+
+        void add(int record) {
+            if (size == records.length) {
+                records = Arrays.copyOf(records, Math.max(16, size * 2));
+            }
+            records[size++] = record;
+        }
+    }
+
+    private record Count(MoodType mood, long total) implements MoodCount {
+        @Override
+        public MoodType getMood() { return mood; }
+        @Override
+        public long getTotal() { return total; }
+    }
+
+    private record TeamCount(String teamId, MoodType mood, long total, long comments) implements TeamMoodCount {
+        @Override
+        public String getTeamId() { return teamId; }
+        @Override
+        public MoodType getMood() { return mood; }
+        @Override
+        public long getTotal() { return total; }
+        @Override
+        public long getComments() { return comments; }
+    }
+
+    private record DailyCount(Long day, MoodType mood, long total, long comments) implements DailyMoodCount {
+        @Override
+        public Long getDay() { return day; }
+        @Override
+        public MoodType getMood() { return mood; }
+        @Override
+        public long getTotal() { return total; }
+        @Override
+        public long getComments() { return comments; }
+    }
+
+    private record Comment(Long id, String comment) implements CommentView {
+        @Override
+        public Long getId() { return id; }
+        @Override
+        public String getComment() { return comment; }
+    }
+
+    private record TeamComment(Long id, String teamId, MoodType mood, String comment) implements TeamCommentView {
+        @Override
+        public Long getId() { return id; }
+        @Override
+        public String getTeamId() { return teamId; }
+        @Override
+        public MoodType getMood() { return mood; }
+        @Override
+        public String getComment() { return comment; }
+    }
+}
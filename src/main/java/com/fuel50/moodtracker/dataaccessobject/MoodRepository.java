@@ -1,13 +1,123 @@
 package com.fuel50.moodtracker.dataaccessobject;
 
 import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface MoodRepository extends JpaRepository<MoodSubmissionDO, Long> {
+/**
+ * JPA implementation of the {@link MoodStore}, the default.
+ */
+public interface MoodRepository extends JpaRepository<MoodSubmissionDO, Long>, MoodStore, MoodExportRepository {
+    // Repeats the date range as a range of day buckets, the partitioning column, so MySQL only reads the partitions
+    // of the months covered (see SubmissionPartitions); rows are matched on their date as before. Rows without a day,
+    // legacy duplicates the backfill could not give one, still match: a partitioned table has none, so pruning holds
+    String DAYS_BETWEEN = " and (s.submissionDay is null" +
+            " or s.submissionDay between :#{#start.toLocalDate().toEpochDay()} and :#{#end.toLocalDate().toEpochDay()})";
+    String DAYS_FROM_TO = " and (s.submissionDay is null" +
+            " or s.submissionDay between :#{#from.toLocalDate().toEpochDay()} and :#{#to.toLocalDate().toEpochDay()})";
+
+    // Declared by both parents, redeclared so calls are not ambiguous
+    @Override
+    <S extends MoodSubmissionDO> S saveAndFlush(S entity);
+
+    @Override
+    <S extends MoodSubmissionDO> List<S> saveAllAndFlush(Iterable<S> entities);
+
     List<MoodSubmissionDO> findBySubmissionDateBetween(LocalDateTime start, LocalDateTime end);
     boolean existsByUserIdAndSubmissionDateBetween(String userId, LocalDateTime start, LocalDateTime end);
 
+    @Query("select s.mood as mood, count(s) as total from MoodSubmissionDO s " +
+            "where s.submissionDate between :start and :end" + DAYS_BETWEEN + " group by s.mood")
+    List<MoodCount> countMoodsBySubmissionDateBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("select s.mood as mood, count(s) as total from MoodSubmissionDO s " +
+            "where s.teamId = :teamId and s.submissionDate between :start and :end" + DAYS_BETWEEN + " group by s.mood")
+    List<MoodCount> countMoodsByTeamIdAndSubmissionDateBetween(@Param("teamId") String teamId,
+                                                               @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("select s.comment from MoodSubmissionDO s " +
+            "where s.submissionDate between :start and :end" + DAYS_BETWEEN + " and s.comment is not null order by s.id")
+    List<String> findCommentsBySubmissionDateBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("select s.comment from MoodSubmissionDO s " +
+            "where s.teamId = :teamId and s.submissionDate between :start and :end" + DAYS_BETWEEN + " and s.comment is not null order by s.id")
+    List<String> findCommentsByTeamIdAndSubmissionDateBetween(@Param("teamId") String teamId,
+                                                              @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("select s.id as id, s.comment as comment from MoodSubmissionDO s " +
+            "where s.teamId = :teamId and s.submissionDate between :start and :end" + DAYS_BETWEEN + " and s.comment is not null " +
+            "and s.id > :afterId order by s.id")
+    List<CommentView> findCommentsAfter(@Param("teamId") String teamId,
+                                        @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                        @Param("afterId") long afterId, Limit limit);
+
+    @Query("select s.id as id, s.teamId as teamId, s.mood as mood, s.comment as comment from MoodSubmissionDO s " +
+            "where s.submissionDate >= :from and s.submissionDate < :to" + DAYS_FROM_TO + " and s.comment is not null " +
+            "and s.id > :afterId order by s.id")
+    List<TeamCommentView> findTeamCommentsAfter(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                @Param("afterId") long afterId, Limit limit);
+
+    @Query("select s.submissionDay as day, s.mood as mood, count(s) as total, count(s.comment) as comments " +
+            "from MoodSubmissionDO s where s.submissionDate >= :from and s.submissionDate < :to" + DAYS_FROM_TO +
+            " group by s.submissionDay, s.mood")
+    List<DailyMoodCount> countDailyMoods(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select s.teamId as teamId, s.mood as mood, count(s) as total, count(s.comment) as comments " +
+            "from MoodSubmissionDO s where s.submissionDate >= :from and s.submissionDate < :to" + DAYS_FROM_TO +
+            " group by s.teamId, s.mood")
+    List<TeamMoodCount> countTeamMoods(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select count(s) from MoodSubmissionDO s " +
+            "where s.submissionDate >= :from and s.submissionDate < :to" + DAYS_FROM_TO + " and s.comment is not null")
+    long countComments(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select count(s) from MoodSubmissionDO s " +
+            "where s.teamId = :teamId and s.submissionDate between :start and :end" + DAYS_BETWEEN + " and s.comment is not null")
+    long countByTeamIdAndSubmissionDateBetweenAndCommentIsNotNull(@Param("teamId") String teamId,
+                                                                  @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("select min(s.submissionDate) from MoodSubmissionDO s")
+    LocalDateTime findFirstSubmissionDate();
+
+    @Query("select s.userId from MoodSubmissionDO s where s.submissionDay = :day")
+    List<String> findUserIdsBySubmissionDay(@Param("day") long day);
+
+    @Query("select s.userId from MoodSubmissionDO s where s.submissionDay = :day and s.userId in :userIds")
+    List<String> findUserIdsBySubmissionDayAndUserIdIn(@Param("day") long day, @Param("userIds") Collection<String> userIds);
+
+    @Transactional
+    @Modifying
+    @Query("update MoodSubmissionDO s set s.submissionDay = (cast(s.submissionDate as LocalDate) - date 1970-01-01) by day " +
+            "where s.submissionDay is null")
+    int backfillSubmissionDay();
+
+    @Query("select s.id from MoodSubmissionDO s where s.submissionDay is null and s.id > :afterId order by s.id")
+    List<Long> findIdsWithoutSubmissionDay(@Param("afterId") long afterId, Limit limit);
+
+    // One row at a time, for when the bulk backfill fails on a user's repeated submissions of a day
+    @Transactional
+    @Modifying
+    @Query("update MoodSubmissionDO s set s.submissionDay = (cast(s.submissionDate as LocalDate) - date 1970-01-01) by day " +
+            "where s.id = :id and s.submissionDay is null")
+    int backfillSubmissionDay(@Param("id") long id);
+
+    // Deletes the submissions made from {@code from} (inclusive) to {@code to} (exclusive), used by the retention job
+    @Transactional
+    @Modifying
+    @Query("delete from MoodSubmissionDO s where s.submissionDate >= :from and s.submissionDate < :to" + DAYS_FROM_TO)
+    int deleteSubmissions(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Transactional
+    @Modifying
+    @Query("update MoodSubmissionDO s set s.teamId = :teamId where s.teamId is null")
+    int backfillTeamId(@Param("teamId") String teamId);
+
 }
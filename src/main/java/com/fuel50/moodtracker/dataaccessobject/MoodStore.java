@@ -0,0 +1,69 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Storage of mood submissions, as used by the services. {@link MoodRepository} stores them in the
+ * database through JPA, {@link MoodLogStore} in an embedded append-only log. Select the latter with
+ * {@code moodtracker.store.type=log}.
+ * <p>
+ * Implementations reject a second submission of the same user on the same day with a
+ * {@link org.springframework.dao.DataIntegrityViolationException}, and a batch containing one is
+ * not stored at all. Date ranges given to {@code ...Between} methods include both ends, ranges given as
+ * {@code from} and {@code to} include {@code from} and exclude {@code to}, so a day is read up to the next midnight.
+ */
+public interface MoodStore {
+    <S extends MoodSubmissionDO> S saveAndFlush(S moodSubmission);
+
+    <S extends MoodSubmissionDO> List<S> saveAllAndFlush(Iterable<S> moodSubmissions);
+
+    List<MoodCount> countMoodsBySubmissionDateBetween(LocalDateTime start, LocalDateTime end);
+
+    List<MoodCount> countMoodsByTeamIdAndSubmissionDateBetween(String teamId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Counts per team and mood, with their comments, of the submissions made from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    List<TeamMoodCount> countTeamMoods(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Counts per day and mood of the submissions made from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    List<DailyMoodCount> countDailyMoods(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Number of submissions with a comment made from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    long countComments(LocalDateTime from, LocalDateTime to);
+
+    long countByTeamIdAndSubmissionDateBetweenAndCommentIsNotNull(String teamId, LocalDateTime start, LocalDateTime end);
+
+    List<String> findCommentsByTeamIdAndSubmissionDateBetween(String teamId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Comments with a submission id above {@code afterId}, in id order.
+     */
+    List<CommentView> findCommentsAfter(String teamId, LocalDateTime start, LocalDateTime end, long afterId, Limit limit);
+
+    /**
+     * Comments of every team made from {@code from} (inclusive) to {@code to} (exclusive) with a submission id
+     * above {@code afterId}, in id order.
+     */
+    List<TeamCommentView> findTeamCommentsAfter(LocalDateTime from, LocalDateTime to, long afterId, Limit limit);
+
+    /**
+     * Submissions made from {@code from} (inclusive) to {@code to} (exclusive), oldest first, read while the
+     * stream is consumed. Close the stream when done.
+     */
+    Stream<MoodSubmissionDO> streamSubmissions(LocalDateTime from, LocalDateTime to);
+
+    List<String> findUserIdsBySubmissionDay(long day);
+
+    List<String> findUserIdsBySubmissionDayAndUserIdIn(long day, Collection<String> userIds);
+}
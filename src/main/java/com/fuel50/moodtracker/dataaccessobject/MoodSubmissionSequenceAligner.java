@@ -0,0 +1,86 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+
+/**
+ * Moves the id sequence past the ids handed out while submissions used an identity column.
+ * On databases without native sequences (MySQL) Hibernate emulates the sequence with a single-row
+ * table that starts at 1, which would otherwise collide with the existing rows.
+ * <p>
+ * Runs when the context starts, before the web server accepts submissions, rather than when the bean is
+ * created, so a context refreshed without a database (the class data sharing training run) gets through.
+ */
+@Component
+@ConditionalOnProperty(name = "moodtracker.store.type", havingValue = "jpa", matchIfMissing = true)
+public class MoodSubmissionSequenceAligner implements SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(MoodSubmissionSequenceAligner.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean running;
+
+    // Taking the factory makes sure the schema has been updated before the sequence is aligned
+    public MoodSubmissionSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void start() {
+        align();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before the web server and the write-behind writer
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    public void align() {
+        if (!hasSequenceTable()) {
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from mood_submission", Long.class);
+        // The pooled optimizer hands out the block below the stored value, so stay a full block ahead
+        long nextValue = maxId + MoodSubmissionDO.ID_ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update("update " + MoodSubmissionDO.ID_SEQUENCE + " set next_val = ? where next_val < ?",
+                nextValue, nextValue);
+        if (updated > 0) {
+            LOG.info("Moved {} to {} past the existing mood submissions", MoodSubmissionDO.ID_SEQUENCE, nextValue);
+        }
+    }
+
+    private boolean hasSequenceTable() {
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            String catalog = connection.getCatalog();
+            for (String name : new String[]{MoodSubmissionDO.ID_SEQUENCE, MoodSubmissionDO.ID_SEQUENCE.toUpperCase()}) {
+                try (ResultSet tables = connection.getMetaData().getTables(catalog, null, name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(found);
+    }
+}
@@ -0,0 +1,163 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits the submissions table into one MySQL range partition per month, so queries of a day or a few
+ * days only read the partitions of their months, however many years are stored, and old months can be
+ * removed by dropping their partition rather than deleting row by row. Enabled with
+ * {@code moodtracker.partitioning.enabled=true}; does nothing on other databases.
+ * <p>
+ * MySQL requires the partitioning column in every unique key, so the table is partitioned on the day
+ * bucket, which the one-submission-per-day key already holds, and the primary key is extended with it.
+ * The first run converts the table, which copies it; later runs keep {@code months-ahead} empty months
+ * ready after the current one, split off the catch-all partition at the end.
+ */
+@Component
+@ConditionalOnProperty(name = "moodtracker.store.type", havingValue = "jpa", matchIfMissing = true)
+public class SubmissionPartitions {
+    private static final Logger LOG = LoggerFactory.getLogger(SubmissionPartitions.class);
+    static final String TABLE = "mood_submission";
+    static final String FUTURE_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private Boolean mySql;
+
+    // Taking the factory makes sure the schema has been updated before it is partitioned
+    public SubmissionPartitions(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                @Value("${moodtracker.partitioning.enabled:false}") boolean enabled,
+                                @Value("${moodtracker.partitioning.months-ahead:2}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+    }
+
+    // Runs after the submission day backfill, every row needs its day before the table is partitioned on it
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Scheduled(cron = "${moodtracker.partitioning.cron:0 0 2 * * *}")
+    public void maintain() {
+        maintain(YearMonth.now());
+    }
+
+    void maintain(YearMonth currentMonth) {
+        if (!enabled || !isMySql()) {
+            return;
+        }
+        YearMonth lastMonth = currentMonth.plusMonths(monthsAhead);
+        try {
+            List<YearMonth> months = months();
+            if (months.isEmpty()) {
+                partition(currentMonth, lastMonth);
+            } else if (months.get(months.size() - 1).isBefore(lastMonth)) {
+                jdbcTemplate.execute(reorganizeStatement(months.get(months.size() - 1).plusMonths(1), lastMonth));
+                LOG.info("Added the partitions of {} up to {}", TABLE, lastMonth);
+            }
+        } catch (DataAccessException e) {
+            // Another instance is changing the partitions at the same time, the next run catches up
+            LOG.warn("Could not update the partitions of {}", TABLE, e);
+        }
+    }
+
+    /**
+     * @return whether the submissions table is partitioned by month
+     */
+    public boolean isPartitioned() {
+        return enabled && isMySql() && !months().isEmpty();
+    }
+
+    /**
+     * Drops the partitions, and so the submissions, of every month before {@code month}.
+     *
+     * @return the number of partitions dropped
+     */
+    public int dropBefore(YearMonth month) {
+        List<YearMonth> expired = months().stream().filter(partitionMonth -> partitionMonth.isBefore(month)).toList();
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.execute(dropStatement(expired));
+        LOG.info("Dropped the partitions of {} before {}", TABLE, month);
+        return expired.size();
+    }
+
+    /**
+     * @return the months with a partition, oldest first
+     */
+    List<YearMonth> months() {
+        return jdbcTemplate.queryForList("select partition_name from information_schema.partitions " +
+                        "where table_schema = database() and table_name = ? and partition_name is not null " +
+                        "order by partition_ordinal_position", String.class, TABLE).stream()
+                .filter(name -> !FUTURE_PARTITION.equals(name))
+                .map(name -> YearMonth.parse(name, PARTITION_NAME))
+                .toList();
+    }
+
+    private void partition(YearMonth currentMonth, YearMonth lastMonth) {
+        Long undated = jdbcTemplate.queryForObject("select count(*) from " + TABLE + " where submission_day is null", Long.class);
+        if (undated != null && undated > 0) {
+            LOG.warn("Not partitioning {}, {} submissions have no day yet", TABLE, undated);
+            return;
+        }
+        Long firstDay = jdbcTemplate.queryForObject("select min(submission_day) from " + TABLE, Long.class);
+        YearMonth firstMonth = firstDay == null ? currentMonth : YearMonth.from(LocalDate.ofEpochDay(firstDay));
+        LOG.info("Partitioning {} by month from {}, this copies the table", TABLE, firstMonth);
+        jdbcTemplate.execute("alter table " + TABLE + " modify submission_day bigint not null, " +
+                "drop primary key, add primary key (id, submission_day)");
+        jdbcTemplate.execute(partitionStatement(firstMonth.isBefore(currentMonth) ? firstMonth : currentMonth, lastMonth));
+    }
+
+    private boolean isMySql() {
+        if (mySql == null) {
+            mySql = Objects.equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()), "MySQL");
+        }
+        return mySql;
+    }
+
+    static String partitionStatement(YearMonth firstMonth, YearMonth lastMonth) {
+        return "alter table " + TABLE + " partition by range (submission_day) (" + partitions(firstMonth, lastMonth) + ")";
+    }
+
+    static String reorganizeStatement(YearMonth firstMonth, YearMonth lastMonth) {
+        return "alter table " + TABLE + " reorganize partition " + FUTURE_PARTITION + " into (" + partitions(firstMonth, lastMonth) + ")";
+    }
+
+    static String dropStatement(List<YearMonth> months) {
+        return "alter table " + TABLE + " drop partition " + months.stream().map(PARTITION_NAME::format).collect(Collectors.joining(", "));
+    }
+
+    // A partition holds the days before the first day of the next month, the catch-all partition anything later
+    private static String partitions(YearMonth firstMonth, YearMonth lastMonth) {
+        return Stream.concat(
+                Stream.iterate(firstMonth, month -> !month.isAfter(lastMonth), month -> month.plusMonths(1))
+                        .map(month -> "partition " + PARTITION_NAME.format(month)
+                                + " values less than (" + month.plusMonths(1).atDay(1).toEpochDay() + ")"),
+                Stream.of("partition " + FUTURE_PARTITION + " values less than maxvalue"))
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,11 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainvalue.MoodType;
+
+/**
+ * Projection of a submission's comment with its id, mood and the team it was submitted for.
+ */
+public interface TeamCommentView extends CommentView {
+    String getTeamId();
+    MoodType getMood();
+}
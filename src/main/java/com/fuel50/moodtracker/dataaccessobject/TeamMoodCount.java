@@ -0,0 +1,13 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainvalue.MoodType;
+
+/**
+ * Number of submissions, and of those with a comment, for one mood in one team.
+ */
+public interface TeamMoodCount {
+    String getTeamId();
+    MoodType getMood();
+    long getTotal();
+    long getComments();
+}
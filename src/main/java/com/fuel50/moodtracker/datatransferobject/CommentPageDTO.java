@@ -0,0 +1,24 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.List;
+
+/**
+ * One page of today's comments. Pass {@code nextCursor} back as the {@code after} parameter
+ * to fetch the following page; it is null once the last page has been returned.
+ */
+public class CommentPageDTO {
+    private final List<String> comments;
+    private final Long nextCursor;
+
+    @JsonCreator
+    public CommentPageDTO(List<String> comments, Long nextCursor) {
+        this.comments = comments;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<String> getComments() { return comments; }
+    public Long getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,40 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * One point of the mood trend: the team mood of a day and how it was made up.
+ */
+public class DailyMoodDTO {
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private final LocalDate day;
+    private final MoodType overallMood;
+    private final double averageScore;
+    private final long submissionCount;
+    private final long commentCount;
+    private final Map<MoodType, Long> moodCounts;
+
+    @JsonCreator
+    public DailyMoodDTO(LocalDate day, MoodType overallMood, double averageScore, long submissionCount,
+                        long commentCount, Map<MoodType, Long> moodCounts) {
+        this.day = day;
+        this.overallMood = overallMood;
+        this.averageScore = averageScore;
+        this.submissionCount = submissionCount;
+        this.commentCount = commentCount;
+        this.moodCounts = moodCounts;
+    }
+
+    // Getters
+    public LocalDate getDay() { return day; }
+    public MoodType getOverallMood() { return overallMood; }
+    public double getAverageScore() { return averageScore; }
+    public long getSubmissionCount() { return submissionCount; }
+    public long getCommentCount() { return commentCount; }
+    public Map<MoodType, Long> getMoodCounts() { return moodCounts; }
+}
@@ -0,0 +1,27 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fuel50.moodtracker.domainvalue.BatchItemStatus;
+
+/**
+ * Outcome of one item of a batch submission, identified by its position in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MoodBatchResultDTO {
+    private final int index;
+    private final BatchItemStatus status;
+    private final String message;
+
+    @JsonCreator
+    public MoodBatchResultDTO(int index, BatchItemStatus status, String message) {
+        this.index = index;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters
+    public int getIndex() { return index; }
+    public BatchItemStatus getStatus() { return status; }
+    public String getMessage() { return message; }
+}
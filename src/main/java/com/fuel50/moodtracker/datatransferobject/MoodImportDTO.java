@@ -0,0 +1,25 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+
+import java.time.LocalDateTime;
+
+/**
+ * A historical submission brought in by a bulk import: a batch submission item that keeps the date
+ * it was originally submitted on, as an ISO date-time such as {@code 2024-05-01T09:30:00}.
+ */
+public class MoodImportDTO extends MoodSubmissionDTO {
+
+    @NotNull(message = "Submission date can not be null!")
+    @PastOrPresent(message = "Submission date can not be in the future!")
+    private LocalDateTime submissionDate;
+
+    public LocalDateTime getSubmissionDate() {
+        return submissionDate;
+    }
+
+    public void setSubmissionDate(LocalDateTime submissionDate) {
+        this.submissionDate = submissionDate;
+    }
+}
@@ -0,0 +1,34 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many lines were read and what became of them. Lines that were not
+ * imported are listed with their line number as index, up to a limit; the counts cover every line.
+ */
+public class MoodImportResultDTO {
+    private final long lineCount;
+    private final long importedCount;
+    private final long duplicateCount;
+    private final long invalidCount;
+    private final List<MoodBatchResultDTO> rejectedLines;
+
+    @JsonCreator
+    public MoodImportResultDTO(long lineCount, long importedCount, long duplicateCount, long invalidCount,
+                               List<MoodBatchResultDTO> rejectedLines) {
+        this.lineCount = lineCount;
+        this.importedCount = importedCount;
+        this.duplicateCount = duplicateCount;
+        this.invalidCount = invalidCount;
+        this.rejectedLines = rejectedLines;
+    }
+
+    // Getters
+    public long getLineCount() { return lineCount; }
+    public long getImportedCount() { return importedCount; }
+    public long getDuplicateCount() { return duplicateCount; }
+    public long getInvalidCount() { return invalidCount; }
+    public List<MoodBatchResultDTO> getRejectedLines() { return rejectedLines; }
+}
@@ -1,25 +1,34 @@
 package com.fuel50.moodtracker.datatransferobject;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fuel50.moodtracker.domainvalue.MoodType;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class MoodSubmissionDTO {
+    public static final String TEAM_ID_PATTERN = "[A-Za-z0-9._-]{1,64}";
+
     @NotNull(message = "Mood can not be null!")
     private MoodType mood;
 
-    @JsonIgnore
+    // Only read from batch submissions, single submissions take the user id from the request header
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String userId;
 
+    // Only read from batch submissions, falls back to the team of the request header when missing
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    @Pattern(regexp = TEAM_ID_PATTERN, message = "Team id must be 1 to 64 letters, digits, '.', '_' or '-'!")
+    private String teamId;
+
     // max length of 350 characters
     @Size(max = 350, message = "Comment can not be longer than 350 characters!")
     private String comment;
 
-    private MoodSubmissionDTO() {
+    protected MoodSubmissionDTO() {
     }
 
     public static MoodSubmissionDTOBuilder newBuilder() {
@@ -50,6 +59,14 @@ public class MoodSubmissionDTO {
         this.userId = userId;
     }
 
+    public String getTeamId() {
+        return teamId;
+    }
+
+    public void setTeamId(String teamId) {
+        this.teamId = teamId;
+    }
+
     public String getComment() {
         return comment;
     }
@@ -0,0 +1,34 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+
+/**
+ * Pushed to live subscribers: the team mood after a submission, and the submission itself.
+ * The first update a subscriber gets only holds the current totals.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MoodUpdateDTO {
+    private final MoodType overallMood;
+    private final long submissionCount;
+    private final long commentCount;
+    private final MoodType mood;
+    private final String comment;
+
+    @JsonCreator
+    public MoodUpdateDTO(MoodType overallMood, long submissionCount, long commentCount, MoodType mood, String comment) {
+        this.overallMood = overallMood;
+        this.submissionCount = submissionCount;
+        this.commentCount = commentCount;
+        this.mood = mood;
+        this.comment = comment;
+    }
+
+    // Getters
+    public MoodType getOverallMood() { return overallMood; }
+    public long getSubmissionCount() { return submissionCount; }
+    public long getCommentCount() { return commentCount; }
+    public MoodType getMood() { return mood; }
+    public String getComment() { return comment; }
+}
@@ -0,0 +1,39 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Participation over a period: how many different people submitted a mood at least once, estimated
+ * to within a few percent, and the share of each mood among the submissions.
+ */
+public class ParticipationDTO {
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private final LocalDate from;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private final LocalDate to;
+    private final long distinctParticipants;
+    private final long submissionCount;
+    private final Map<MoodType, Double> moodShares;
+
+    @JsonCreator
+    public ParticipationDTO(LocalDate from, LocalDate to, long distinctParticipants, long submissionCount,
+                            Map<MoodType, Double> moodShares) {
+        this.from = from;
+        this.to = to;
+        this.distinctParticipants = distinctParticipants;
+        this.submissionCount = submissionCount;
+        this.moodShares = moodShares;
+    }
+
+    // Getters
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public long getDistinctParticipants() { return distinctParticipants; }
+    public long getSubmissionCount() { return submissionCount; }
+    public Map<MoodType, Double> getMoodShares() { return moodShares; }
+}
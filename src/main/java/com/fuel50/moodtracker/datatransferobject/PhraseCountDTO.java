@@ -0,0 +1,22 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * A phrase found in comments with the number of comments containing it. The count is an estimate
+ * that may be slightly too high, never too low.
+ */
+public class PhraseCountDTO {
+    private final String phrase;
+    private final long count;
+
+    @JsonCreator
+    public PhraseCountDTO(String phrase, long count) {
+        this.phrase = phrase;
+        this.count = count;
+    }
+
+    // Getters
+    public String getPhrase() { return phrase; }
+    public long getCount() { return count; }
+}
@@ -1,19 +1,32 @@
 package com.fuel50.moodtracker.datatransferobject;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fuel50.moodtracker.domainvalue.MoodType;
 
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TeamMoodDTO {
     private final MoodType overallMood;
     private final List<String> comments;
+    private final long commentCount;
 
     public TeamMoodDTO(MoodType overallMood, List<String> comments) {
+        this(overallMood, comments, comments == null ? 0 : comments.size());
+    }
+
+    @JsonCreator
+    public TeamMoodDTO(MoodType overallMood, List<String> comments, long commentCount) {
         this.overallMood = overallMood;
         this.comments = comments;
+        this.commentCount = commentCount;
     }
 
     // Getters
+    // Null before the first submission of the day, and sent as such
+    @JsonInclude(JsonInclude.Include.ALWAYS)
     public MoodType getOverallMood() { return overallMood; }
     public List<String> getComments() { return comments; }
-}
\ No newline at end of file
+    public long getCommentCount() { return commentCount; }
+}
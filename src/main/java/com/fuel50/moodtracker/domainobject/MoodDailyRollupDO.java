@@ -0,0 +1,97 @@
+package com.fuel50.moodtracker.domainobject;
+
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Totals of the mood submissions of one day, recomputed from {@code mood_submission} as submissions
+ * arrive. Reading a trend only touches one row per day, whatever the number of submissions.
+ */
+@Entity
+@Table(name = "mood_daily_rollup")
+public class MoodDailyRollupDO {
+    public static final int PARTICIPANT_SKETCH_BYTES = 4096;
+
+    @Id
+    @Column(name = "rollup_day")
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long happyCount;
+
+    @Column(nullable = false)
+    private long justNormalReallyCount;
+
+    @Column(nullable = false)
+    private long aBitMehCount;
+
+    @Column(nullable = false)
+    private long grumpyCount;
+
+    @Column(nullable = false)
+    private long stressedOutCount;
+
+    @Column(nullable = false)
+    private long submissionCount;
+
+    @Column(nullable = false)
+    private long scoreSum;
+
+    @Column(nullable = false)
+    private long commentCount;
+
+    // HyperLogLog registers of the day's user ids, null for rollups written before it was kept
+    @Column(name = "participant_sketch", length = PARTICIPANT_SKETCH_BYTES)
+    private byte[] participantSketch;
+
+    public MoodDailyRollupDO() {
+    }
+
+    public MoodDailyRollupDO(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getCount(MoodType mood) {
+        return switch (mood) {
+            case HAPPY -> happyCount;
+            case JUST_NORMAL_REALLY -> justNormalReallyCount;
+            case A_BIT_MEH -> aBitMehCount;
+            case GRUMPY -> grumpyCount;
+            case STRESSED_OUT_NOT_A_HAPPY_CAMPER -> stressedOutCount;
+        };
+    }
+
+    /**
+     * Sets the count of one mood, keeping the submission count and the score sum in line with it.
+     */
+    public void setCount(MoodType mood, long count) {
+        long previous = getCount(mood);
+        switch (mood) {
+            case HAPPY -> happyCount = count;
+            case JUST_NORMAL_REALLY -> justNormalReallyCount = count;
+            case A_BIT_MEH -> aBitMehCount = count;
+            case GRUMPY -> grumpyCount = count;
+            case STRESSED_OUT_NOT_A_HAPPY_CAMPER -> stressedOutCount = count;
+        }
+        submissionCount += count - previous;
+        scoreSum += (count - previous) * mood.getScore();
+    }
+
+    /**
+     * @return the mood matching the average score of the day, or null when nobody submitted
+     */
+    public MoodType getOverallMood() {
+        return submissionCount == 0 ? null : MoodType.fromScore((double) scoreSum / submissionCount);
+    }
+
+    // Getters and Setters
+    public LocalDate getDay() { return day; }
+    public long getSubmissionCount() { return submissionCount; }
+    public long getScoreSum() { return scoreSum; }
+    public long getCommentCount() { return commentCount; }
+    public void setCommentCount(long commentCount) { this.commentCount = commentCount; }
+    public byte[] getParticipantSketch() { return participantSketch; }
+    public void setParticipantSketch(byte[] participantSketch) { this.participantSketch = participantSketch; }
+}
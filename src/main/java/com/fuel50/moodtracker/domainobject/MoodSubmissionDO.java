@@ -6,10 +6,25 @@ import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
 @Entity
-@Table(name = "mood_submission")
+@Table(name = "mood_submission", uniqueConstraints = {
+        @UniqueConstraint(name = MoodSubmissionDO.USER_DAY_CONSTRAINT, columnNames = {"user_id", "submission_day"})
+}, indexes = {
+        // Every aggregate reads one day (or a range of days) of submissions
+        @Index(name = "idx_mood_submission_date", columnList = "submission_date"),
+        // and a team dashboard only the day of its own team
+        @Index(name = "idx_mood_submission_team_date", columnList = "team_id, submission_date")
+})
 public class MoodSubmissionDO {
+    public static final String USER_DAY_CONSTRAINT = "uk_mood_submission_user_day";
+    public static final String ID_SEQUENCE = "mood_submission_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String DEFAULT_TEAM = "default";
+    public static final int MAX_TEAM_ID_LENGTH = 64;
+
+    // Pooled sequence ids let Hibernate batch inserts, which identity columns prevent
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -23,9 +38,19 @@ public class MoodSubmissionDO {
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime submissionDate = LocalDateTime.now();
 
+    // Epoch day of the submission date, one bucket per calendar day for the one-submission-per-day rule.
+    // Nullable so the unique index can be added to tables holding rows written before this column existed.
+    @Column(name = "submission_day")
+    private Long submissionDay = submissionDate.toLocalDate().toEpochDay();
+
     @Column(nullable = false)
     private String userId;
 
+    // Nullable so the column can be added to tables holding rows written before teams existed,
+    // those rows are moved to the default team on startup
+    @Column(name = "team_id", length = MAX_TEAM_ID_LENGTH)
+    private String teamId = DEFAULT_TEAM;
+
     public MoodSubmissionDO() {
     }
     public MoodSubmissionDO(MoodType mood, String userId, String comment) {
@@ -43,9 +68,15 @@ public class MoodSubmissionDO {
     public String getComment() { return comment; }
     public void setComment(String comment) { this.comment = comment; }
     public LocalDateTime getSubmissionDate() { return submissionDate; }
-    public void setSubmissionDate(LocalDateTime submissionDate) { this.submissionDate = submissionDate; }
+    public void setSubmissionDate(LocalDateTime submissionDate) {
+        this.submissionDate = submissionDate;
+        this.submissionDay = submissionDate == null ? null : submissionDate.toLocalDate().toEpochDay();
+    }
+    public Long getSubmissionDay() { return submissionDay; }
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
+    public String getTeamId() { return teamId; }
+    public void setTeamId(String teamId) { this.teamId = teamId; }
 
 
 }
@@ -0,0 +1,7 @@
+package com.fuel50.moodtracker.domainvalue;
+
+public enum BatchItemStatus {
+    ACCEPTED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,18 @@
+package com.fuel50.moodtracker.domainvalue;
+
+/**
+ * Identifies the state of a day's mood data: the tag changes with every stored submission,
+ * the last modified time is in epoch milliseconds.
+ */
+public class MoodVersion {
+    private final String tag;
+    private final long lastModified;
+
+    public MoodVersion(String tag, long lastModified) {
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    public String getTag() { return tag; }
+    public long getLastModified() { return lastModified; }
+}
@@ -0,0 +1,36 @@
+package com.fuel50.moodtracker.domainvalue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Periods a date range can be split into for reporting. Weeks start on Monday.
+ */
+public enum ReportingPeriod {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * @return the first day of the period containing the given day
+     */
+    public LocalDate start(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * @return the first day of the period following the one starting on the given day
+     */
+    public LocalDate next(LocalDate start) {
+        return switch (this) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.CommentView;
+import com.fuel50.moodtracker.dataaccessobject.MoodStore;
+import com.fuel50.moodtracker.dataaccessobject.TeamCommentView;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Keeps the comments of the current day in memory, in the compact {@link DayColumns} layout, so the
+ * overall mood and the comment pages of a team are read without querying the submissions table.
+ * <p>
+ * The day is loaded from the database in pages on startup, or the first time it is requested after
+ * midnight, then extended as submissions are committed. Like the mood aggregates, it is periodically
+ * reloaded to pick up comments submitted through other instances.
+ */
+@Component
+public class ColumnarDayStore {
+    private static final Logger LOG = LoggerFactory.getLogger(ColumnarDayStore.class);
+    static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final MoodStore moodRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private DayColumns current;
+
+    public ColumnarDayStore(MoodStore moodRepository) {
+        this.moodRepository = moodRepository;
+    }
+
+    /**
+     * @return the team's comments of the day, in submission order
+     */
+    public List<String> getComments(String teamId, LocalDate day) {
+        return read(day, columns -> columns.comments(teamId));
+    }
+
+    /**
+     * @return up to {@code limit} of the team's comments of the day with a submission id above {@code afterId}
+     */
+    public List<CommentView> getCommentsAfter(String teamId, LocalDate day, long afterId, int limit) {
+        return read(day, columns -> columns.commentsAfter(teamId, afterId, limit));
+    }
+
+    private <T> T read(LocalDate day, Function<DayColumns, T> reader) {
+        lock.readLock().lock();
+        try {
+            if (current != null && current.getDay().equals(day)) {
+                return reader.apply(current);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (current == null || !current.getDay().equals(day)) {
+                // Loading the day under the lock holds back the commits made meanwhile, the columns skip those already loaded
+                current = load(day);
+            }
+            return reader.apply(current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs first: the aggregate's version, the ETag of the overall mood, must not change before its comment is here
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onMoodSubmitted(MoodSubmittedEvent event) {
+        MoodSubmissionDO submission = event.getSubmission();
+        if (submission.getComment() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // Another day is loaded with this submission the first time it is read
+            if (current != null && current.getDay().equals(submission.getSubmissionDate().toLocalDate())) {
+                current.add(submission.getId(), teamOf(submission.getTeamId()), submission.getComment());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            current = load(LocalDate.now());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Reloaded outside the lock, so reads carry on meanwhile; comments committed during the reload are carried over
+    @Scheduled(fixedDelayString = "${moodtracker.aggregate.resync-interval:PT5M}",
+            initialDelayString = "${moodtracker.aggregate.resync-interval:PT5M}")
+    public void resync() {
+        LocalDate today = LocalDate.now();
+        long stored = moodRepository.countComments(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+        lock.readLock().lock();
+        try {
+            if (current != null && current.getDay().equals(today) && current.size() == stored) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        DayColumns reloaded = load(today);
+        lock.writeLock().lock();
+        try {
+            if (current != null && current.getDay().equals(today)) {
+                // All of them: ids come from pooled sequences, so a comment committed during the reload may have a
+                // lower id than ones reloaded. Those already reloaded are skipped
+                reloaded.addAfter(current, 0);
+            }
+            current = reloaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private DayColumns load(LocalDate day) {
+        LocalDateTime startOfDay = day.atStartOfDay();
+        LocalDateTime startOfNextDay = day.plusDays(1).atStartOfDay();
+
+        DayColumns columns = new DayColumns(day);
+        List<TeamCommentView> page;
+        do {
+            page = moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, columns.lastId(), Limit.of(LOAD_PAGE_SIZE));
+            page.forEach(comment -> columns.add(comment.getId(), teamOf(comment.getTeamId()), comment.getComment()));
+        } while (page.size() == LOAD_PAGE_SIZE);
+        LOG.debug("Loaded {} comments of {} into {} KB of columns", columns.size(), day, columns.estimatedBytes() / 1024);
+        return columns;
+    }
+
+    private static String teamOf(String teamId) {
+        return teamId == null ? MoodSubmissionDO.DEFAULT_TEAM : teamId;
+    }
+}
@@ -0,0 +1,68 @@
+package com.fuel50.moodtracker.service;
+
+/**
+ * Approximate counts of an unbounded number of keys in a fixed amount of memory. Every key increments
+ * one counter in each of {@code depth} rows; its estimate is the smallest of those counters, which is
+ * never below the true count. Colliding keys only make estimates too high, by at most
+ * {@code e / width} of the total count with probability {@code 1 - e^-depth}.
+ * <p>
+ * Uses conservative update: only the counters holding the current minimum are incremented, which
+ * keeps the overestimation of rare keys lower. Not thread-safe.
+ */
+final class CountMinSketch {
+    private final int[][] counters;
+    private final int mask;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     */
+    CountMinSketch(int depth, int width) {
+        int size = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.counters = new int[depth][size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Counts one more occurrence of the key.
+     *
+     * @return the new estimate of the key's count
+     */
+    int add(String key) {
+        int hash = key.hashCode();
+        int first = mix(hash);
+        int second = mix(hash ^ 0x9E3779B9) | 1;
+        int estimate = estimate(first, second) + 1;
+        for (int row = 0; row < counters.length; row++) {
+            int[] counter = counters[row];
+            int column = (first + row * second) & mask;
+            if (counter[column] < estimate) {
+                counter[column] = estimate;
+            }
+        }
+        return estimate;
+    }
+
+    int estimate(String key) {
+        int hash = key.hashCode();
+        return estimate(mix(hash), mix(hash ^ 0x9E3779B9) | 1);
+    }
+
+    // Rows index with first + row * second, as good as independent hash functions
+    private int estimate(int first, int second) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            estimate = Math.min(estimate, counters[row][(first + row * second) & mask]);
+        }
+        return estimate;
+    }
+
+    // Murmur3 finalizer, spreads String.hashCode over all bits
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
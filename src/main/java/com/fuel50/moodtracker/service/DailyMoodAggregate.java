@@ -0,0 +1,116 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.domainvalue.MoodType;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Running totals of the mood submissions made on a single day.
+ * Every {@link MoodType} has its own atomic counter, so recording a submission never takes a lock.
+ * The score sum and the submission count are derived from those counters, which keeps them
+ * consistent with each other without a second write on the hot path.
+ * <p>
+ * Every recorded submission also advances a version, which readers use as a cheap validator
+ * of the day's data. Versions are only comparable within one aggregate instance, so the version
+ * string is prefixed with a random generation picked when the aggregate is created.
+ */
+public class DailyMoodAggregate {
+    private static final MoodType[] MOOD_TYPES = MoodType.values();
+
+    private final LocalDate day;
+    private final AtomicLongArray counts = new AtomicLongArray(MOOD_TYPES.length);
+    private final AtomicLong commentCount = new AtomicLong();
+    private final long generation = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified = System.currentTimeMillis();
+
+    public DailyMoodAggregate(LocalDate day) {
+        this.day = day;
+    }
+
+    public void record(MoodType mood, boolean withComment) {
+        counts.incrementAndGet(mood.ordinal());
+        if (withComment) {
+            commentCount.incrementAndGet();
+        }
+        lastModified = System.currentTimeMillis();
+        version.incrementAndGet();
+    }
+
+    public void add(MoodType mood, long count) {
+        counts.addAndGet(mood.ordinal(), count);
+    }
+
+    public void addComments(long count) {
+        commentCount.addAndGet(count);
+    }
+
+    public LocalDate getDay() { return day; }
+
+    /**
+     * @return a value that changes whenever a submission is recorded, unique across aggregate instances
+     */
+    public String getVersion() {
+        return Long.toHexString(generation) + "-" + version.get();
+    }
+
+    /**
+     * @return when the last submission was recorded, or the aggregate was loaded, in epoch milliseconds
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public boolean hasSameCounts(DailyMoodAggregate other) {
+        for (int i = 0; i < MOOD_TYPES.length; i++) {
+            if (counts.get(i) != other.counts.get(i)) {
+                return false;
+            }
+        }
+        return commentCount.get() == other.commentCount.get();
+    }
+
+    public long getCount(MoodType mood) {
+        return counts.get(mood.ordinal());
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < MOOD_TYPES.length; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public long getCommentCount() {
+        return commentCount.get();
+    }
+
+    public long getScoreSum() {
+        long sum = 0;
+        for (int i = 0; i < MOOD_TYPES.length; i++) {
+            sum += counts.get(i) * MOOD_TYPES[i].getScore();
+        }
+        return sum;
+    }
+
+    /**
+     * @return the mood matching the average score of the day, or null when nobody has submitted yet
+     */
+    public MoodType getOverallMood() {
+        long total = 0;
+        long sum = 0;
+        for (int i = 0; i < MOOD_TYPES.length; i++) {
+            long count = counts.get(i);
+            total += count;
+            sum += count * MOOD_TYPES[i].getScore();
+        }
+        if (total == 0) {
+            return null;
+        }
+        return MoodType.fromScore((double) sum / total);
+    }
+}
@@ -0,0 +1,143 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.MoodStore;
+import com.fuel50.moodtracker.dataaccessobject.TeamMoodCount;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps a {@link DailyMoodAggregate} per day in memory so the overall mood can be read without
+ * querying the submissions table. Aggregates are built from the database the first time a day is
+ * requested (and for today on startup), then updated as submissions are committed.
+ * <p>
+ * The aggregates only see submissions committed through this instance, so today's aggregate is
+ * periodically rebuilt from the database to pick up writes made elsewhere.
+ * <p>
+ * Next to the company-wide aggregate of a day, every team with submissions on the day has its own, loaded
+ * with the day by one grouped query and created by the team's first submission after that. Team aggregates
+ * live in a concurrent map keyed by team and day, whose reads never lock, and each aggregate has its own
+ * atomic counters, so reads of different teams never contend. Reading a team's mood costs the same whatever
+ * the number of teams, and never queries the database once the day is loaded. Requests naming any number of
+ * teams without submissions cannot grow the map; those all share one empty aggregate of the day.
+ */
+@Component
+public class DailyMoodAggregator {
+    private static final Logger LOG = LoggerFactory.getLogger(DailyMoodAggregator.class);
+
+    private final MoodStore moodRepository;
+    private final ConcurrentMap<LocalDate, DailyMoodAggregate> aggregates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TeamDay, DailyMoodAggregate> teamAggregates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LocalDate, DailyMoodAggregate> withoutSubmissions = new ConcurrentHashMap<>();
+
+    public DailyMoodAggregator(MoodStore moodRepository) {
+        this.moodRepository = moodRepository;
+    }
+
+    /**
+     * @return the aggregate of every submission of the day, whatever the team
+     */
+    public DailyMoodAggregate forDay(LocalDate day) {
+        return aggregates.computeIfAbsent(day, this::load);
+    }
+
+    public DailyMoodAggregate forTeam(String teamId, LocalDate day) {
+        // Loading the day loads every team with submissions on it, so a team missing afterwards has none
+        forDay(day);
+        DailyMoodAggregate aggregate = teamAggregates.get(new TeamDay(teamId, day));
+        // Shared rather than created per read, so its version stays valid for clients of an empty team
+        return aggregate != null ? aggregate : withoutSubmissions.computeIfAbsent(day, DailyMoodAggregate::new);
+    }
+
+    // Runs before the other listeners of the event, which read the updated aggregate, but after the comment
+    // is added to the ColumnarDayStore, so a reader seeing the new version also sees the comment
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onMoodSubmitted(MoodSubmittedEvent event) {
+        MoodSubmissionDO submission = event.getSubmission();
+        LocalDate day = submission.getSubmissionDate().toLocalDate();
+        boolean withComment = submission.getComment() != null;
+        // compute waits for a load of the day in flight on another thread, which may have read the
+        // database before this submission was committed; get() would miss it and the submission with it
+        aggregates.compute(day, (loaded, aggregate) -> {
+            if (aggregate == null) {
+                // Loading the day from the database already counts this committed submission, for its team too
+                return load(loaded);
+            }
+            aggregate.record(submission.getMood(), withComment);
+            // Under the day's lock like the load of its teams, the team's first submission creates its aggregate
+            teamAggregates.computeIfAbsent(new TeamDay(submission.getTeamId(), day), teamDay -> new DailyMoodAggregate(day))
+                    .record(submission.getMood(), withComment);
+            return aggregate;
+        });
+        aggregates.keySet().removeIf(loaded -> loaded.isBefore(day.minusDays(1)));
+        teamAggregates.keySet().removeIf(loaded -> loaded.day().isBefore(day.minusDays(1)));
+        withoutSubmissions.keySet().removeIf(loaded -> loaded.isBefore(day.minusDays(1)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        aggregates.clear();
+        teamAggregates.clear();
+        withoutSubmissions.clear();
+        forDay(LocalDate.now());
+    }
+
+    @Scheduled(fixedDelayString = "${moodtracker.aggregate.resync-interval:PT5M}",
+            initialDelayString = "${moodtracker.aggregate.resync-interval:PT5M}")
+    public void resync() {
+        // Counted under the day's lock, like submissions are recorded: one committed while the day is being counted
+        // waits and is recorded on the result, instead of on an aggregate the result then replaces without it
+        aggregates.compute(LocalDate.now(), (today, current) -> {
+            Map<TeamDay, DailyMoodAggregate> teams = new HashMap<>();
+            DailyMoodAggregate reloaded = count(today, teams);
+            resyncTeams(today, teams);
+            // Keep the current aggregate when nothing changed, so its version (and clients' ETags) stay valid
+            return current != null && current.hasSameCounts(reloaded) ? current : reloaded;
+        });
+    }
+
+    // Teams first submitting elsewhere are added, teams whose submissions are gone are dropped
+    private void resyncTeams(LocalDate today, Map<TeamDay, DailyMoodAggregate> loaded) {
+        teamAggregates.keySet().removeIf(teamDay -> teamDay.day().equals(today) && !loaded.containsKey(teamDay));
+        loaded.forEach((teamDay, reloaded) -> teamAggregates.merge(teamDay, reloaded,
+                (current, reloadedTeam) -> current.hasSameCounts(reloadedTeam) ? current : reloadedTeam));
+    }
+
+    private DailyMoodAggregate load(LocalDate day) {
+        Map<TeamDay, DailyMoodAggregate> teams = new HashMap<>();
+        DailyMoodAggregate aggregate = count(day, teams);
+        teamAggregates.putAll(teams);
+        LOG.debug("Loaded mood aggregate for {} with {} submissions of {} teams", day, aggregate.getTotalCount(), teams.size());
+        return aggregate;
+    }
+
+    // One grouped query counts the day and each of its teams, however many there are
+    private DailyMoodAggregate count(LocalDate day, Map<TeamDay, DailyMoodAggregate> teams) {
+        DailyMoodAggregate aggregate = new DailyMoodAggregate(day);
+        for (TeamMoodCount count : moodRepository.countTeamMoods(day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+            aggregate.add(count.getMood(), count.getTotal());
+            aggregate.addComments(count.getComments());
+            DailyMoodAggregate team = teams.computeIfAbsent(new TeamDay(count.getTeamId(), day), teamDay -> new DailyMoodAggregate(day));
+            team.add(count.getMood(), count.getTotal());
+            team.addComments(count.getComments());
+        }
+        return aggregate;
+    }
+
+    private record TeamDay(String teamId, LocalDate day) {
+    }
+}
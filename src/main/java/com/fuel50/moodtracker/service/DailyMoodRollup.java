@@ -0,0 +1,181 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.DailyMoodCount;
+import com.fuel50.moodtracker.dataaccessobject.MoodDailyRollupRepository;
+import com.fuel50.moodtracker.dataaccessobject.MoodStore;
+import com.fuel50.moodtracker.domainobject.MoodDailyRollupDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maintains the {@code mood_daily_rollup} table. Days receiving submissions are marked dirty and
+ * recomputed from {@code mood_submission} on a fixed delay, so a busy day costs one grouped query
+ * per flush instead of one row update per submission, and instances writing the same day converge
+ * on the same totals. On startup, days submitted to since the last rollup are rolled up in one pass.
+ * <p>
+ * Each rollup also keeps a {@link HyperLogLog} sketch of the day's user ids, so distinct participants of
+ * a range are estimated from the rollups. Today's users are added to an in-memory sketch as they submit,
+ * which each flush merges into the stored one, so a flush does not read all of today's user ids again.
+ * Other days, imported days and rollups without a sketch read the day's user ids instead. Once a day is
+ * over it is rolled up in full one last time, which also takes in the users other instances merged at
+ * the same moment as this one.
+ */
+@Component
+public class DailyMoodRollup {
+    private static final Logger LOG = LoggerFactory.getLogger(DailyMoodRollup.class);
+
+    private final MoodStore moodRepository;
+    private final MoodDailyRollupRepository rollupRepository;
+    private final Set<LocalDate> dirtyDays = ConcurrentHashMap.newKeySet();
+    private final Set<LocalDate> importedDays = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<LocalDate, HyperLogLog> submittedUsers = new ConcurrentHashMap<>();
+    private LocalDate flushDay;
+
+    public DailyMoodRollup(MoodStore moodRepository, MoodDailyRollupRepository rollupRepository) {
+        this.moodRepository = moodRepository;
+        this.rollupRepository = rollupRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoodSubmitted(MoodSubmittedEvent event) {
+        LocalDate day = event.getSubmission().getSubmissionDate().toLocalDate();
+        // The sketch is not thread-safe, compute adds to it under the lock of the day's entry
+        submittedUsers.compute(day, (submittedDay, users) -> {
+            HyperLogLog added = users != null ? users : new HyperLogLog();
+            added.add(event.getSubmission().getUserId());
+            return added;
+        });
+        dirtyDays.add(day);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoodsImported(MoodsImportedEvent event) {
+        importedDays.addAll(event.getDays());
+        dirtyDays.addAll(event.getDays());
+    }
+
+    @Scheduled(fixedDelayString = "${moodtracker.rollup.flush-interval:PT1M}",
+            initialDelayString = "${moodtracker.rollup.flush-interval:PT1M}")
+    public void flush() {
+        LocalDate today = LocalDate.now();
+        if (flushDay != null && !flushDay.equals(today)) {
+            // The day that just ended was only merged into so far, roll it up in full
+            dirtyDays.add(flushDay);
+        }
+        flushDay = today;
+        for (LocalDate day : List.copyOf(dirtyDays)) {
+            dirtyDays.remove(day);
+            boolean imported = importedDays.remove(day);
+            HyperLogLog users = submittedUsers.remove(day);
+            try {
+                rollUp(day, users, imported || !day.equals(today));
+            } catch (RuntimeException e) {
+                // Another instance inserted the same day first, or the database is unavailable; retry next time
+                if (imported) {
+                    importedDays.add(day);
+                }
+                if (users != null) {
+                    submittedUsers.merge(day, users, (current, earlier) -> {
+                        current.merge(earlier);
+                        return current;
+                    });
+                }
+                dirtyDays.add(day);
+                LOG.warn("Could not roll up moods of {}, will retry", day, e);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the rollup of a day from its submissions.
+     */
+    public void rollUp(LocalDate day) {
+        rollUp(day, null, true);
+    }
+
+    private void rollUp(LocalDate day, HyperLogLog submitted, boolean full) {
+        MoodDailyRollupDO rollup = emptyRollup(day);
+        // The query of the backfill, so a day's rollup does not depend on which of the two wrote it
+        for (DailyMoodCount count : moodRepository.countDailyMoods(day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+            if (count.getDay() != null && count.getDay() == day.toEpochDay()) {
+                rollup.setCount(count.getMood(), count.getTotal());
+                rollup.setCommentCount(rollup.getCommentCount() + count.getComments());
+            }
+        }
+        if (full || rollup.getParticipantSketch() == null) {
+            rollup.setParticipantSketch(participantSketch(day));
+        } else if (submitted != null) {
+            HyperLogLog participants = HyperLogLog.fromBytes(rollup.getParticipantSketch());
+            participants.merge(submitted);
+            rollup.setParticipantSketch(participants.toBytes());
+        }
+        rollupRepository.save(rollup);
+    }
+
+    // Runs after the submission day backfill, the grouping below relies on every row having its day
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        LocalDate lastDay = rollupRepository.findLastDay();
+        // The last rolled up day may have been incomplete, roll it up again
+        LocalDateTime from = lastDay == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : lastDay.atStartOfDay();
+        LocalDateTime to = LocalDate.now().plusDays(1).atStartOfDay();
+
+        Map<LocalDate, MoodDailyRollupDO> rollups = new TreeMap<>();
+        for (DailyMoodCount count : moodRepository.countDailyMoods(from, to)) {
+            if (count.getDay() == null) {
+                continue;
+            }
+            LocalDate day = LocalDate.ofEpochDay(count.getDay());
+            MoodDailyRollupDO rollup = rollups.computeIfAbsent(day, this::emptyRollup);
+            rollup.setCount(count.getMood(), count.getTotal());
+            rollup.setCommentCount(rollup.getCommentCount() + count.getComments());
+        }
+        // Rollups written before the sketches were kept get theirs too, one query per day
+        for (MoodDailyRollupDO rollup : rollupRepository.findByParticipantSketchIsNull()) {
+            rollups.putIfAbsent(rollup.getDay(), rollup);
+        }
+        rollups.values().forEach(rollup -> rollup.setParticipantSketch(participantSketch(rollup.getDay())));
+        if (rollups.isEmpty()) {
+            return;
+        }
+        try {
+            rollupRepository.saveAll(new ArrayList<>(rollups.values()));
+            LOG.info("Rolled up the moods of {} days", rollups.size());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance is backfilling at the same time
+            LOG.warn("Could not backfill mood rollups", e);
+        }
+    }
+
+    private byte[] participantSketch(LocalDate day) {
+        HyperLogLog participants = new HyperLogLog();
+        moodRepository.findUserIdsBySubmissionDay(day.toEpochDay()).forEach(participants::add);
+        return participants.toBytes();
+    }
+
+    private MoodDailyRollupDO emptyRollup(LocalDate day) {
+        MoodDailyRollupDO rollup = rollupRepository.findById(day).orElseGet(() -> new MoodDailyRollupDO(day));
+        for (MoodType mood : MoodType.values()) {
+            rollup.setCount(mood, 0);
+        }
+        rollup.setCommentCount(0);
+        return rollup;
+    }
+}
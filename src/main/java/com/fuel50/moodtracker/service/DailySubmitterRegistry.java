@@ -0,0 +1,107 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.MoodStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users have already submitted their mood today, so repeated submissions can be
+ * rejected without a database round trip. The set is exact: a user id that is not in it has not
+ * been seen by this instance, and the unique (user, day) index stays the final authority for
+ * submissions made through other instances.
+ * <p>
+ * The set is loaded from the database on startup and replaced with a fresh one at midnight.
+ */
+@Component
+public class DailySubmitterRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(DailySubmitterRegistry.class);
+
+    private final MoodStore moodRepository;
+    private volatile DaySubmitters current = new DaySubmitters(LocalDate.now(), ConcurrentHashMap.newKeySet());
+
+    public DailySubmitterRegistry(MoodStore moodRepository) {
+        this.moodRepository = moodRepository;
+    }
+
+    public boolean hasSubmittedToday(String userId) {
+        return today().users.contains(userId);
+    }
+
+    /**
+     * Atomically records that the user submitted on the given day.
+     *
+     * @return false if the user had already submitted that day
+     */
+    public boolean claim(String userId, LocalDate day) {
+        DaySubmitters submitters = today();
+        return !submitters.day.equals(day) || submitters.users.add(userId);
+    }
+
+    public void release(String userId, LocalDate day) {
+        DaySubmitters submitters = today();
+        if (submitters.day.equals(day)) {
+            submitters.users.remove(userId);
+        }
+    }
+
+    public void markSubmitted(String userId, LocalDate day) {
+        DaySubmitters submitters = today();
+        if (submitters.day.equals(day)) {
+            submitters.users.add(userId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoodSubmitted(MoodSubmittedEvent event) {
+        markSubmitted(event.getSubmission().getUserId(), event.getSubmission().getSubmissionDate().toLocalDate());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDate today = LocalDate.now();
+        Set<String> users = ConcurrentHashMap.newKeySet();
+        users.addAll(moodRepository.findUserIdsBySubmissionDay(today.toEpochDay()));
+        current = new DaySubmitters(today, users);
+        LOG.debug("Loaded {} users who already submitted on {}", users.size(), today);
+    }
+
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rotate() {
+        load();
+    }
+
+    private DaySubmitters today() {
+        DaySubmitters submitters = current;
+        LocalDate today = LocalDate.now();
+        if (!submitters.day.equals(today)) {
+            // The scheduled rotation has not run yet, start the new day with an empty set
+            DaySubmitters rotated = new DaySubmitters(today, ConcurrentHashMap.newKeySet());
+            synchronized (this) {
+                if (current == submitters) {
+                    current = rotated;
+                }
+                submitters = current;
+            }
+        }
+        return submitters;
+    }
+
+    private static class DaySubmitters {
+        private final LocalDate day;
+        private final Set<String> users;
+
+        DaySubmitters(LocalDate day, Set<String> users) {
+            this.day = day;
+            this.users = users;
+        }
+    }
+}
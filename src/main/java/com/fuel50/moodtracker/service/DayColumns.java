@@ -0,0 +1,158 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.CommentView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The comments of one day, stored column by column in primitive arrays rather than as an object per
+ * submission: the submission ids, the team of each comment as an index into a small dictionary of team
+ * ids, and the comment text as an offset and length into one shared UTF-8 array. A comment costs about
+ * 18 bytes plus its text, and reading a team's comments is a sequential scan of two int arrays.
+ * <p>
+ * Rows are kept in id order, so pages after a cursor start with a binary search. Not thread-safe,
+ * {@link ColumnarDayStore} guards access.
+ */
+final class DayColumns {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final LocalDate day;
+    private final Map<String, Integer> teamCodes = new HashMap<>();
+    private final List<String> teamIds = new ArrayList<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] teams = new int[INITIAL_CAPACITY];
+    private int[] commentOffsets = new int[INITIAL_CAPACITY];
+    private short[] commentLengths = new short[INITIAL_CAPACITY];
+    private byte[] commentBytes = new byte[INITIAL_CAPACITY * 32];
+    private int commentBytesUsed;
+    private int size;
+
+    DayColumns(LocalDate day) {
+        this.day = day;
+    }
+
+    LocalDate getDay() {
+        return day;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long lastId() {
+        return size == 0 ? 0 : ids[size - 1];
+    }
+
+    long estimatedBytes() {
+        return ids.length * (long) (Long.BYTES + Integer.BYTES + Integer.BYTES + Short.BYTES) + commentBytes.length;
+    }
+
+    /**
+     * Adds a comment, in id order. Comments usually arrive in id order, an earlier one is moved into place.
+     *
+     * @return false if the submission is already stored
+     */
+    boolean add(long id, String teamId, String comment) {
+        int position = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0 && position < size) {
+            return false;
+        }
+        if (position < 0) {
+            position = -position - 1;
+        }
+        byte[] text = comment.getBytes(StandardCharsets.UTF_8);
+        if (text.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Comment too long: " + text.length + " bytes");
+        }
+        ensureCapacity(text.length);
+        if (position < size) {
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            System.arraycopy(teams, position, teams, position + 1, size - position);
+            System.arraycopy(commentOffsets, position, commentOffsets, position + 1, size - position);
+            System.arraycopy(commentLengths, position, commentLengths, position + 1, size - position);
+        }
+        ids[position] = id;
+        teams[position] = teamCodes.computeIfAbsent(teamId, team -> {
+            teamIds.add(team);
+            return teamIds.size() - 1;
+        });
+        commentOffsets[position] = commentBytesUsed;
+        commentLengths[position] = (short) text.length;
+        System.arraycopy(text, 0, commentBytes, commentBytesUsed, text.length);
+        commentBytesUsed += text.length;
+        size++;
+        return true;
+    }
+
+    /**
+     * Copies the rows of another day's columns with an id above {@code afterId}.
+     */
+    void addAfter(DayColumns other, long afterId) {
+        for (int row = other.firstRowAfter(afterId); row < other.size; row++) {
+            add(other.ids[row], other.teamIds.get(other.teams[row]), other.comment(row));
+        }
+    }
+
+    List<String> comments(String teamId) {
+        Integer team = teamCodes.get(teamId);
+        if (team == null) {
+            return List.of();
+        }
+        List<String> comments = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (teams[row] == team) {
+                comments.add(comment(row));
+            }
+        }
+        return comments;
+    }
+
+    List<CommentView> commentsAfter(String teamId, long afterId, int limit) {
+        Integer team = teamCodes.get(teamId);
+        if (team == null) {
+            return List.of();
+        }
+        List<CommentView> comments = new ArrayList<>();
+        for (int row = firstRowAfter(afterId); row < size && comments.size() < limit; row++) {
+            if (teams[row] == team) {
+                comments.add(new Comment(ids[row], comment(row)));
+            }
+        }
+        return comments;
+    }
+
+    private int firstRowAfter(long afterId) {
+        int position = Arrays.binarySearch(ids, 0, size, afterId);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private String comment(int row) {
+        return new String(commentBytes, commentOffsets[row], commentLengths[row], StandardCharsets.UTF_8);
+    }
+
+    private void ensureCapacity(int textLength) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            teams = Arrays.copyOf(teams, capacity);
+            commentOffsets = Arrays.copyOf(commentOffsets, capacity);
+            commentLengths = Arrays.copyOf(commentLengths, capacity);
+        }
+        if (commentBytesUsed + textLength > commentBytes.length) {
+            commentBytes = Arrays.copyOf(commentBytes, Math.max(commentBytes.length * 2, commentBytesUsed + textLength));
+        }
+    }
+
+    private record Comment(Long id, String comment) implements CommentView {
+        @Override
+        public Long getId() { return id; }
+        @Override
+        public String getComment() { return comment; }
+    }
+}
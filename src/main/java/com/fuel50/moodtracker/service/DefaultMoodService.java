@@ -1,73 +1,436 @@
 package com.fuel50.moodtracker.service;
 
-import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.dataaccessobject.CommentView;
+import com.fuel50.moodtracker.dataaccessobject.MoodDailyRollupRepository;
+import com.fuel50.moodtracker.dataaccessobject.MoodStore;
+import com.fuel50.moodtracker.datatransferobject.CommentPageDTO;
+import com.fuel50.moodtracker.datatransferobject.DailyMoodDTO;
+import com.fuel50.moodtracker.datatransferobject.ParticipationDTO;
+import com.fuel50.moodtracker.datatransferobject.PhraseCountDTO;
 import com.fuel50.moodtracker.datatransferobject.TeamMoodDTO;
+import com.fuel50.moodtracker.domainobject.MoodDailyRollupDO;
 import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.BatchItemStatus;
+import com.fuel50.moodtracker.domainvalue.ExportFormat;
 import com.fuel50.moodtracker.domainvalue.MoodType;
+import com.fuel50.moodtracker.domainvalue.MoodVersion;
+import com.fuel50.moodtracker.domainvalue.ReportingPeriod;
 import com.fuel50.moodtracker.exception.DuplicateMoodSubmissionException;
+import com.fuel50.moodtracker.exception.SubmissionQueueFullException;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class DefaultMoodService implements MoodService {
-    private final MoodRepository moodRepository;
+    static final int MAX_COMMENT_PAGE_SIZE = 500;
+    static final String DUPLICATE_SUBMISSION_MESSAGE = "Sorry, you have already submitted your response for today, try again tomorrow!";
+    static final String QUEUE_FULL_MESSAGE = "Sorry, we are receiving a lot of moods right now, please try again in a moment!";
+
+    private final MoodStore moodRepository;
+    private final DailyMoodAggregator dailyMoodAggregator;
+    private final DailySubmitterRegistry dailySubmitterRegistry;
+    private final MoodWriteBehindQueue writeBehindQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MoodDailyRollupRepository rollupRepository;
+    private final ColumnarDayStore columnarDayStore;
+    private final PhraseFrequencyIndex phraseFrequencyIndex;
     private static final Logger LOG = LoggerFactory.getLogger(DefaultMoodService.class);
 
 
-    public DefaultMoodService(MoodRepository moodRepository) {
+    public DefaultMoodService(MoodStore moodRepository, DailyMoodAggregator dailyMoodAggregator,
+                              DailySubmitterRegistry dailySubmitterRegistry, MoodWriteBehindQueue writeBehindQueue,
+                              ApplicationEventPublisher eventPublisher, MoodDailyRollupRepository rollupRepository,
+                              ColumnarDayStore columnarDayStore, PhraseFrequencyIndex phraseFrequencyIndex) {
         this.moodRepository = moodRepository;
+        this.dailyMoodAggregator = dailyMoodAggregator;
+        this.dailySubmitterRegistry = dailySubmitterRegistry;
+        this.writeBehindQueue = writeBehindQueue;
+        this.eventPublisher = eventPublisher;
+        this.rollupRepository = rollupRepository;
+        this.columnarDayStore = columnarDayStore;
+        this.phraseFrequencyIndex = phraseFrequencyIndex;
     }
 
+    // Not transactional, so rejecting a known duplicate never borrows a connection;
+    // the insert runs in the repository's own transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "moodtracker.mood.submit", description = "Time taken to store a single mood submission")
     public void submitMood(MoodSubmissionDO moodSubmission) {
-        LocalDate today = LocalDate.now();
-        LocalDateTime startOfDay = today.atStartOfDay(); // 12:00 AM
-        LocalDateTime endOfDay = today.atTime(23, 59, 59); // 11:59:59 PM
         LOG.debug("+++++++++++++++++++ user : {}", moodSubmission.getUserId());
 
-        if (moodRepository.existsByUserIdAndSubmissionDateBetween(moodSubmission.getUserId(), startOfDay, endOfDay)) {
+        if (dailySubmitterRegistry.hasSubmittedToday(moodSubmission.getUserId())) {
             LOG.error("Duplicate mood submission for this user : {}", moodSubmission.getUserId());
-            throw new DuplicateMoodSubmissionException("Sorry, you have already submitted your response for today, try again tomorrow!");
+            throw new DuplicateMoodSubmissionException(DUPLICATE_SUBMISSION_MESSAGE);
         }
+
         moodSubmission.setSubmissionDate(LocalDateTime.now());
-        moodRepository.save(moodSubmission);
+        if (writeBehindQueue.isEnabled()) {
+            enqueue(moodSubmission);
+            return;
+        }
+
+        // The unique (user, day) index rejects duplicates, so a submission costs a single insert
+        try {
+            moodRepository.saveAndFlush(moodSubmission);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateSubmission(e)) {
+                throw e;
+            }
+            dailySubmitterRegistry.markSubmitted(moodSubmission.getUserId(), moodSubmission.getSubmissionDate().toLocalDate());
+            LOG.error("Duplicate mood submission for this user : {}", moodSubmission.getUserId());
+            throw new DuplicateMoodSubmissionException(DUPLICATE_SUBMISSION_MESSAGE);
+        }
+        eventPublisher.publishEvent(new MoodSubmittedEvent(moodSubmission));
+    }
+
+
+    private void enqueue(MoodSubmissionDO moodSubmission) {
+        // Claiming the user first makes the in-memory set the duplicate check for queued submissions
+        LocalDate day = moodSubmission.getSubmissionDate().toLocalDate();
+        if (!dailySubmitterRegistry.claim(moodSubmission.getUserId(), day)) {
+            LOG.error("Duplicate mood submission for this user : {}", moodSubmission.getUserId());
+            throw new DuplicateMoodSubmissionException(DUPLICATE_SUBMISSION_MESSAGE);
+        }
+        if (!writeBehindQueue.offer(moodSubmission)) {
+            dailySubmitterRegistry.release(moodSubmission.getUserId(), day);
+            LOG.warn("Write-behind queue is full, rejecting mood submission of user : {}", moodSubmission.getUserId());
+            throw new SubmissionQueueFullException(QUEUE_FULL_MESSAGE);
+        }
+    }
+
+    // Not transactional, so a batch failing on a concurrent duplicate can still store its other items one by one
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "moodtracker.mood.submit.batch", description = "Time taken to store a batch of mood submissions")
+    public List<BatchItemStatus> submitMoods(List<MoodSubmissionDO> moodSubmissions) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        // Settle duplicates up front, a constraint violation would fail the whole JDBC batch
+        List<BatchItemStatus> statuses = new ArrayList<>(moodSubmissions.size());
+        Set<String> batchUserIds = new HashSet<>();
+        for (MoodSubmissionDO moodSubmission : moodSubmissions) {
+            String userId = moodSubmission.getUserId();
+            boolean duplicate = dailySubmitterRegistry.hasSubmittedToday(userId) || !batchUserIds.add(userId);
+            statuses.add(duplicate ? BatchItemStatus.DUPLICATE : BatchItemStatus.ACCEPTED);
+        }
+        Set<String> storedUserIds = batchUserIds.isEmpty() ? Collections.emptySet()
+                : new HashSet<>(moodRepository.findUserIdsBySubmissionDayAndUserIdIn(today.toEpochDay(), batchUserIds));
+
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < moodSubmissions.size(); i++) {
+            MoodSubmissionDO moodSubmission = moodSubmissions.get(i);
+            if (statuses.get(i) != BatchItemStatus.ACCEPTED) {
+                continue;
+            }
+            if (storedUserIds.contains(moodSubmission.getUserId())) {
+                dailySubmitterRegistry.markSubmitted(moodSubmission.getUserId(), today);
+                statuses.set(i, BatchItemStatus.DUPLICATE);
+                continue;
+            }
+            moodSubmission.setSubmissionDate(now);
+            acceptedIndexes.add(i);
+        }
+
+        List<MoodSubmissionDO> accepted = acceptedIndexes.stream().map(moodSubmissions::get).toList();
+        try {
+            moodRepository.saveAllAndFlush(accepted);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateSubmission(e)) {
+                throw e;
+            }
+            // A user of the batch submitted meanwhile; store the rest one by one rather than fail the batch
+            LOG.warn("Concurrent mood submission while storing a batch of {} submissions, storing them one by one", accepted.size());
+            for (int index : acceptedIndexes) {
+                MoodSubmissionDO moodSubmission = moodSubmissions.get(index);
+                if (!storeOne(moodSubmission)) {
+                    dailySubmitterRegistry.markSubmitted(moodSubmission.getUserId(), today);
+                    statuses.set(index, BatchItemStatus.DUPLICATE);
+                }
+            }
+        }
+
+        int stored = 0;
+        for (int index : acceptedIndexes) {
+            if (statuses.get(index) == BatchItemStatus.ACCEPTED) {
+                eventPublisher.publishEvent(new MoodSubmittedEvent(moodSubmissions.get(index)));
+                stored++;
+            }
+        }
+        LOG.debug("Stored {} of {} batch submissions", stored, moodSubmissions.size());
+        return statuses;
+    }
+
+    // Imported submissions keep their own date, so duplicates are settled per day instead of against today's
+    // registry. Not transactional, each insert commits on its own like a single submission
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = "moodtracker.mood.import", description = "Time taken to store a batch of imported mood submissions")
+    public List<BatchItemStatus> importMoods(List<MoodSubmissionDO> moodSubmissions) {
+        long today = LocalDate.now().toEpochDay();
+        List<BatchItemStatus> statuses = new ArrayList<>(moodSubmissions.size());
+        Map<Long, Set<String>> batchUserIds = new HashMap<>();
+        for (MoodSubmissionDO moodSubmission : moodSubmissions) {
+            // Today's registry also knows the submissions still waiting in the write-behind queue
+            boolean duplicate = moodSubmission.getSubmissionDay() == today && dailySubmitterRegistry.hasSubmittedToday(moodSubmission.getUserId())
+                    || !batchUserIds.computeIfAbsent(moodSubmission.getSubmissionDay(), day -> new HashSet<>())
+                    .add(moodSubmission.getUserId());
+            statuses.add(duplicate ? BatchItemStatus.DUPLICATE : BatchItemStatus.ACCEPTED);
+        }
+        Map<Long, Set<String>> storedUserIds = new HashMap<>();
+        batchUserIds.forEach((day, userIds) ->
+                storedUserIds.put(day, new HashSet<>(moodRepository.findUserIdsBySubmissionDayAndUserIdIn(day, userIds))));
+
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < moodSubmissions.size(); i++) {
+            MoodSubmissionDO moodSubmission = moodSubmissions.get(i);
+            if (statuses.get(i) != BatchItemStatus.ACCEPTED) {
+                continue;
+            }
+            if (storedUserIds.get(moodSubmission.getSubmissionDay()).contains(moodSubmission.getUserId())) {
+                statuses.set(i, BatchItemStatus.DUPLICATE);
+                continue;
+            }
+            acceptedIndexes.add(i);
+        }
+
+        List<MoodSubmissionDO> accepted = acceptedIndexes.stream().map(moodSubmissions::get).toList();
+        try {
+            moodRepository.saveAllAndFlush(accepted);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateSubmission(e)) {
+                throw e;
+            }
+            // A user of the batch submitted meanwhile; store the rest one by one rather than fail the batch
+            LOG.warn("Concurrent mood submission while importing a batch of {} submissions, storing them one by one", accepted.size());
+            for (int index : acceptedIndexes) {
+                if (!storeOne(moodSubmissions.get(index))) {
+                    statuses.set(index, BatchItemStatus.DUPLICATE);
+                }
+            }
+        }
+
+        Set<LocalDate> pastDays = new HashSet<>();
+        for (int index : acceptedIndexes) {
+            if (statuses.get(index) != BatchItemStatus.ACCEPTED) {
+                continue;
+            }
+            MoodSubmissionDO moodSubmission = moodSubmissions.get(index);
+            if (moodSubmission.getSubmissionDay() == today) {
+                eventPublisher.publishEvent(new MoodSubmittedEvent(moodSubmission));
+            } else {
+                pastDays.add(moodSubmission.getSubmissionDate().toLocalDate());
+            }
+        }
+        if (!pastDays.isEmpty()) {
+            eventPublisher.publishEvent(new MoodsImportedEvent(pastDays));
+        }
+        return statuses;
+    }
+
+    private boolean storeOne(MoodSubmissionDO moodSubmission) {
+        // The failed batch may have assigned it an id that was never stored
+        moodSubmission.setId(null);
+        try {
+            moodRepository.saveAndFlush(moodSubmission);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateSubmission(e)) {
+                throw e;
+            }
+            return false;
+        }
     }
 
 
     @Override
-    public TeamMoodDTO getOverallMood() {
+    @Transactional(readOnly = true)
+    @Timed(value = "moodtracker.mood.overall", extraTags = {"comments", "true"},
+            description = "Time taken to build today's overall mood of a team")
+    public TeamMoodDTO getOverallMood(String teamId) {
         LocalDate today = LocalDate.now();
-        LocalDateTime startOfDay = today.atStartOfDay(); // 12:00 AM
-        LocalDateTime endOfDay = today.atTime(23, 59, 59); // 11:59:59 PM
 
-        List<MoodSubmissionDO> submissions = moodRepository.findBySubmissionDateBetween(startOfDay, endOfDay);
-        if (submissions.isEmpty()) {
+        DailyMoodAggregate aggregate = dailyMoodAggregator.forTeam(teamId, today);
+        MoodType overallMood = aggregate.getOverallMood();
+        if (overallMood == null) {
             return new TeamMoodDTO(null, Collections.emptyList());
         }
-        double averageScore = submissions.stream()
-                .mapToInt(submission -> submission.getMood().getScore())
-                .average()
-                .orElse(0.0);
 
-        MoodType overallMood = MoodType.fromScore(averageScore);
-
-        // Extract today's comments
-        List<String> comments = submissions.stream()
-                .map(MoodSubmissionDO::getComment)
-                .filter(Objects::nonNull) // Ignore null messages
-                .collect(Collectors.toList());
+        // Today's comments are held in memory, submissions without one are not stored there
+        List<String> comments = columnarDayStore.getComments(teamId, today);
 
         return new TeamMoodDTO(overallMood, comments);
 
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "moodtracker.mood.overall", extraTags = {"comments", "false"},
+            description = "Time taken to build today's overall mood of a team")
+    public TeamMoodDTO getOverallMoodSummary(String teamId) {
+        DailyMoodAggregate aggregate = dailyMoodAggregator.forTeam(teamId, LocalDate.now());
+        return new TeamMoodDTO(aggregate.getOverallMood(), null, aggregate.getCommentCount());
+    }
+
+    // Read from the in-memory aggregate, so validating a cached response never queries the database
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MoodVersion getOverallMoodVersion(String teamId) {
+        DailyMoodAggregate aggregate = dailyMoodAggregator.forTeam(teamId, LocalDate.now());
+        return new MoodVersion(aggregate.getVersion(), aggregate.getLastModified());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageDTO getComments(String teamId, Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_COMMENT_PAGE_SIZE));
+
+        // Fetch one extra row to find out whether another page follows
+        List<CommentView> rows = columnarDayStore.getCommentsAfter(teamId, LocalDate.now(),
+                after == null ? 0L : after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<CommentView> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<String> comments = page.stream().map(CommentView::getComment).toList();
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new CommentPageDTO(comments, nextCursor);
+    }
+
+    // Past days come from the rollup table only; today is still changing, so it is taken from the live aggregate
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "moodtracker.mood.trend", description = "Time taken to build the mood trend of a date range")
+    public List<DailyMoodDTO> getTrend(LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        List<DailyMoodDTO> trend = new ArrayList<>();
+        for (MoodDailyRollupDO rollup : rollupRepository.findByDayBetweenOrderByDay(from, to)) {
+            if (rollup.getSubmissionCount() > 0 && rollup.getDay().isBefore(today)) {
+                trend.add(toDailyMood(rollup));
+            }
+        }
+        if (!today.isBefore(from) && !today.isAfter(to)) {
+            DailyMoodAggregate aggregate = dailyMoodAggregator.forDay(today);
+            if (aggregate.getTotalCount() > 0) {
+                trend.add(toDailyMood(aggregate));
+            }
+        }
+        return trend;
+    }
+
+    // Read from the in-memory phrase counters, never from the comments
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<PhraseCountDTO> getTopPhrases(LocalDate day, MoodType mood, int limit) {
+        return phraseFrequencyIndex.getTopPhrases(day, mood, Math.max(1, Math.min(limit, phraseFrequencyIndex.getCapacity())));
+    }
+
+    // Distinct participants come from merging the daily sketches of the rollups, never from the submissions
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "moodtracker.mood.participation", description = "Time taken to estimate the participation of a date range")
+    public List<ParticipationDTO> getParticipation(LocalDate from, LocalDate to, ReportingPeriod period) {
+        Map<LocalDate, MoodDailyRollupDO> rollups = new HashMap<>();
+        rollupRepository.findByDayBetweenOrderByDay(from, to).forEach(rollup -> rollups.put(rollup.getDay(), rollup));
+
+        List<ParticipationDTO> participation = new ArrayList<>();
+        LocalDate start = from;
+        while (!start.isAfter(to)) {
+            LocalDate next = period == null ? to.plusDays(1) : period.next(period.start(start));
+            LocalDate end = next.isAfter(to) ? to : next.minusDays(1);
+            HyperLogLog participants = new HyperLogLog();
+            long[] moodCounts = new long[MoodType.values().length];
+            long submissionCount = 0;
+            for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+                MoodDailyRollupDO rollup = rollups.get(day);
+                if (rollup == null) {
+                    continue;
+                }
+                if (rollup.getParticipantSketch() != null) {
+                    participants.merge(HyperLogLog.fromBytes(rollup.getParticipantSketch()));
+                }
+                for (MoodType mood : MoodType.values()) {
+                    moodCounts[mood.ordinal()] += rollup.getCount(mood);
+                }
+                submissionCount += rollup.getSubmissionCount();
+            }
+            Map<MoodType, Double> moodShares = new EnumMap<>(MoodType.class);
+            for (MoodType mood : MoodType.values()) {
+                moodShares.put(mood, submissionCount == 0 ? 0.0 : (double) moodCounts[mood.ordinal()] / submissionCount);
+            }
+            participation.add(new ParticipationDTO(start, end, participants.estimate(), submissionCount, moodShares));
+            start = end.plusDays(1);
+        }
+        return participation;
+    }
+
+    // Rows go to the output as the cursor reads them, so neither the database result nor the export is held in memory
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "moodtracker.mood.export", description = "Time taken to export the submissions of a date range")
+    public void exportSubmissions(LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException {
+        SubmissionWriter writer = SubmissionWriter.of(format, out);
+        long exported = 0;
+        try (Stream<MoodSubmissionDO> submissions = moodRepository.streamSubmissions(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            Iterator<MoodSubmissionDO> iterator = submissions.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                exported++;
+            }
+        }
+        writer.finish();
+        LOG.info("Exported {} submissions from {} to {} as {}", exported, from, to, format);
+    }
+
+    private static DailyMoodDTO toDailyMood(MoodDailyRollupDO rollup) {
+        Map<MoodType, Long> moodCounts = new EnumMap<>(MoodType.class);
+        for (MoodType mood : MoodType.values()) {
+            moodCounts.put(mood, rollup.getCount(mood));
+        }
+        return new DailyMoodDTO(rollup.getDay(), rollup.getOverallMood(),
+                (double) rollup.getScoreSum() / rollup.getSubmissionCount(),
+                rollup.getSubmissionCount(), rollup.getCommentCount(), moodCounts);
+    }
+
+    private static DailyMoodDTO toDailyMood(DailyMoodAggregate aggregate) {
+        Map<MoodType, Long> moodCounts = new EnumMap<>(MoodType.class);
+        for (MoodType mood : MoodType.values()) {
+            moodCounts.put(mood, aggregate.getCount(mood));
+        }
+        return new DailyMoodDTO(aggregate.getDay(), aggregate.getOverallMood(),
+                (double) aggregate.getScoreSum() / aggregate.getTotalCount(),
+                aggregate.getTotalCount(), aggregate.getCommentCount(), moodCounts);
+    }
+
+    // The log store reports the unique key itself, the database through the constraint name
+    static boolean isDuplicateSubmission(DataIntegrityViolationException e) {
+        return e instanceof DuplicateKeyException || e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains(MoodSubmissionDO.USER_DAY_CONSTRAINT);
+    }
+
 }
@@ -1,11 +1,32 @@
 package com.fuel50.moodtracker.service;
 
+import com.fuel50.moodtracker.datatransferobject.CommentPageDTO;
+import com.fuel50.moodtracker.datatransferobject.DailyMoodDTO;
+import com.fuel50.moodtracker.datatransferobject.ParticipationDTO;
+import com.fuel50.moodtracker.datatransferobject.PhraseCountDTO;
 import com.fuel50.moodtracker.datatransferobject.TeamMoodDTO;
 import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.BatchItemStatus;
+import com.fuel50.moodtracker.domainvalue.ExportFormat;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import com.fuel50.moodtracker.domainvalue.MoodVersion;
+import com.fuel50.moodtracker.domainvalue.ReportingPeriod;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface MoodService {
      void submitMood(MoodSubmissionDO moodSubmission);
-     TeamMoodDTO getOverallMood();
+     List<BatchItemStatus> submitMoods(List<MoodSubmissionDO> moodSubmissions);
+     List<BatchItemStatus> importMoods(List<MoodSubmissionDO> moodSubmissions);
+     TeamMoodDTO getOverallMood(String teamId);
+     TeamMoodDTO getOverallMoodSummary(String teamId);
+     MoodVersion getOverallMoodVersion(String teamId);
+     CommentPageDTO getComments(String teamId, Long after, int limit);
+     List<DailyMoodDTO> getTrend(LocalDate from, LocalDate to);
+     List<PhraseCountDTO> getTopPhrases(LocalDate day, MoodType mood, int limit);
+     List<ParticipationDTO> getParticipation(LocalDate from, LocalDate to, ReportingPeriod period);
+     void exportSubmissions(LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException;
 }
@@ -0,0 +1,17 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+
+/**
+ * Published by the mood service once a submission has been stored.
+ * Listeners keeping in-memory views of the data should react to it after the transaction commits.
+ */
+public class MoodSubmittedEvent {
+    private final MoodSubmissionDO submission;
+
+    public MoodSubmittedEvent(MoodSubmissionDO submission) {
+        this.submission = submission;
+    }
+
+    public MoodSubmissionDO getSubmission() { return submission; }
+}
@@ -0,0 +1,304 @@
+package com.fuel50.moodtracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fuel50.moodtracker.datatransferobject.MoodUpdateDTO;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes team mood updates to Server-Sent Events subscribers once a submission is committed.
+ * Subscribers follow a single team and only receive the submissions of that team.
+ * <p>
+ * An update is serialized once and handed to every subscriber's bounded buffer, so the committing
+ * thread never writes to a socket. A small pool of dispatch threads drains the buffers. A subscriber
+ * whose buffer is full is too slow to keep up and is disconnected; browsers reconnect on their own
+ * and start again from a fresh snapshot. Periodic heartbeats flush out connections that went away.
+ * <p>
+ * A send to a client that stopped reading blocks its dispatch thread until the socket gives up. A send
+ * taking longer than {@code write-timeout} disconnects the subscriber and adds a dispatch thread in place
+ * of the blocked one, which leaves the pool again once its send returns, so one stuck client cannot
+ * hold up the updates of the others.
+ */
+@Component
+// Serialized by hand rather than through a controller signature, so native images need its binding registered
+@RegisterReflectionForBinding(MoodUpdateDTO.class)
+public class MoodUpdateBroadcaster {
+    private static final Logger LOG = LoggerFactory.getLogger(MoodUpdateBroadcaster.class);
+    private static final String HEARTBEAT = "";
+    static final String UPDATE_EVENT = "mood";
+
+    private final DailyMoodAggregator dailyMoodAggregator;
+    private final ObjectMapper objectMapper;
+    private final Executor dispatcher;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final long writeTimeoutNanos;
+    private final ConcurrentMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MoodUpdateBroadcaster(DailyMoodAggregator dailyMoodAggregator, ObjectMapper objectMapper,
+                                 @Value("${moodtracker.stream.buffer-size:32}") int bufferSize,
+                                 @Value("${moodtracker.stream.timeout:PT30M}") Duration timeout,
+                                 @Value("${moodtracker.stream.write-timeout:PT10S}") Duration writeTimeout,
+                                 @Value("${moodtracker.stream.dispatch-threads:4}") int dispatchThreads) {
+        this(dailyMoodAggregator, objectMapper, bufferSize, timeout, writeTimeout, new ThreadPoolExecutor(dispatchThreads,
+                dispatchThreads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), dispatchThreadFactory()));
+    }
+
+    MoodUpdateBroadcaster(DailyMoodAggregator dailyMoodAggregator, ObjectMapper objectMapper,
+                          int bufferSize, Duration timeout, Duration writeTimeout, Executor dispatcher) {
+        this.dailyMoodAggregator = dailyMoodAggregator;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.dispatcher = dispatcher;
+    }
+
+    private static ThreadFactory dispatchThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "mood-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Opens a new stream of a team, starting with a snapshot of today's team mood.
+     */
+    public SseEmitter subscribe(String teamId) {
+        return register(teamId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter register(String teamId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(teamId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        // compute rather than computeIfAbsent, so a removal emptying the team's set cannot drop the subscriber
+        subscribers.compute(teamId, (team, teamSubscribers) -> {
+            Set<Subscriber> added = teamSubscribers != null ? teamSubscribers : ConcurrentHashMap.<Subscriber>newKeySet();
+            added.add(subscriber);
+            return added;
+        });
+
+        DailyMoodAggregate aggregate = dailyMoodAggregator.forTeam(teamId, LocalDate.now());
+        deliver(subscriber, serialize(new MoodUpdateDTO(aggregate.getOverallMood(), aggregate.getTotalCount(),
+                aggregate.getCommentCount(), null, null)));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    int getTeamCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoodSubmitted(MoodSubmittedEvent event) {
+        MoodSubmissionDO submission = event.getSubmission();
+        LocalDate day = submission.getSubmissionDate().toLocalDate();
+        Set<Subscriber> teamSubscribers = subscribers.get(submission.getTeamId());
+        if (teamSubscribers == null || teamSubscribers.isEmpty() || !day.equals(LocalDate.now())) {
+            return;
+        }
+        DailyMoodAggregate aggregate = dailyMoodAggregator.forTeam(submission.getTeamId(), day);
+        String update = serialize(new MoodUpdateDTO(aggregate.getOverallMood(), aggregate.getTotalCount(),
+                aggregate.getCommentCount(), submission.getMood(), submission.getComment()));
+        for (Subscriber subscriber : teamSubscribers) {
+            deliver(subscriber, update);
+        }
+    }
+
+    // A comment line keeps proxies from closing idle streams and surfaces dead connections
+    @Scheduled(fixedDelayString = "${moodtracker.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Set<Subscriber> teamSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : teamSubscribers) {
+                deliver(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    // The blocked dispatch thread cannot be freed, its send only returns once the socket gives up, so the pool
+    // gets another one until then
+    @Scheduled(fixedDelay = 1000)
+    public void disconnectBlockedSubscribers() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> teamSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : teamSubscribers) {
+                if (subscriber.sendBlockedLongerThan(now, writeTimeoutNanos)) {
+                    LOG.debug("Disconnecting mood stream subscriber, blocked in a send for over {} ms",
+                            TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+                    remove(subscriber);
+                    resizeDispatcher(1);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.values().forEach(teamSubscribers -> teamSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void deliver(Subscriber subscriber, String update) {
+        if (!subscriber.offer(update)) {
+            LOG.debug("Disconnecting mood stream subscriber, {} updates behind", bufferSize);
+            evict(subscriber);
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    // Drops the team's set with its last subscriber, so teams nobody follows any more do not stay behind
+    private boolean remove(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(subscriber.teamId, (team, teamSubscribers) -> {
+            removed.set(teamSubscribers.remove(subscriber));
+            return teamSubscribers.isEmpty() ? null : teamSubscribers;
+        });
+        return removed.get();
+    }
+
+    private void resizeDispatcher(int delta) {
+        if (dispatcher instanceof ThreadPoolExecutor pool) {
+            synchronized (pool) {
+                // The core size may never exceed the maximum, so grow the maximum first and shrink it last
+                if (delta > 0) {
+                    pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+                    pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+                } else {
+                    pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+                    pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+                }
+            }
+        }
+    }
+
+    private String serialize(MoodUpdateDTO update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize mood update", e);
+        }
+    }
+
+    private final class Subscriber {
+        private static final int IDLE = 0;
+        private static final int SENDING = 1;
+        private static final int BLOCKED = 2;
+
+        private final String teamId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<String> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Whichever of the sending thread and the watchdog moves it out of SENDING owns the outcome of the send
+        private final AtomicInteger sendState = new AtomicInteger(IDLE);
+        private volatile long sendStarted;
+        private volatile boolean disconnected;
+
+        Subscriber(String teamId, SseEmitter emitter) {
+            this.teamId = teamId;
+            this.emitter = emitter;
+        }
+
+        boolean offer(String update) {
+            if (!buffer.offer(update)) {
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+            return true;
+        }
+
+        boolean sendBlockedLongerThan(long now, long timeoutNanos) {
+            return sendState.get() == SENDING && now - sendStarted > timeoutNanos
+                    && sendState.compareAndSet(SENDING, BLOCKED);
+        }
+
+        private void drain() {
+            boolean blocked = false;
+            try {
+                String update;
+                while (!disconnected && (update = buffer.poll()) != null) {
+                    blocked = !send(update);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the stream already completed
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (blocked) {
+                // Completed only now, the emitter holds its lock for as long as a send is blocked
+                emitter.complete();
+                return;
+            }
+            if (disconnected) {
+                return;
+            }
+            // An update may have arrived after the last poll but before the flag was cleared
+            if (!buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        // False when the watchdog disconnected the subscriber while the send was blocked
+        private boolean send(String update) throws IOException {
+            sendStarted = System.nanoTime();
+            sendState.set(SENDING);
+            try {
+                emitter.send(HEARTBEAT.equals(update)
+                        ? SseEmitter.event().comment("heartbeat")
+                        : SseEmitter.event().name(UPDATE_EVENT).data(update));
+            } finally {
+                if (!sendState.compareAndSet(SENDING, IDLE)) {
+                    disconnected = true;
+                    resizeDispatcher(-1);
+                }
+            }
+            return !disconnected;
+        }
+    }
+}
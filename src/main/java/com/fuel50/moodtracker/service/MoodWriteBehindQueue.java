@@ -0,0 +1,234 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.config.GlobalExceptionHandler;
+import com.fuel50.moodtracker.dataaccessobject.MoodStore;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind mode for mood submissions. Accepted submissions are put on a bounded
+ * in-memory queue and a single background writer stores them in batches, one transaction per batch,
+ * so request latency no longer depends on the database commit.
+ * <p>
+ * Durability policy:
+ * <ul>
+ *     <li>a batch is written as soon as it holds {@code max-batch} submissions, or after {@code flush-interval}</li>
+ *     <li>when the database fails the batch is retried with a growing pause; the queue fills up meanwhile
+ *     and new submissions are rejected instead of being accepted and lost</li>
+ *     <li>on shutdown the queue is drained for at most {@code shutdown-timeout}</li>
+ *     <li>submissions still queued when the process dies are lost</li>
+ * </ul>
+ * Submissions rejected by the unique (user, day) index, made through another instance in the meantime,
+ * are dropped with a warning. Submissions the database rejects for any other reason are dropped too, since
+ * retrying them cannot succeed, but logged as an error and counted on {@code moodtracker.mood.rejected}.
+ */
+@Component
+public class MoodWriteBehindQueue implements SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(MoodWriteBehindQueue.class);
+    private static final Duration MAX_RETRY_PAUSE = Duration.ofSeconds(5);
+
+    private final MoodStore moodRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final Duration flushInterval;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<MoodSubmissionDO> queue;
+    private final Counter invalidRejections;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public MoodWriteBehindQueue(MoodStore moodRepository, ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                @Value("${moodtracker.ingest.write-behind.enabled:false}") boolean enabled,
+                                @Value("${moodtracker.ingest.write-behind.capacity:10000}") int capacity,
+                                @Value("${moodtracker.ingest.write-behind.max-batch:500}") int maxBatch,
+                                @Value("${moodtracker.ingest.write-behind.flush-interval:PT0.2S}") Duration flushInterval,
+                                @Value("${moodtracker.ingest.write-behind.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this.moodRepository = moodRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.flushInterval = flushInterval;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.invalidRejections = Counter.builder(GlobalExceptionHandler.REJECTED_SUBMISSIONS_METRIC)
+                .description("Requests rejected by the mood API")
+                .tag("reason", "queued_invalid")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return false if the queue is full and the submission was not accepted
+     */
+    public boolean offer(MoodSubmissionDO moodSubmission) {
+        return queue.offer(moodSubmission);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "mood-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+        LOG.info("Write-behind mood ingestion started (capacity {}, max batch {}, flush interval {})",
+                queue.remainingCapacity(), maxBatch, flushInterval);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            LOG.error("{} queued mood submissions could not be stored before shutdown", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before and stop after the web server (DEFAULT_PHASE - 2048), so requests still being handled can
+    // enqueue before the final flush; sharing its phase would leave the order between the two undefined
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 3072;
+    }
+
+    /**
+     * Drains and stores everything currently queued. Used by the writer and on shutdown.
+     */
+    public void flush() {
+        List<MoodSubmissionDO> batch = new ArrayList<>(maxBatch);
+        while (queue.drainTo(batch, maxBatch) > 0) {
+            writeWithRetry(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeLoop() {
+        List<MoodSubmissionDO> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                MoodSubmissionDO first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Give the batch up to one flush interval to fill up
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    MoodSubmissionDO next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Interrupted by stop(), write what was collected and let the final flush take care of the rest
+            }
+            if (!batch.isEmpty()) {
+                writeWithRetry(batch);
+                batch.clear();
+            }
+        }
+        Thread.interrupted();
+        flush();
+    }
+
+    private void writeWithRetry(List<MoodSubmissionDO> batch) {
+        Duration pause = flushInterval;
+        long shutdownDeadline = 0;
+        while (true) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    if (shutdownDeadline == 0) {
+                        shutdownDeadline = System.nanoTime() + shutdownTimeout.toNanos();
+                    } else if (System.nanoTime() > shutdownDeadline) {
+                        LOG.error("Dropping {} mood submissions that could not be stored before shutdown", batch.size(), e);
+                        return;
+                    }
+                }
+                LOG.error("Could not store {} queued mood submissions, retrying in {}", batch.size(), pause, e);
+                try {
+                    Thread.sleep(pause.toMillis());
+                } catch (InterruptedException interrupted) {
+                    // stop() interrupts the writer, keep retrying within the shutdown timeout
+                }
+                pause = pause.multipliedBy(2).compareTo(MAX_RETRY_PAUSE) > 0 ? MAX_RETRY_PAUSE : pause.multipliedBy(2);
+            }
+        }
+    }
+
+    private void write(List<MoodSubmissionDO> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                moodRepository.saveAllAndFlush(batch);
+                batch.forEach(moodSubmission -> eventPublisher.publishEvent(new MoodSubmittedEvent(moodSubmission)));
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Someone in the batch submitted through another instance, or one of them is invalid; store the others one by one
+            batch.forEach(moodSubmission -> moodSubmission.setId(null));
+            for (MoodSubmissionDO moodSubmission : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        moodRepository.saveAndFlush(moodSubmission);
+                        eventPublisher.publishEvent(new MoodSubmittedEvent(moodSubmission));
+                    });
+                } catch (DataIntegrityViolationException rejected) {
+                    if (DefaultMoodService.isDuplicateSubmission(rejected)) {
+                        LOG.warn("Dropping queued mood submission of user {}: {}", moodSubmission.getUserId(), rejected.getMessage());
+                    } else {
+                        invalidRejections.increment();
+                        LOG.error("Dropping queued mood submission of user {} rejected by the database", moodSubmission.getUserId(), rejected);
+                    }
+                }
+            }
+        }
+    }
+}
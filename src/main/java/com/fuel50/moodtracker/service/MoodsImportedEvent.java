@@ -0,0 +1,18 @@
+package com.fuel50.moodtracker.service;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Published by the mood service once a batch of imported submissions dated before today has been stored.
+ * Those submissions get no {@link MoodSubmittedEvent} each, views of past days should reload the days instead.
+ */
+public class MoodsImportedEvent {
+    private final Set<LocalDate> days;
+
+    public MoodsImportedEvent(Set<LocalDate> days) {
+        this.days = days;
+    }
+
+    public Set<LocalDate> getDays() { return days; }
+}
@@ -0,0 +1,63 @@
+package com.fuel50.moodtracker.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Finds the most frequent phrases of a stream in bounded memory: a {@link CountMinSketch} estimates
+ * the count of every phrase, and only the {@code capacity} phrases with the highest estimates are
+ * remembered, in a set ordered by count so the least frequent one is replaced first. A phrase that
+ * becomes frequent later still gets in, since its estimate includes the occurrences seen before.
+ * Not thread-safe.
+ */
+final class PhraseCounter {
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 4096;
+    private static final Comparator<Map.Entry<String, Integer>> BY_COUNT =
+            Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.<String, Integer>comparingByKey().reversed());
+
+    private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+    private final int capacity;
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final NavigableSet<Map.Entry<String, Integer>> byCount = new TreeSet<>(BY_COUNT);
+
+    PhraseCounter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void add(String phrase) {
+        int estimate = sketch.add(phrase);
+        Integer current = counts.get(phrase);
+        if (current != null) {
+            byCount.remove(Map.entry(phrase, current));
+        } else if (counts.size() == capacity) {
+            Map.Entry<String, Integer> least = byCount.first();
+            if (least.getValue() >= estimate) {
+                return;
+            }
+            byCount.pollFirst();
+            counts.remove(least.getKey());
+        }
+        counts.put(phrase, estimate);
+        byCount.add(Map.entry(phrase, estimate));
+    }
+
+    /**
+     * @return up to {@code limit} phrases with their estimated counts, most frequent first, then alphabetically
+     */
+    List<Map.Entry<String, Integer>> top(int limit) {
+        List<Map.Entry<String, Integer>> top = new ArrayList<>(Math.min(limit, byCount.size()));
+        for (Map.Entry<String, Integer> entry : byCount.descendingSet()) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(entry);
+        }
+        return top;
+    }
+}
@@ -0,0 +1,134 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.MoodStore;
+import com.fuel50.moodtracker.dataaccessobject.TeamCommentView;
+import com.fuel50.moodtracker.datatransferobject.PhraseCountDTO;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Counts the phrases of the comments of the last few days, overall and per mood, so the most frequent
+ * ones can be listed without reading the comments. Each day and mood has a {@link PhraseCounter} of
+ * fixed size, so memory does not grow with the number of comments.
+ * <p>
+ * Counters are updated as submissions are committed; on startup the days kept are rebuilt from the
+ * stored comments. Like the other in-memory views, comments submitted through other instances are
+ * only counted by those instances until the next restart.
+ */
+@Component
+public class PhraseFrequencyIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(PhraseFrequencyIndex.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final MoodStore moodRepository;
+    private final int days;
+    private final int capacity;
+    private final ConcurrentMap<LocalDate, DayPhrases> index = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PhraseFrequencyIndex(MoodStore moodRepository,
+                                @Value("${moodtracker.phrases.days:7}") int days,
+                                @Value("${moodtracker.phrases.capacity:200}") int capacity) {
+        this.moodRepository = moodRepository;
+        this.days = days;
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param mood only count the comments of submissions with this mood, or all of them when null
+     * @return the most frequent phrases of the day, an empty list for days that are not kept
+     */
+    public List<PhraseCountDTO> getTopPhrases(LocalDate day, MoodType mood, int limit) {
+        DayPhrases phrases = index.get(day);
+        if (phrases == null) {
+            return List.of();
+        }
+        synchronized (phrases) {
+            PhraseCounter counter = mood == null ? phrases.all : phrases.byMood.get(mood);
+            return counter.top(limit).stream()
+                    .map(entry -> new PhraseCountDTO(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoodSubmitted(MoodSubmittedEvent event) {
+        MoodSubmissionDO submission = event.getSubmission();
+        if (submission.getComment() == null) {
+            return;
+        }
+        LocalDate day = submission.getSubmissionDate().toLocalDate();
+        if (!isKept(day)) {
+            return;
+        }
+        add(index.computeIfAbsent(day, d -> new DayPhrases(capacity)), submission.getMood(), submission.getComment());
+        index.keySet().removeIf(kept -> !isKept(kept));
+    }
+
+    // The counters are in place before the comments are read, so submissions committed meanwhile are counted
+    // too; the few committed just before the read of their day may be counted twice, the counts are estimates anyway
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = today.minusDays(days - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+            DayPhrases phrases = index.computeIfAbsent(day, d -> new DayPhrases(capacity));
+            long afterId = 0;
+            List<TeamCommentView> page;
+            do {
+                page = moodRepository.findTeamCommentsAfter(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), afterId, Limit.of(LOAD_PAGE_SIZE));
+                for (TeamCommentView comment : page) {
+                    add(phrases, comment.getMood(), comment.getComment());
+                    afterId = comment.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+        }
+        LOG.debug("Rebuilt phrase counts of the last {} days", days);
+    }
+
+    private boolean isKept(LocalDate day) {
+        LocalDate today = LocalDate.now();
+        return !day.isAfter(today) && day.isAfter(today.minusDays(days));
+    }
+
+    private static void add(DayPhrases phrases, MoodType mood, String comment) {
+        synchronized (phrases) {
+            for (String phrase : PhraseTokenizer.phrases(comment)) {
+                phrases.all.add(phrase);
+                phrases.byMood.get(mood).add(phrase);
+            }
+        }
+    }
+
+    private static final class DayPhrases {
+        private final PhraseCounter all;
+        private final Map<MoodType, PhraseCounter> byMood = new EnumMap<>(MoodType.class);
+
+        DayPhrases(int capacity) {
+            all = new PhraseCounter(capacity);
+            for (MoodType mood : MoodType.values()) {
+                byMood.put(mood, new PhraseCounter(capacity));
+            }
+        }
+    }
+}
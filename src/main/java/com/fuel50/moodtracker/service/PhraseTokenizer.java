@@ -0,0 +1,72 @@
+package com.fuel50.moodtracker.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a comment into the phrases counted by the {@link PhraseFrequencyIndex}: single words and
+ * runs of up to {@value #MAX_PHRASE_WORDS} words, lower-cased. Phrases starting or ending with a
+ * stop word ("the", "and", ...) say little and are left out, as are single letters.
+ */
+final class PhraseTokenizer {
+    static final int MAX_PHRASE_WORDS = 3;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}']+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "about", "after", "all", "am", "an", "and", "any", "are", "as", "at", "be", "been", "but", "by",
+            "can", "could", "did", "do", "does", "for", "from", "had", "has", "have", "he", "her", "him", "his",
+            "how", "i", "i'm", "if", "in", "into", "is", "it", "it's", "its", "just", "me", "my", "no", "not", "of",
+            "on", "or", "our", "out", "so", "some", "than", "that", "the", "their", "them", "then", "there",
+            "they", "this", "to", "too", "up", "us", "very", "was", "we", "were", "what", "when", "which", "who",
+            "will", "with", "would", "you", "your");
+
+    private PhraseTokenizer() {
+    }
+
+    /**
+     * @return the distinct phrases of the comment, so a phrase repeated within one comment counts once
+     */
+    static Set<String> phrases(String comment) {
+        List<String> words = new ArrayList<>();
+        for (String token : WORD_SEPARATOR.split(comment.toLowerCase(Locale.ROOT))) {
+            String word = stripApostrophes(token);
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        Set<String> phrases = new LinkedHashSet<>();
+        for (int start = 0; start < words.size(); start++) {
+            if (!isContentWord(words.get(start))) {
+                continue;
+            }
+            StringBuilder phrase = new StringBuilder(words.get(start));
+            phrases.add(phrase.toString());
+            for (int end = start + 1; end < Math.min(words.size(), start + MAX_PHRASE_WORDS); end++) {
+                phrase.append(' ').append(words.get(end));
+                if (isContentWord(words.get(end))) {
+                    phrases.add(phrase.toString());
+                }
+            }
+        }
+        return phrases;
+    }
+
+    private static boolean isContentWord(String word) {
+        return word.length() > 1 && !STOP_WORDS.contains(word);
+    }
+
+    private static String stripApostrophes(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && token.charAt(start) == '\'') {
+            start++;
+        }
+        while (end > start && token.charAt(end - 1) == '\'') {
+            end--;
+        }
+        return token.substring(start, end);
+    }
+}
@@ -0,0 +1,75 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills in the day bucket of submissions stored before the column existed, so the
+ * one-submission-per-day index also covers them. Does nothing once every row has a day.
+ * When a user submitted more than once on a day, only the first of those submissions can have the day;
+ * the others are left without one, and the queries still find them by their date.
+ * Submissions stored before teams existed are moved to the default team the same way.
+ */
+@Component
+@ConditionalOnProperty(name = "moodtracker.store.type", havingValue = "jpa", matchIfMissing = true)
+public class SubmissionDayBackfill {
+    private static final Logger LOG = LoggerFactory.getLogger(SubmissionDayBackfill.class);
+    static final int PAGE_SIZE = 1_000;
+
+    private final MoodRepository moodRepository;
+
+    public SubmissionDayBackfill(MoodRepository moodRepository) {
+        this.moodRepository = moodRepository;
+    }
+
+    // Runs before the other startup jobs, which group submissions by their day
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        try {
+            int updated = moodRepository.backfillSubmissionDay();
+            if (updated > 0) {
+                LOG.info("Backfilled the submission day of {} mood submissions", updated);
+            }
+        } catch (DataIntegrityViolationException e) {
+            LOG.warn("Some users submitted more than once on the same day, backfilling submission days one by one");
+            backfillOneByOne();
+        }
+        int moved = moodRepository.backfillTeamId(MoodSubmissionDO.DEFAULT_TEAM);
+        if (moved > 0) {
+            LOG.info("Moved {} mood submissions without a team to the {} team", moved, MoodSubmissionDO.DEFAULT_TEAM);
+        }
+    }
+
+    private void backfillOneByOne() {
+        int updated = 0;
+        int duplicates = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = moodRepository.findIdsWithoutSubmissionDay(afterId, Limit.of(PAGE_SIZE));
+            for (long id : ids) {
+                try {
+                    updated += moodRepository.backfillSubmissionDay(id);
+                } catch (DataIntegrityViolationException e) {
+                    duplicates++;
+                }
+                afterId = id;
+            }
+        } while (ids.size() == PAGE_SIZE);
+        LOG.info("Backfilled the submission day of {} mood submissions, {} repeated submissions of a day are left without one",
+                updated, duplicates);
+    }
+}
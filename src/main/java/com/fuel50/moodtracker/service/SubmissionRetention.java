@@ -0,0 +1,119 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.DailyMoodCount;
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.dataaccessobject.SubmissionPartitions;
+import com.fuel50.moodtracker.domainvalue.ExportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the submissions table to the current month and the {@code keep-months} before it. Once a
+ * month expires its days are rolled up again, so the trend and participation reports keep covering
+ * it, its submissions are written to {@code mood_submission-<month>.ndjson.gz} in the archive
+ * directory, in the format the import endpoint reads back, and then removed: by dropping the month's
+ * partition when the table is partitioned, otherwise with a delete.
+ * <p>
+ * Enabled with {@code moodtracker.retention.enabled=true}, for the database store only. A month is
+ * only removed once its archive is complete, a failed run is retried the next day.
+ */
+@Component
+@ConditionalOnExpression("${moodtracker.retention.enabled:false} and '${moodtracker.store.type:jpa}' == 'jpa'")
+public class SubmissionRetention {
+    private static final Logger LOG = LoggerFactory.getLogger(SubmissionRetention.class);
+
+    private final MoodRepository moodRepository;
+    private final MoodService moodService;
+    private final DailyMoodRollup dailyMoodRollup;
+    private final SubmissionPartitions partitions;
+    private final int keepMonths;
+    private final Path archivePath;
+
+    public SubmissionRetention(MoodRepository moodRepository, MoodService moodService, DailyMoodRollup dailyMoodRollup,
+                               SubmissionPartitions partitions,
+                               @Value("${moodtracker.retention.keep-months:24}") int keepMonths,
+                               @Value("${moodtracker.retention.archive-path:}") String archivePath) {
+        if (keepMonths < 1) {
+            throw new IllegalArgumentException("moodtracker.retention.keep-months must be at least 1");
+        }
+        this.moodRepository = moodRepository;
+        this.moodService = moodService;
+        this.dailyMoodRollup = dailyMoodRollup;
+        this.partitions = partitions;
+        this.keepMonths = keepMonths;
+        this.archivePath = archivePath.isBlank() ? null : Path.of(archivePath);
+    }
+
+    @Scheduled(cron = "${moodtracker.retention.cron:0 30 2 * * *}")
+    public void expire() {
+        expire(YearMonth.now());
+    }
+
+    void expire(YearMonth currentMonth) {
+        YearMonth firstKept = currentMonth.minusMonths(keepMonths);
+        LocalDateTime firstSubmission = moodRepository.findFirstSubmissionDate();
+        try {
+            if (firstSubmission != null) {
+                for (YearMonth month = YearMonth.from(firstSubmission); month.isBefore(firstKept); month = month.plusMonths(1)) {
+                    expire(month, partitions.isPartitioned());
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not archive expired mood submissions, will retry", e);
+            return;
+        }
+        // Empty months before the first submission still have a partition
+        if (partitions.isPartitioned()) {
+            partitions.dropBefore(firstKept);
+        }
+    }
+
+    private void expire(YearMonth month, boolean partitioned) throws IOException {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        List<DailyMoodCount> counts = moodRepository.countDailyMoods(from, to);
+        List<Long> days = counts.stream()
+                .map(DailyMoodCount::getDay)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        days.forEach(day -> dailyMoodRollup.rollUp(LocalDate.ofEpochDay(day)));
+        // Counts without a day are repeated legacy submissions, archived and removed with the rest of the month
+        if (archivePath != null && !counts.isEmpty()) {
+            archive(month);
+        }
+        if (partitioned) {
+            partitions.dropBefore(month.plusMonths(1));
+        } else if (!counts.isEmpty()) {
+            moodRepository.deleteSubmissions(from, to);
+        }
+        LOG.info("Expired the mood submissions of {}, {} days rolled up", month, days.size());
+    }
+
+    // Written next to the archive and moved into place, so an archive that exists is complete
+    private void archive(YearMonth month) throws IOException {
+        Files.createDirectories(archivePath);
+        Path archive = archivePath.resolve("mood_submission-" + month + ".ndjson.gz");
+        Path partial = archivePath.resolve(archive.getFileName() + ".part");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial))) {
+            moodService.exportSubmissions(month.atDay(1), month.atEndOfMonth(), ExportFormat.NDJSON, out);
+        }
+        Files.move(partial, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
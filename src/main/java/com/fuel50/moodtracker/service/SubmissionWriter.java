@@ -0,0 +1,142 @@
+package com.fuel50.moodtracker.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes exported submissions one line each, through a buffer of {@value #BUFFER_SIZE} characters
+ * that is passed on to the output whenever it fills up. Nothing is kept per submission.
+ */
+abstract class SubmissionWriter {
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final String[] COLUMNS = {"id", "submissionDate", "userId", "teamId", "mood", "comment"};
+
+    protected final Writer writer;
+
+    private SubmissionWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static SubmissionWriter of(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(out);
+            case NDJSON -> new Ndjson(out);
+        };
+    }
+
+    abstract void write(MoodSubmissionDO submission) throws IOException;
+
+    /**
+     * Writes out what is still buffered, the output itself is left open.
+     */
+    void finish() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * RFC 4180: a header line, then values quoted when they contain a comma, a quote or a line break.
+     * Values a spreadsheet would read as a formula are prefixed with a single quote, so they open as text.
+     */
+    private static final class Csv extends SubmissionWriter {
+
+        private Csv(OutputStream out) throws IOException {
+            super(out);
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+            // Sent straight away, so the client sees the download start before the first rows are read
+            writer.flush();
+        }
+
+        @Override
+        void write(MoodSubmissionDO submission) throws IOException {
+            writer.write(String.valueOf(submission.getId()));
+            writer.write(',');
+            writer.write(submission.getSubmissionDate().toString());
+            writer.write(',');
+            writeValue(submission.getUserId());
+            writer.write(',');
+            writeValue(submission.getTeamId());
+            writer.write(',');
+            writer.write(submission.getMood().name());
+            writer.write(',');
+            writeValue(submission.getComment());
+            writer.write("\r\n");
+        }
+
+        private void writeValue(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (isFormula(value)) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private static boolean isFormula(String value) {
+            if (value.isEmpty()) {
+                return false;
+            }
+            char first = value.charAt(0);
+            return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        }
+    }
+
+    /**
+     * One JSON object per line, with the CSV columns as fields; a missing comment is left out.
+     */
+    private static final class Ndjson extends SubmissionWriter {
+        private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .disable(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)
+                .build();
+
+        private final JsonGenerator generator;
+
+        private Ndjson(OutputStream out) throws IOException {
+            super(out);
+            generator = JSON_FACTORY.createGenerator(writer);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        void write(MoodSubmissionDO submission) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], submission.getId());
+            generator.writeStringField(COLUMNS[1], submission.getSubmissionDate().toString());
+            generator.writeStringField(COLUMNS[2], submission.getUserId());
+            generator.writeStringField(COLUMNS[3], submission.getTeamId());
+            generator.writeStringField(COLUMNS[4], submission.getMood().name());
+            if (submission.getComment() != null) {
+                generator.writeStringField(COLUMNS[5], submission.getComment());
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.flush();
+            if (generator.getOutputContext().getEntryCount() > 0) {
+                writer.write('\n');
+            }
+            super.finish();
+        }
+    }
+}
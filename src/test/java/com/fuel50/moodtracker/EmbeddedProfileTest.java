@@ -0,0 +1,49 @@
+package com.fuel50.moodtracker;
+
+import com.fuel50.moodtracker.dataaccessobject.MoodLogStore;
+import com.fuel50.moodtracker.dataaccessobject.MoodStore;
+import com.fuel50.moodtracker.dataaccessobject.MoodSubmissionSequenceAligner;
+import com.fuel50.moodtracker.dataaccessobject.SubmissionPartitions;
+import com.fuel50.moodtracker.service.SubmissionDayBackfill;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("embedded")
+class EmbeddedProfileTest {
+
+    @TempDir
+    static Path dataDir;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MoodStore moodStore;
+
+    @DynamicPropertySource
+    static void dataFiles(DynamicPropertyRegistry registry) {
+        registry.add("moodtracker.store.log.path", () -> dataDir.resolve("moods.log").toString());
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + dataDir.resolve("moodtracker") + ";MODE=MySQL");
+    }
+
+    @Test
+    void testContextLoads_WithoutDatabaseServer() {
+        // Assert
+        assertInstanceOf(MoodLogStore.class, moodStore);
+        assertTrue(context.getBeansOfType(SubmissionDayBackfill.class).isEmpty());
+        assertTrue(context.getBeansOfType(MoodSubmissionSequenceAligner.class).isEmpty());
+        assertTrue(context.getBeansOfType(SubmissionPartitions.class).isEmpty());
+    }
+}
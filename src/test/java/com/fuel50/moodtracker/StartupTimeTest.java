@@ -0,0 +1,146 @@
+package com.fuel50.moodtracker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Measures the time from starting the application process to the first successful
+ * {@code GET /api/mood/overall}, over a few runs, and records the runs and their median in
+ * {@code target/startup-time.json}.
+ * <p>
+ * Only runs on request. By default the application runs from the compiled classes on the in-memory test database:
+ * <pre>
+ * mvn test -Dtest=StartupTimeTest -Dstartup=true
+ * mvn -Paot package -DskipTests && mvn test -Dtest=StartupTimeTest -Dstartup=true -Dstartup.jvmArgs=-Dspring.aot.enabled=true
+ * </pre>
+ * {@code startup.command} measures a packaged build instead, started from the project directory against the
+ * database from application.properties, e.g. {@code -Dstartup.command=target/MoodTracker} for the native image or
+ * {@code "-Dstartup.command=java -XX:SharedArchiveFile=target/application/application.jsa -jar target/application/MoodTracker-0.0.1-SNAPSHOT.jar"}
+ * for the class data sharing archive. {@code startup.runs} and {@code startup.timeout} tune the runs, and
+ * {@code startup.maxMillis} fails the test when the median is slower.
+ */
+@EnabledIfSystemProperty(named = "startup", matches = "true")
+public class StartupTimeTest {
+
+    private static final String COMMAND = System.getProperty("startup.command", "");
+    private static final String JVM_ARGS = System.getProperty("startup.jvmArgs", "");
+    private static final String PROFILES = System.getProperty("startup.profiles", COMMAND.isBlank() ? "test" : "default");
+    private static final int RUNS = Integer.getInteger("startup.runs", 3);
+    private static final Duration TIMEOUT = Duration.parse(System.getProperty("startup.timeout", "PT2M"));
+    private static final long MAX_MILLIS = Long.getLong("startup.maxMillis", Long.MAX_VALUE);
+    private static final Path REPORT = Path.of("target", "startup-time.json");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void testTimeToFirstOverallMood() throws Exception {
+        // Arrange
+        List<String> command = command();
+
+        // Act
+        List<Long> runs = new ArrayList<>();
+        for (int run = 1; run <= RUNS; run++) {
+            runs.add(timeToFirstOverallMood(command, run));
+        }
+
+        // Assert
+        long median = runs.stream().sorted().toList().get(runs.size() / 2);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("command", COMMAND.isBlank() ? "java " + JVM_ARGS + " " + MoodTrackerApplication.class.getName() : COMMAND);
+        report.put("profiles", PROFILES);
+        report.put("runsMillis", runs);
+        report.put("medianMillis", median);
+        Files.createDirectories(REPORT.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), report);
+        System.out.printf("%nTime to first /api/mood/overall: median %d ms of %s, profiles: %s%n", median, runs, PROFILES);
+        assertTrue(median <= MAX_MILLIS, "Median startup of " + median + " ms should be at most " + MAX_MILLIS + " ms");
+    }
+
+    private long timeToFirstOverallMood(List<String> command, int run) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.addAll(List.of("--server.port=" + port,
+                "--spring.profiles.active=" + PROFILES,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.fuel50.moodtracker=INFO",
+                "--logging.level.org.hibernate.SQL=INFO",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/mood/overall"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        File log = new File("target", "startup-time-" + run + ".log");
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(arguments).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    fail("The application exited with " + process.exitValue() + " before answering, see " + log);
+                }
+                if (isOk(request)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                }
+                Thread.sleep(10);
+            }
+            return fail("The application did not answer within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private boolean isOk(HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // Not listening yet, or accepted but not answered while the server is still starting
+            return false;
+        }
+    }
+
+    // The application from the classes this test runs with, in a JVM of its own so its startup is measured cold
+    private static List<String> command() {
+        if (!COMMAND.isBlank()) {
+            return Arrays.asList(COMMAND.trim().split("\\s+"));
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!JVM_ARGS.isBlank()) {
+            command.addAll(Arrays.asList(JVM_ARGS.trim().split("\\s+")));
+        }
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), MoodTrackerApplication.class.getName()));
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
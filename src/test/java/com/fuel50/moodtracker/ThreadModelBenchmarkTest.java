@@ -0,0 +1,181 @@
+package com.fuel50.moodtracker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares throughput and p99 latency of the platform thread pool and the virtual-thread mode under
+ * the same load: a fixed number of clients, each submitting a mood and reading the overall mood in a loop.
+ * <p>
+ * Only runs on request, on Java 21:
+ * <pre>
+ * mvn -Pjava21 test -Dtest=ThreadModelBenchmarkTest -Dbenchmark=true
+ * </pre>
+ * By default the application runs on the in-memory test database, where queries hardly block.
+ * Use {@code -Dbenchmark.profiles=default} to run against the MySQL database from application.properties.
+ * {@code benchmark.concurrency}, {@code benchmark.warmup} and {@code benchmark.duration} tune the load.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class ThreadModelBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 500);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("benchmark.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT20S"));
+    private static final String PROFILES = System.getProperty("benchmark.profiles", "test");
+
+    @Test
+    void testCompareThreadModels() throws Exception {
+        // Act
+        Result platformThreads = run(false);
+        Result virtualThreads = run(true);
+
+        // Assert
+        System.out.printf("%n%d clients, %s measured after %s warmup, profiles: %s%n", CONCURRENCY, DURATION, WARMUP, PROFILES);
+        System.out.printf("%-16s %12s %10s %10s %8s%n", "mode", "requests/s", "p50 (ms)", "p99 (ms)", "errors");
+        System.out.println(platformThreads.format("platform"));
+        System.out.println(virtualThreads.format("virtual"));
+        assertTrue(platformThreads.requests > 0, "Platform thread run should complete requests");
+        assertTrue(virtualThreads.requests > 0, "Virtual thread run should complete requests");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MoodTrackerApplication.class)
+                .profiles(PROFILES.split(","))
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.fuel50.moodtracker=INFO",
+                        "logging.level.org.hibernate.SQL=INFO",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO")
+                // All clients share one address, which the rate limits would treat as a single client;
+                // an argument, as application.properties overrides the default properties above
+                .run("--moodtracker.rate-limit.enabled=false")) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return load(URI.create("http://localhost:" + port + "/api/mood"));
+        }
+    }
+
+    private Result load(URI baseUri) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + DURATION.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(clients.submit(() -> {
+                LatencyLog latencies = new LatencyLog();
+                while (System.nanoTime() < measureUntil) {
+                    HttpRequest submit = HttpRequest.newBuilder(baseUri)
+                            .header("Content-Type", "application/json")
+                            .header("X-User-Id", UUID.randomUUID().toString())
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"mood\":\"HAPPY\",\"comment\":\"Benchmark\"}"))
+                            .build();
+                    HttpRequest overall = HttpRequest.newBuilder(baseUri.resolve("/api/mood/overall?includeComments=false"))
+                            .GET()
+                            .build();
+                    for (HttpRequest request : List.of(submit, overall)) {
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        long end = System.nanoTime();
+                        if (start >= measureFrom && end <= measureUntil) {
+                            if (status >= 400 || status < 0) {
+                                errors.incrementAndGet();
+                            } else {
+                                latencies.add(end - start);
+                            }
+                        }
+                    }
+                }
+                return latencies.toArray();
+            }));
+        }
+
+        List<long[]> perClient = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            perClient.add(future.get());
+        }
+        clients.shutdown();
+        return new Result(merge(perClient), errors.get());
+    }
+
+    private static long[] merge(List<long[]> perClient) {
+        long[] all = new long[perClient.stream().mapToInt(latencies -> latencies.length).sum()];
+        int offset = 0;
+        for (long[] latencies : perClient) {
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static class LatencyLog {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static class Result {
+        private final long[] sortedLatencies;
+        private final long requests;
+        private final long errors;
+
+        Result(long[] sortedLatencies, long errors) {
+            this.sortedLatencies = sortedLatencies;
+            this.requests = sortedLatencies.length;
+            this.errors = errors;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        String format(String mode) {
+            double throughput = requests / (DURATION.toNanos() / 1_000_000_000.0);
+            return String.format("%-16s %12.0f %10.2f %10.2f %8d", mode, throughput,
+                    percentileMillis(0.50), percentileMillis(0.99), errors);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.fuel50.moodtracker.config;
+
+import com.fuel50.moodtracker.service.DailyMoodAggregator;
+import com.fuel50.moodtracker.service.MoodService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+// The replica is the test database itself, its connections are told apart by a session variable
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "moodtracker.datasource.replica.jdbc-url=jdbc:h2:mem:testdb",
+        "moodtracker.datasource.replica.maximum-pool-size=2",
+        "moodtracker.datasource.replica.connection-init-sql=SET @POOL = 'replica'"
+})
+public class DataSourceConfigTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MoodService moodService;
+
+    @MockitoSpyBean
+    private DailyMoodAggregator dailyMoodAggregator;
+
+    private Object poolOf(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> entityManager.createNativeQuery("select @POOL").getSingleResult());
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        // Act & Assert
+        assertEquals("replica", poolOf(true));
+        assertNull(poolOf(false), "Read-write transactions should stay on the primary");
+    }
+
+    @Test
+    void testOverallMoodIsReadOnly() {
+        // Arrange
+        List<Boolean> readOnly = new ArrayList<>();
+        doAnswer(invocation -> {
+            readOnly.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return invocation.callRealMethod();
+        }).when(dailyMoodAggregator).forTeam(any(), any(LocalDate.class));
+
+        // Act
+        moodService.getOverallMood("platform");
+        moodService.getOverallMoodSummary("platform");
+
+        // Assert
+        assertEquals(List.of(true, true), readOnly);
+    }
+}
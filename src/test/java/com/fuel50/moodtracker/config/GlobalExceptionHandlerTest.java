@@ -1,10 +1,13 @@
 package com.fuel50.moodtracker.config;
 
 import com.fuel50.moodtracker.exception.DuplicateMoodSubmissionException;
+import com.fuel50.moodtracker.exception.SubmissionQueueFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,7 +18,8 @@ import static org.mockito.Mockito.when;
 
 public class GlobalExceptionHandlerTest {
 
-    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler(meterRegistry);
 
     @Test
     void testHandleAlreadySubmittedException() {
@@ -28,6 +32,35 @@ public class GlobalExceptionHandlerTest {
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Already submitted today", response.getBody());
+        assertEquals(1.0, rejections("duplicate"));
+    }
+
+    @Test
+    void testHandleSubmissionQueueFullException() {
+        // Arrange
+        SubmissionQueueFullException exception = new SubmissionQueueFullException("Try again in a moment");
+
+        // Act
+        ResponseEntity<String> response = exceptionHandler.handleSubmissionQueueFullException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Try again in a moment", response.getBody());
+        assertEquals(1.0, rejections("queue_full"));
+    }
+
+    @Test
+    void testHandleCannotCreateTransactionException() {
+        // Arrange
+        CannotCreateTransactionException exception = new CannotCreateTransactionException("Connection is not available");
+
+        // Act
+        ResponseEntity<String> response = exceptionHandler.handleCannotCreateTransactionException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(GlobalExceptionHandler.DATABASE_BUSY_MESSAGE, response.getBody());
+        assertEquals(1.0, rejections("database_busy"));
     }
 
     @Test
@@ -41,6 +74,8 @@ public class GlobalExceptionHandlerTest {
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Mood can not be null!", response.getBody());
+        assertEquals(1.0, rejections("validation"));
+        assertEquals(0.0, rejections("duplicate"));
     }
 
     @Test
@@ -56,6 +91,10 @@ public class GlobalExceptionHandlerTest {
         assertEquals("Validation error", response.getBody());
     }
 
+    private double rejections(String reason) {
+        return meterRegistry.get(GlobalExceptionHandler.REJECTED_SUBMISSIONS_METRIC).tag("reason", reason).counter().count();
+    }
+
     private MethodArgumentNotValidException createMethodArgumentNotValidException(String errorMessage) {
         BindingResult bindingResult = mock(BindingResult.class);
         MethodParameter methodParameter = mock(MethodParameter.class);
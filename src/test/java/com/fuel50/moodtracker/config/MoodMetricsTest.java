@@ -0,0 +1,51 @@
+package com.fuel50.moodtracker.config;
+
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import com.fuel50.moodtracker.service.DailyMoodAggregate;
+import com.fuel50.moodtracker.service.DailyMoodAggregator;
+import com.fuel50.moodtracker.service.MoodUpdateBroadcaster;
+import com.fuel50.moodtracker.service.MoodWriteBehindQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MoodMetricsTest {
+
+    @Mock
+    private DailyMoodAggregator dailyMoodAggregator;
+
+    @Mock
+    private MoodWriteBehindQueue writeBehindQueue;
+
+    @Mock
+    private MoodUpdateBroadcaster moodUpdateBroadcaster;
+
+    @Test
+    void testBindTo_ReportsTodayQueueAndStreams() {
+        // Arrange
+        DailyMoodAggregate aggregate = new DailyMoodAggregate(LocalDate.now());
+        aggregate.record(MoodType.HAPPY, true);
+        aggregate.record(MoodType.GRUMPY, false);
+        when(dailyMoodAggregator.forDay(LocalDate.now())).thenReturn(aggregate);
+        when(writeBehindQueue.size()).thenReturn(7);
+        when(moodUpdateBroadcaster.getSubscriberCount()).thenReturn(3);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // Act
+        new MoodMetrics(dailyMoodAggregator, writeBehindQueue, moodUpdateBroadcaster).bindTo(registry);
+
+        // Assert
+        assertEquals(2.0, registry.get("moodtracker.mood.today").gauge().value());
+        assertEquals(1.0, registry.get("moodtracker.mood.today.comments").gauge().value());
+        assertEquals(7.0, registry.get("moodtracker.ingest.queue.size").gauge().value());
+        assertEquals(3.0, registry.get("moodtracker.stream.subscribers").gauge().value());
+    }
+}
@@ -0,0 +1,129 @@
+package com.fuel50.moodtracker.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(
+            new TokenBucketLimiter(1, Duration.ofSeconds(30), 1000),
+            new TokenBucketLimiter(3, Duration.ofMinutes(1), 1000),
+            meterRegistry);
+
+    private MockHttpServletResponse post(String remoteAddress, String userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/mood");
+        request.setRemoteAddr(remoteAddress);
+        if (userId != null) {
+            request.addHeader(RateLimitFilter.USER_HEADER, userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        assertEquals(response.getStatus() != HttpStatus.TOO_MANY_REQUESTS.value(), chain.getRequest() != null,
+                "Only requests within the limits reach the controller");
+        return response;
+    }
+
+    private double rejections() {
+        return meterRegistry.get(GlobalExceptionHandler.REJECTED_SUBMISSIONS_METRIC).tag("reason", "rate_limited").counter().count();
+    }
+
+    @Test
+    void testFilter_LimitsEachUser() throws Exception {
+        // Act
+        MockHttpServletResponse first = post("10.0.0.1", "user1");
+        MockHttpServletResponse second = post("10.0.0.1", "user1");
+        MockHttpServletResponse otherUser = post("10.0.0.1", "user2");
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), first.getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), second.getStatus());
+        assertEquals("30", second.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(RateLimitFilter.RATE_LIMITED_MESSAGE, second.getContentAsString());
+        assertEquals(HttpStatus.OK.value(), otherUser.getStatus());
+        assertEquals(1.0, rejections());
+    }
+
+    @Test
+    void testFilter_LimitsClientsWithoutUserId() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            post("10.0.0.1", null);
+        }
+
+        // Act
+        MockHttpServletResponse limited = post("10.0.0.1", null);
+        MockHttpServletResponse otherClient = post("10.0.0.2", null);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), limited.getStatus());
+        assertEquals("60", limited.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.OK.value(), otherClient.getStatus());
+    }
+
+    @Test
+    void testFilter_ChargesEveryItemOfBatch() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/mood/batch");
+        request.setRemoteAddr("10.0.0.1");
+        FilterChain controller = (servletRequest, servletResponse) ->
+                servletRequest.setAttribute(RateLimitFilter.SUBMISSIONS_ATTRIBUTE, 3);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), controller);
+        MockHttpServletResponse next = post("10.0.0.1", null);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), next.getStatus());
+        assertEquals(HttpStatus.OK.value(), post("10.0.0.2", null).getStatus());
+    }
+
+    @Test
+    void testFilter_LeavesReadsAlone() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            post("10.0.0.1", null);
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/mood/overall");
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void testFilter_LeavesImportsToTheAdministrator() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            post("10.0.0.1", null);
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", RateLimitFilter.IMPORT_PATH);
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+}
@@ -0,0 +1,83 @@
+package com.fuel50.moodtracker.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testTryAcquire_AllowsBurstUpToCapacity() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(1), 1000);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("user1", 0));
+        assertEquals(0, limiter.tryAcquire("user1", 0));
+        assertEquals(0, limiter.tryAcquire("user1", 0));
+        assertEquals(SECOND, limiter.tryAcquire("user1", 0));
+        assertEquals(0, limiter.tryAcquire("user2", 0), "Every key has its own bucket");
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTime() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofSeconds(1), 1000);
+        limiter.tryAcquire("user1", 0);
+        limiter.tryAcquire("user1", 0);
+
+        // Act
+        long early = limiter.tryAcquire("user1", SECOND / 4);
+        long due = limiter.tryAcquire("user1", SECOND);
+        long afterIdle = limiter.tryAcquire("user1", 100 * SECOND);
+
+        // Assert
+        assertEquals(3 * SECOND / 4, early);
+        assertEquals(0, due);
+        assertEquals(0, afterIdle);
+        assertEquals(0, limiter.tryAcquire("user1", 100 * SECOND), "Idle time refills up to the capacity");
+        assertTrue(limiter.tryAcquire("user1", 100 * SECOND) > 0, "but not beyond it");
+    }
+
+    @Test
+    void testTryAcquire_ForgetsLeastRecentlyUsedKeys() {
+        // Arrange - one bucket per stripe
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofHours(1), TokenBucketLimiter.STRIPES);
+        limiter.tryAcquire("user1", 0);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("other" + i, 0);
+        }
+
+        // Act
+        long wait = limiter.tryAcquire("user1", 0);
+
+        // Assert
+        assertEquals(0, wait);
+    }
+
+    @Test
+    void testCharge_OverdrawsBucket() {
+        // Arrange
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(1), 1000);
+        limiter.tryAcquire("client1", 0);
+
+        // Act
+        limiter.charge("client1", 5, 0);
+
+        // Assert - the bucket is three tokens short and needs four to hand out the next one
+        assertEquals(4 * SECOND, limiter.tryAcquire("client1", 0));
+        assertEquals(0, limiter.tryAcquire("client1", 4 * SECOND));
+    }
+
+    @Test
+    void testLimiter_RejectsEmptyBucket() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(0, Duration.ofSeconds(1), 1000));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketLimiter(1, Duration.ZERO, 1000));
+    }
+}
@@ -1,31 +1,60 @@
 package com.fuel50.moodtracker.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fuel50.moodtracker.config.RateLimitFilter;
+import com.fuel50.moodtracker.datatransferobject.CommentPageDTO;
+import com.fuel50.moodtracker.datatransferobject.DailyMoodDTO;
+import com.fuel50.moodtracker.domainvalue.BatchItemStatus;
+import com.fuel50.moodtracker.domainvalue.ExportFormat;
 import com.fuel50.moodtracker.datatransferobject.MoodSubmissionDTO;
+import com.fuel50.moodtracker.datatransferobject.ParticipationDTO;
+import com.fuel50.moodtracker.datatransferobject.PhraseCountDTO;
 import com.fuel50.moodtracker.datatransferobject.TeamMoodDTO;
 import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
 import com.fuel50.moodtracker.domainvalue.MoodType;
+import com.fuel50.moodtracker.domainvalue.MoodVersion;
+import com.fuel50.moodtracker.domainvalue.ReportingPeriod;
 import com.fuel50.moodtracker.exception.DuplicateMoodSubmissionException;
 import com.fuel50.moodtracker.service.MoodService;
+import com.fuel50.moodtracker.service.MoodUpdateBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(MoodController.class)
+@WebMvcTest(controllers = MoodController.class, properties = "moodtracker.import.enabled=true")
+@Import(SimpleMeterRegistry.class)
 public class MoodControllerTest {
 
     @Autowired
@@ -34,9 +63,21 @@ public class MoodControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @MockBean
+    @MockitoBean
     private MoodService moodService;
 
+    @MockitoBean
+    private MoodUpdateBroadcaster moodUpdateBroadcaster;
+
+    private static final String TEAM = MoodSubmissionDO.DEFAULT_TEAM;
+
+    private final MoodVersion moodVersion = new MoodVersion("1a2b-3", 1_700_000_000_000L);
+
+    @BeforeEach
+    void setUp() {
+        when(moodService.getOverallMoodVersion(TEAM)).thenReturn(moodVersion);
+    }
+
     @Test
     void testSubmitMood_Success() throws Exception {
         // Arrange
@@ -107,7 +148,7 @@ public class MoodControllerTest {
         // Arrange
         List<String> comments = Arrays.asList("Comment 1", "Comment 2");
         TeamMoodDTO teamMood = new TeamMoodDTO(MoodType.HAPPY, comments);
-        when(moodService.getOverallMood()).thenReturn(teamMood);
+        when(moodService.getOverallMood(TEAM)).thenReturn(teamMood);
 
         // Act & Assert
         MvcResult result = mockMvc.perform(get("/api/mood/overall"))
@@ -127,7 +168,7 @@ public class MoodControllerTest {
     void testGetOverallTeamMood_NoMoods() throws Exception {
         // Arrange
         TeamMoodDTO teamMood = new TeamMoodDTO(null, List.of());
-        when(moodService.getOverallMood()).thenReturn(teamMood);
+        when(moodService.getOverallMood(TEAM)).thenReturn(teamMood);
 
         // Act & Assert
         MvcResult result = mockMvc.perform(get("/api/mood/overall"))
@@ -140,4 +181,444 @@ public class MoodControllerTest {
         assertNull(responseDTO.getOverallMood());
         assertTrue(responseDTO.getComments().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetOverallTeamMood_WithoutComments() throws Exception {
+        // Arrange
+        when(moodService.getOverallMoodSummary(TEAM)).thenReturn(new TeamMoodDTO(MoodType.GRUMPY, null, 12));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/overall").param("includeComments", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overallMood").value("GRUMPY"))
+                .andExpect(jsonPath("$.commentCount").value(12))
+                .andExpect(jsonPath("$.comments").doesNotExist());
+
+        verify(moodService, never()).getOverallMood(any());
+    }
+
+    @Test
+    void testGetOverallTeamMood_SetsValidators() throws Exception {
+        // Arrange
+        when(moodService.getOverallMood(TEAM)).thenReturn(new TeamMoodDTO(MoodType.HAPPY, List.of()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/overall"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"full-1a2b-3\""))
+                .andExpect(header().dateValue("Last-Modified", 1_700_000_000_000L))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    void testGetOverallTeamMood_NotModified() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/overall").header("If-None-Match", "\"full-1a2b-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"full-1a2b-3\""))
+                .andExpect(content().string(""));
+
+        verify(moodService, never()).getOverallMood(any());
+    }
+
+    @Test
+    void testGetOverallTeamMood_NotModifiedSinceLastModified() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/overall").param("includeComments", "false")
+                        .header("If-Modified-Since", "Tue, 14 Nov 2023 22:13:20 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(moodService, never()).getOverallMoodSummary(any());
+    }
+
+    @Test
+    void testGetOverallTeamMood_NoLastModifiedWithinTheSecondOfTheLastSubmission() throws Exception {
+        // Arrange
+        // A second ahead, so the request cannot cross into the next second before it is handled
+        long now = System.currentTimeMillis() + 1000;
+        when(moodService.getOverallMoodVersion(TEAM)).thenReturn(new MoodVersion("1a2b-4", now));
+        when(moodService.getOverallMoodSummary(TEAM)).thenReturn(new TeamMoodDTO(MoodType.HAPPY, List.of()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/overall").param("includeComments", "false")
+                        .header("If-Modified-Since", DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                                Instant.ofEpochMilli(now / 1000 * 1000).atZone(ZoneOffset.UTC))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"summary-1a2b-4\""))
+                .andExpect(header().doesNotExist("Last-Modified"));
+    }
+
+    @Test
+    void testGetOverallTeamMood_ModifiedWhenVersionChanged() throws Exception {
+        // Arrange
+        when(moodService.getOverallMood(TEAM)).thenReturn(new TeamMoodDTO(MoodType.HAPPY, List.of("New comment")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/overall").header("If-None-Match", "\"full-1a2b-2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0]").value("New comment"));
+    }
+
+    @Test
+    void testGetOverallTeamMood_SummaryHasItsOwnETag() throws Exception {
+        // Arrange
+        when(moodService.getOverallMoodSummary(TEAM)).thenReturn(new TeamMoodDTO(MoodType.HAPPY, null, 0));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/overall").param("includeComments", "false")
+                        .header("If-None-Match", "\"full-1a2b-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"summary-1a2b-3\""));
+    }
+
+    @Test
+    void testStreamOverallTeamMood() throws Exception {
+        // Arrange
+        when(moodUpdateBroadcaster.subscribe(TEAM)).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/overall/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(moodUpdateBroadcaster).subscribe(TEAM);
+    }
+
+    @Test
+    void testGetComments() throws Exception {
+        // Arrange
+        when(moodService.getComments(TEAM, 10L, 2)).thenReturn(new CommentPageDTO(List.of("Comment 1", "Comment 2"), 15L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/comments").param("after", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0]").value("Comment 1"))
+                .andExpect(jsonPath("$.comments[1]").value("Comment 2"))
+                .andExpect(jsonPath("$.nextCursor").value(15));
+    }
+
+    @Test
+    void testGetComments_DefaultsToFirstPage() throws Exception {
+        // Arrange
+        when(moodService.getComments(TEAM, null, 50)).thenReturn(new CommentPageDTO(List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/comments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testSubmitMoods_ResultsFollowRequestOrder() throws Exception {
+        // Arrange
+        String batch = "[" +
+                "{\"userId\":\"user1\",\"mood\":\"HAPPY\"}," +
+                "{\"userId\":\"user2\"}," +
+                "{\"userId\":\"user3\",\"mood\":\"GRUMPY\",\"comment\":\"Fine\"}" +
+                "]";
+        when(moodService.submitMoods(anyList())).thenReturn(List.of(BatchItemStatus.ACCEPTED, BatchItemStatus.DUPLICATE));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/mood/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value("ACCEPTED"))
+                .andExpect(jsonPath("$[1].status").value("INVALID"))
+                .andExpect(jsonPath("$[1].message").value("Mood can not be null!"))
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].status").value("DUPLICATE"))
+                .andExpect(request().attribute(RateLimitFilter.SUBMISSIONS_ATTRIBUTE, 3));
+
+        verify(moodService).submitMoods(argThat(submissions -> submissions.size() == 2
+                && submissions.get(0).getUserId().equals("user1")
+                && submissions.get(1).getComment().equals("Fine")));
+    }
+
+    @Test
+    void testSubmitMoods_AllInvalidDoesNotCallService() throws Exception {
+        // Arrange
+        String batch = "[{\"mood\":\"HAPPY\"}]";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/mood/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("INVALID"))
+                .andExpect(jsonPath("$[0].message").value("User id can not be empty!"));
+
+        verify(moodService, never()).submitMoods(anyList());
+    }
+
+    @Test
+    void testSubmitMoods_RejectsOversizedBatch() throws Exception {
+        // Arrange
+        List<MoodSubmissionDTO> batch = new ArrayList<>(Collections.nCopies(MoodController.MAX_BATCH_SIZE + 1,
+                new MoodSubmissionDTO(MoodType.HAPPY, "user", null)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/mood/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest());
+
+        verify(moodService, never()).submitMoods(anyList());
+    }
+
+    @Test
+    void testGetTrend_Success() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(moodService.getTrend(from, to)).thenReturn(List.of(new DailyMoodDTO(LocalDate.of(2025, 3, 3),
+                MoodType.HAPPY, 4.5, 2, 1, Map.of(MoodType.HAPPY, 1L, MoodType.JUST_NORMAL_REALLY, 1L))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/trend").param("from", "2025-03-01").param("to", "2025-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].day").value("2025-03-03"))
+                .andExpect(jsonPath("$[0].overallMood").value("HAPPY"))
+                .andExpect(jsonPath("$[0].submissionCount").value(2))
+                .andExpect(jsonPath("$[0].moodCounts.JUST_NORMAL_REALLY").value(1));
+    }
+
+    @Test
+    void testGetTrend_RejectsReversedRange() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/trend").param("from", "2025-03-31").param("to", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+
+        verify(moodService, never()).getTrend(any(), any());
+    }
+
+    @Test
+    void testGetTrend_RejectsTooLongRange() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2020, 1, 1);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/trend")
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(MoodController.MAX_TREND_DAYS).toString()))
+                .andExpect(status().isBadRequest());
+
+        verify(moodService, never()).getTrend(any(), any());
+    }
+
+    @Test
+    void testExportSubmissions_StreamsDownload() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(moodService).exportSubmissions(eq(from), eq(to), eq(ExportFormat.NDJSON), any(OutputStream.class));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/mood/export").param("from", "2025-03-01").param("to", "2025-03-31")
+                        .param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("moods-2025-03-01-to-2025-03-31.ndjson")))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void testExportSubmissions_RejectsReversedRange() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/export").param("from", "2025-03-31").param("to", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+
+        verify(moodService, never()).exportSubmissions(any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetParticipation_Success() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 3, 10);
+        LocalDate to = LocalDate.of(2025, 3, 23);
+        when(moodService.getParticipation(from, to, ReportingPeriod.WEEK)).thenReturn(List.of(
+                new ParticipationDTO(from, from.plusDays(6), 12, 40, Map.of(MoodType.HAPPY, 0.75, MoodType.GRUMPY, 0.25)),
+                new ParticipationDTO(from.plusDays(7), to, 0, 0, Map.of())));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/participation").param("from", "2025-03-10").param("to", "2025-03-23").param("period", "WEEK"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].to").value("2025-03-16"))
+                .andExpect(jsonPath("$[0].distinctParticipants").value(12))
+                .andExpect(jsonPath("$[0].moodShares.HAPPY").value(0.75))
+                .andExpect(jsonPath("$[1].submissionCount").value(0));
+    }
+
+    @Test
+    void testGetParticipation_RejectsReversedRange() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/participation").param("from", "2025-03-31").param("to", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+
+        verify(moodService, never()).getParticipation(any(), any(), any());
+    }
+
+    @Test
+    void testGetParticipation_RejectsTooLongRange() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2024, 1, 1);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/participation")
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(MoodController.MAX_PARTICIPATION_DAYS).toString()))
+                .andExpect(status().isBadRequest());
+
+        verify(moodService, never()).getParticipation(any(), any(), any());
+    }
+
+    @Test
+    void testGetTopPhrases_DefaultsToToday() throws Exception {
+        // Arrange
+        when(moodService.getTopPhrases(LocalDate.now(), null, 10))
+                .thenReturn(List.of(new PhraseCountDTO("release", 12), new PhraseCountDTO("team lunch", 5)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/phrases"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].phrase").value("release"))
+                .andExpect(jsonPath("$[0].count").value(12))
+                .andExpect(jsonPath("$[1].phrase").value("team lunch"));
+    }
+
+    @Test
+    void testGetTopPhrases_ForDayAndMood() throws Exception {
+        // Arrange
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        when(moodService.getTopPhrases(yesterday, MoodType.GRUMPY, 3)).thenReturn(List.of(new PhraseCountDTO("deadline", 4)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/phrases")
+                        .param("day", yesterday.toString())
+                        .param("mood", "GRUMPY")
+                        .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].phrase").value("deadline"));
+    }
+
+    @Test
+    void testGetTopPhrases_RejectsFutureDay() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/phrases").param("day", LocalDate.now().plusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+
+        verify(moodService, never()).getTopPhrases(any(), any(), anyInt());
+    }
+
+    @Test
+    void testSubmitMood_TakesTeamFromHeader() throws Exception {
+        // Arrange
+        MoodSubmissionDTO moodSubmission = new MoodSubmissionDTO(MoodType.HAPPY, null, null);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/mood")
+                .header(MoodController.TEAM_HEADER, "platform")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(moodSubmission)))
+                .andExpect(status().isCreated());
+
+        verify(moodService).submitMood(argThat(submission -> submission.getTeamId().equals("platform")));
+    }
+
+    @Test
+    void testSubmitMood_RejectsInvalidTeam() throws Exception {
+        // Arrange
+        MoodSubmissionDTO moodSubmission = new MoodSubmissionDTO(MoodType.HAPPY, null, null);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/mood")
+                .header(MoodController.TEAM_HEADER, "no spaces/allowed")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(moodSubmission)))
+                .andExpect(status().isBadRequest());
+
+        verify(moodService, never()).submitMood(any());
+    }
+
+    @Test
+    void testImportMoods_CountsEveryLine() throws Exception {
+        // Arrange
+        String body = "{\"mood\":\"HAPPY\",\"userId\":\"user1\",\"submissionDate\":\"2024-05-01T09:30:00\"}\n"
+                + "{\"mood\":\"GRUMPY\",\"userId\":\"user2\",\"submissionDate\":\"" + LocalDateTime.now().plusDays(2) + "\"}\n"
+                + "{\"mood\":\"GRUMPY\",\"userId\":\"user3\",\"teamId\":\"design\",\"submissionDate\":\"2024-05-02T09:30:00\"}\n";
+        when(moodService.importMoods(anyList())).thenReturn(List.of(BatchItemStatus.ACCEPTED, BatchItemStatus.ACCEPTED));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/mood/import")
+                .header(MoodController.TEAM_HEADER, "platform")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lineCount").value(3))
+                .andExpect(jsonPath("$.importedCount").value(2))
+                .andExpect(jsonPath("$.invalidCount").value(1))
+                .andExpect(jsonPath("$.rejectedLines[0].index").value(2))
+                .andExpect(jsonPath("$.rejectedLines[0].message").value("Submission date can not be in the future!"));
+
+        verify(moodService).importMoods(argThat(submissions -> submissions.size() == 2
+                && submissions.get(0).getTeamId().equals("platform")
+                && submissions.get(0).getSubmissionDate().equals(LocalDateTime.of(2024, 5, 1, 9, 30))
+                && submissions.get(1).getTeamId().equals("design")));
+    }
+
+    @Test
+    void testImportMoods_InvalidTeamId() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/mood/import")
+                .header(MoodController.TEAM_HEADER, "no spaces/allowed")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{}\n"))
+                .andExpect(status().isBadRequest());
+
+        verify(moodService, never()).importMoods(anyList());
+    }
+
+    @Test
+    void testSubmitMoods_ItemTeamOverridesHeader() throws Exception {
+        // Arrange
+        String batch = "[{\"mood\":\"HAPPY\",\"userId\":\"user1\",\"teamId\":\"design\"}," +
+                "{\"mood\":\"GRUMPY\",\"userId\":\"user2\"}]";
+        when(moodService.submitMoods(anyList())).thenReturn(List.of(BatchItemStatus.ACCEPTED, BatchItemStatus.ACCEPTED));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/mood/batch")
+                .header(MoodController.TEAM_HEADER, "platform")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(status().isOk());
+
+        verify(moodService).submitMoods(argThat(submissions -> submissions.get(0).getTeamId().equals("design")
+                && submissions.get(1).getTeamId().equals("platform")));
+    }
+
+    @Test
+    void testGetOverallTeamMood_ScopedToTeam() throws Exception {
+        // Arrange
+        when(moodService.getOverallMoodVersion("platform")).thenReturn(moodVersion);
+        when(moodService.getOverallMoodSummary("platform")).thenReturn(new TeamMoodDTO(MoodType.GRUMPY, null, 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/mood/overall")
+                .header(MoodController.TEAM_HEADER, "platform")
+                .param("includeComments", "false"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", containsString(MoodController.TEAM_HEADER)))
+                .andExpect(jsonPath("$.overallMood").value("GRUMPY"));
+
+        verify(moodService, never()).getOverallMoodSummary(TEAM);
+    }
+}
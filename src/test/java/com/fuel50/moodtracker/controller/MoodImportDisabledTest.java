@@ -0,0 +1,46 @@
+package com.fuel50.moodtracker.controller;
+
+import com.fuel50.moodtracker.service.MoodService;
+import com.fuel50.moodtracker.service.MoodUpdateBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The import endpoint without {@code moodtracker.import.enabled}, its default.
+ */
+@WebMvcTest(MoodController.class)
+@Import(SimpleMeterRegistry.class)
+public class MoodImportDisabledTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MoodService moodService;
+
+    @MockitoBean
+    private MoodUpdateBroadcaster moodUpdateBroadcaster;
+
+    @Test
+    void testImportMoods_NotFoundUnlessEnabled() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/mood/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"mood\":\"HAPPY\",\"userId\":\"user1\",\"submissionDate\":\"2024-05-01T09:30:00\"}\n"))
+                .andExpect(status().isNotFound());
+
+        verify(moodService, never()).importMoods(anyList());
+    }
+}
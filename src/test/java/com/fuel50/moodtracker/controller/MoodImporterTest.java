@@ -0,0 +1,131 @@
+package com.fuel50.moodtracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fuel50.moodtracker.datatransferobject.MoodBatchResultDTO;
+import com.fuel50.moodtracker.datatransferobject.MoodImportResultDTO;
+import com.fuel50.moodtracker.datatransferobject.MoodSubmissionDTO;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.BatchItemStatus;
+import com.fuel50.moodtracker.service.MoodService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MoodImporterTest {
+
+    @Mock
+    private MoodService moodService;
+
+    private MoodImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        importer = new MoodImporter(moodService, objectMapper, (MoodSubmissionDTO moodSubmission) -> {
+            Set<ConstraintViolation<MoodSubmissionDTO>> violations = validator.validate(moodSubmission);
+            return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+        }, MoodSubmissionDO.DEFAULT_TEAM);
+    }
+
+    private static String line(String userId, String submissionDate) {
+        return "{\"mood\":\"HAPPY\",\"userId\":\"" + userId + "\",\"submissionDate\":\"" + submissionDate + "\"}";
+    }
+
+    private MoodImportResultDTO run(String body) throws IOException {
+        return importer.run(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void acceptAll() {
+        when(moodService.importMoods(anyList()))
+                .thenAnswer(invocation -> Collections.nCopies(invocation.<List<?>>getArgument(0).size(), BatchItemStatus.ACCEPTED));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRun_StoresInBatches() throws IOException {
+        // Arrange
+        acceptAll();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < MoodImporter.BATCH_SIZE + 1; i++) {
+            body.append(line("user" + i, "2024-05-01T09:30:00")).append('\n');
+        }
+
+        // Act
+        MoodImportResultDTO result = run(body.toString());
+
+        // Assert
+        ArgumentCaptor<List<MoodSubmissionDO>> batches = ArgumentCaptor.forClass(List.class);
+        verify(moodService, times(2)).importMoods(batches.capture());
+        assertEquals(MoodImporter.BATCH_SIZE, batches.getAllValues().get(0).size());
+        assertEquals(1, batches.getAllValues().get(1).size());
+        MoodSubmissionDO first = batches.getAllValues().get(0).get(0);
+        assertEquals(LocalDateTime.of(2024, 5, 1, 9, 30), first.getSubmissionDate());
+        assertEquals(MoodSubmissionDO.DEFAULT_TEAM, first.getTeamId());
+        assertEquals(MoodImporter.BATCH_SIZE + 1, result.getLineCount());
+        assertEquals(MoodImporter.BATCH_SIZE + 1, result.getImportedCount());
+        assertTrue(result.getRejectedLines().isEmpty());
+    }
+
+    @Test
+    void testRun_ReportsRejectedLinesByNumber() throws IOException {
+        // Arrange
+        when(moodService.importMoods(anyList())).thenReturn(List.of(BatchItemStatus.ACCEPTED, BatchItemStatus.DUPLICATE));
+        String body = line("user1", "2024-05-01T09:30:00") + "\r\n"
+                + "\r\n"
+                + "not json\n"
+                + line("user2", LocalDateTime.now().plusDays(1).toString()) + "\n"
+                + "{\"mood\":\"HAPPY\",\"userId\":\"" + "u".repeat(MoodImporter.MAX_LINE_LENGTH) + "\"}\n"
+                + line("user1", "2024-05-01T17:00:00");
+
+        // Act
+        MoodImportResultDTO result = run(body);
+
+        // Assert
+        assertEquals(6, result.getLineCount());
+        assertEquals(1, result.getImportedCount());
+        assertEquals(1, result.getDuplicateCount());
+        assertEquals(3, result.getInvalidCount());
+        List<MoodBatchResultDTO> rejected = result.getRejectedLines();
+        assertEquals(List.of(3, 4, 5, 6), rejected.stream().map(MoodBatchResultDTO::getIndex).toList());
+        assertTrue(rejected.get(0).getMessage().startsWith("Line is not a valid submission: "));
+        assertEquals("Submission date can not be in the future!", rejected.get(1).getMessage());
+        assertEquals("Line can not be longer than " + MoodImporter.MAX_LINE_LENGTH + " characters!", rejected.get(2).getMessage());
+        assertEquals(BatchItemStatus.DUPLICATE, rejected.get(3).getStatus());
+        assertEquals(MoodImporter.DUPLICATE_MESSAGE, rejected.get(3).getMessage());
+    }
+
+    @Test
+    void testRun_CapsReportedLines() throws IOException {
+        // Arrange
+        String body = "{}\n".repeat(MoodImporter.MAX_REPORTED_LINES + 10);
+
+        // Act
+        MoodImportResultDTO result = run(body);
+
+        // Assert
+        assertEquals(MoodImporter.MAX_REPORTED_LINES + 10, result.getInvalidCount());
+        assertEquals(MoodImporter.MAX_REPORTED_LINES, result.getRejectedLines().size());
+        verify(moodService, never()).importMoods(anyList());
+    }
+}
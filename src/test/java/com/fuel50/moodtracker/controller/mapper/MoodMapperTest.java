@@ -1,10 +1,12 @@
 package com.fuel50.moodtracker.controller.mapper;
 
+import com.fuel50.moodtracker.datatransferobject.MoodImportDTO;
 import com.fuel50.moodtracker.datatransferobject.MoodSubmissionDTO;
 import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
 import com.fuel50.moodtracker.domainvalue.MoodType;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -30,6 +32,25 @@ public class MoodMapperTest {
         assertEquals(comment, result.getComment());
     }
 
+    @Test
+    void testMakeMoodSubmissionDO_KeepsImportedDate() {
+        // Arrange
+        MoodImportDTO dto = new MoodImportDTO();
+        dto.setMood(MoodType.GRUMPY);
+        dto.setUserId("user1");
+        dto.setTeamId("platform");
+        dto.setSubmissionDate(LocalDateTime.of(2024, 5, 1, 9, 30));
+
+        // Act
+        MoodSubmissionDO result = MoodMapper.makeMoodSubmissionDO(dto);
+
+        // Assert
+        assertEquals(MoodType.GRUMPY, result.getMood());
+        assertEquals("platform", result.getTeamId());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 9, 30), result.getSubmissionDate());
+        assertEquals(LocalDate.of(2024, 5, 1).toEpochDay(), result.getSubmissionDay());
+    }
+
     @Test
     void testMakeMoodSubmissionDTO() {
         // Arrange
@@ -98,4 +119,16 @@ public class MoodMapperTest {
         assertEquals("another-user", dtoResult.getUserId());
         assertNull(dtoResult.getComment());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMakeMoodSubmissionDO_Team() {
+        // Arrange
+        MoodSubmissionDTO withTeam = new MoodSubmissionDTO(MoodType.HAPPY, "user1", null);
+        withTeam.setTeamId("platform");
+        MoodSubmissionDTO withoutTeam = new MoodSubmissionDTO(MoodType.HAPPY, "user2", null);
+
+        // Act & Assert
+        assertEquals("platform", MoodMapper.makeMoodSubmissionDO(withTeam).getTeamId());
+        assertEquals(MoodSubmissionDO.DEFAULT_TEAM, MoodMapper.makeMoodSubmissionDO(withoutTeam).getTeamId());
+    }
+}
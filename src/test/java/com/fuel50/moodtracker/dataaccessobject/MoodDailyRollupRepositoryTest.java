@@ -0,0 +1,71 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainobject.MoodDailyRollupDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class MoodDailyRollupRepositoryTest {
+
+    @Autowired
+    private MoodDailyRollupRepository rollupRepository;
+
+    @Test
+    void testFindByDayBetweenOrderByDay() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 3, 3);
+        rollupRepository.saveAllAndFlush(List.of(rollup(day.plusDays(2), 1), rollup(day, 2), rollup(day.plusDays(5), 3)));
+
+        // Act
+        List<MoodDailyRollupDO> rollups = rollupRepository.findByDayBetweenOrderByDay(day, day.plusDays(2));
+
+        // Assert
+        assertEquals(List.of(day, day.plusDays(2)), rollups.stream().map(MoodDailyRollupDO::getDay).toList());
+        assertEquals(2, rollups.get(0).getCount(MoodType.HAPPY));
+        assertEquals(10, rollups.get(0).getScoreSum());
+    }
+
+    @Test
+    void testFindLastDay() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 3, 3);
+
+        // Act & Assert
+        assertNull(rollupRepository.findLastDay());
+        rollupRepository.saveAllAndFlush(List.of(rollup(day, 1), rollup(day.minusDays(1), 1)));
+        assertEquals(day, rollupRepository.findLastDay());
+    }
+
+    @Test
+    void testFindByParticipantSketchIsNull() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 3, 3);
+        MoodDailyRollupDO sketched = rollup(day, 1);
+        byte[] sketch = new byte[MoodDailyRollupDO.PARTICIPANT_SKETCH_BYTES];
+        sketch[7] = 3;
+        sketched.setParticipantSketch(sketch);
+        rollupRepository.saveAllAndFlush(List.of(sketched, rollup(day.minusDays(1), 1)));
+
+        // Act
+        List<MoodDailyRollupDO> unsketched = rollupRepository.findByParticipantSketchIsNull();
+
+        // Assert
+        assertEquals(List.of(day.minusDays(1)), unsketched.stream().map(MoodDailyRollupDO::getDay).toList());
+        assertArrayEquals(sketch, rollupRepository.findByDayBetweenOrderByDay(day, day).get(0).getParticipantSketch());
+    }
+
+    private static MoodDailyRollupDO rollup(LocalDate day, long happy) {
+        MoodDailyRollupDO rollup = new MoodDailyRollupDO(day);
+        rollup.setCount(MoodType.HAPPY, happy);
+        return rollup;
+    }
+}
@@ -0,0 +1,254 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoodLogStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 14);
+
+    @TempDir
+    Path directory;
+
+    private Path path;
+    private MoodLogStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        path = directory.resolve("moods.log");
+        store = new MoodLogStore(path, false);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    private static MoodSubmissionDO submission(MoodType mood, String userId, String teamId, String comment, LocalDateTime submissionDate) {
+        MoodSubmissionDO submission = new MoodSubmissionDO(mood, userId, comment);
+        submission.setTeamId(teamId);
+        submission.setSubmissionDate(submissionDate);
+        return submission;
+    }
+
+    private static Map<MoodType, Long> totals(List<MoodCount> moodCounts) {
+        return moodCounts.stream().collect(Collectors.toMap(MoodCount::getMood, MoodCount::getTotal));
+    }
+
+    @Test
+    void testSaveAndCount() {
+        // Arrange
+        store.saveAndFlush(submission(MoodType.HAPPY, "user1", "platform", "Great day", TODAY.atTime(9, 0)));
+        store.saveAndFlush(submission(MoodType.HAPPY, "user2", null, "Fine", TODAY.atTime(10, 0)));
+        store.saveAndFlush(submission(MoodType.GRUMPY, "user3", "platform", "Long day", TODAY.atTime(23, 59, 59)));
+        store.saveAndFlush(submission(MoodType.GRUMPY, "user1", "platform", null, TODAY.plusDays(1).atTime(9, 0)));
+
+        // Act
+        List<MoodCount> company = store.countMoodsBySubmissionDateBetween(TODAY.atStartOfDay(), TODAY.atTime(23, 59, 59));
+        List<MoodCount> platform = store.countMoodsByTeamIdAndSubmissionDateBetween("platform", TODAY.atStartOfDay(), TODAY.atTime(23, 59, 59));
+
+        // Assert
+        assertEquals(Map.of(MoodType.HAPPY, 2L, MoodType.GRUMPY, 1L), totals(company));
+        assertEquals(Map.of(MoodType.HAPPY, 1L, MoodType.GRUMPY, 1L), totals(platform));
+        assertEquals(3, store.countComments(TODAY.atStartOfDay(), TODAY.plusDays(1).atStartOfDay()));
+        assertEquals(List.of("Great day", "Long day"),
+                store.findCommentsByTeamIdAndSubmissionDateBetween("platform", TODAY.atStartOfDay(), TODAY.atTime(23, 59, 59)));
+        assertEquals(List.of(MoodSubmissionDO.DEFAULT_TEAM, "platform"),
+                store.findTeamCommentsAfter(TODAY.atStartOfDay(), TODAY.plusDays(1).atStartOfDay(), 1L, Limit.unlimited())
+                        .stream().map(TeamCommentView::getTeamId).toList());
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    void testSave_AssignsIdsAndDefaultTeam() {
+        // Arrange
+        MoodSubmissionDO first = submission(MoodType.HAPPY, "user1", null, null, TODAY.atTime(9, 0));
+        MoodSubmissionDO second = submission(MoodType.A_BIT_MEH, "user2", null, null, TODAY.atTime(9, 5));
+
+        // Act
+        store.saveAllAndFlush(List.of(first, second));
+        List<TeamMoodCount> teams = store.countTeamMoods(TODAY.atStartOfDay(), TODAY.plusDays(1).atStartOfDay());
+
+        // Assert
+        assertEquals(1L, first.getId());
+        assertEquals(2L, second.getId());
+        assertTrue(teams.stream().allMatch(count -> MoodSubmissionDO.DEFAULT_TEAM.equals(count.getTeamId())));
+    }
+
+    @Test
+    void testSave_RejectsDuplicateUserAndDay() {
+        // Arrange
+        store.saveAndFlush(submission(MoodType.HAPPY, "user1", null, null, TODAY.atTime(9, 0)));
+
+        // Act & Assert
+        assertThrows(DuplicateKeyException.class,
+                () -> store.saveAndFlush(submission(MoodType.A_BIT_MEH, "user1", null, null, TODAY.atTime(17, 0))));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testUserIndex_KeepsRecentDaysOnly() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        LocalDate lastWeek = today.minusDays(7);
+        store.saveAndFlush(submission(MoodType.HAPPY, "user1", null, null, today.atTime(9, 0)));
+        store.saveAndFlush(submission(MoodType.HAPPY, "user1", null, null, lastWeek.atTime(9, 0)));
+        store.saveAndFlush(submission(MoodType.GRUMPY, "user2", null, null, lastWeek.atTime(10, 0)));
+
+        // Act & Assert - older days are checked from their records
+        assertEquals(Set.of(today.toEpochDay()), store.userIndexedDays());
+        assertThrows(DuplicateKeyException.class,
+                () -> store.saveAndFlush(submission(MoodType.A_BIT_MEH, "user1", null, null, today.atTime(17, 0))));
+        assertThrows(DuplicateKeyException.class,
+                () -> store.saveAndFlush(submission(MoodType.A_BIT_MEH, "user2", null, null, lastWeek.atTime(17, 0))));
+        assertEquals(Set.of("user1", "user2"), Set.copyOf(store.findUserIdsBySubmissionDay(lastWeek.toEpochDay())));
+        assertEquals(List.of("user2"), store.findUserIdsBySubmissionDayAndUserIdIn(lastWeek.toEpochDay(), List.of("user2", "user3")));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void testSaveAll_RejectsWholeBatch() {
+        // Arrange
+        store.saveAndFlush(submission(MoodType.HAPPY, "user1", null, null, TODAY.atTime(9, 0)));
+        List<MoodSubmissionDO> batch = List.of(
+                submission(MoodType.HAPPY, "user2", null, null, TODAY.atTime(10, 0)),
+                submission(MoodType.A_BIT_MEH, "user1", null, null, TODAY.atTime(10, 0)));
+
+        // Act & Assert
+        assertThrows(DuplicateKeyException.class, () -> store.saveAllAndFlush(batch));
+        assertEquals(1, store.size());
+        assertEquals(List.of(), store.findUserIdsBySubmissionDayAndUserIdIn(TODAY.toEpochDay(), List.of("user2")));
+    }
+
+    @Test
+    void testSave_RejectsOversizedValues() {
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store.saveAndFlush(submission(MoodType.HAPPY, "u".repeat(256), null, null, TODAY.atTime(9, 0))));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testFindCommentsAfter_PagesById() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            store.saveAndFlush(submission(MoodType.HAPPY, "user" + i, null, i == 3 ? null : "Comment " + i, TODAY.atTime(9, i)));
+        }
+
+        // Act
+        List<CommentView> firstPage = store.findCommentsAfter(MoodSubmissionDO.DEFAULT_TEAM, TODAY.atStartOfDay(), TODAY.atTime(23, 59, 59), 0, Limit.of(2));
+        List<CommentView> secondPage = store.findCommentsAfter(MoodSubmissionDO.DEFAULT_TEAM, TODAY.atStartOfDay(), TODAY.atTime(23, 59, 59),
+                firstPage.get(1).getId(), Limit.of(2));
+
+        // Assert
+        assertEquals(List.of("Comment 1", "Comment 2"), firstPage.stream().map(CommentView::getComment).toList());
+        assertEquals(List.of("Comment 4", "Comment 5"), secondPage.stream().map(CommentView::getComment).toList());
+    }
+
+    @Test
+    void testStreamSubmissions() {
+        // Arrange
+        store.saveAndFlush(submission(MoodType.HAPPY, "user1", "platform", "Great day", TODAY.atTime(9, 0)));
+        store.saveAndFlush(submission(MoodType.GRUMPY, "user2", null, null, TODAY.minusDays(1).atTime(17, 0)));
+        store.saveAndFlush(submission(MoodType.A_BIT_MEH, "user3", null, null, TODAY.minusDays(2).atTime(9, 0)));
+        store.saveAndFlush(submission(MoodType.HAPPY, "user4", null, null, TODAY.atTime(23, 59, 59, 500)));
+        store.saveAndFlush(submission(MoodType.HAPPY, "user5", null, null, TODAY.plusDays(1).atStartOfDay()));
+
+        // Act
+        List<MoodSubmissionDO> submissions;
+        try (Stream<MoodSubmissionDO> stream = store.streamSubmissions(TODAY.minusDays(1).atStartOfDay(), TODAY.plusDays(1).atStartOfDay())) {
+            submissions = stream.toList();
+        }
+
+        // Assert
+        assertEquals(List.of("user2", "user1", "user4"), submissions.stream().map(MoodSubmissionDO::getUserId).toList());
+        MoodSubmissionDO first = submissions.get(1);
+        assertEquals(1L, first.getId());
+        assertEquals(MoodType.HAPPY, first.getMood());
+        assertEquals("platform", first.getTeamId());
+        assertEquals("Great day", first.getComment());
+        assertEquals(TODAY.atTime(9, 0), first.getSubmissionDate());
+        assertEquals(MoodSubmissionDO.DEFAULT_TEAM, submissions.get(0).getTeamId());
+        assertNull(submissions.get(0).getComment());
+    }
+
+    @Test
+    void testCountDailyMoods_ExcludesEnd() {
+        // Arrange
+        store.saveAndFlush(submission(MoodType.HAPPY, "user1", null, "Hi", TODAY.atTime(9, 0)));
+        store.saveAndFlush(submission(MoodType.HAPPY, "user2", null, null, TODAY.plusDays(1).atTime(9, 0)));
+        store.saveAndFlush(submission(MoodType.A_BIT_MEH, "user3", null, null, TODAY.plusDays(2).atStartOfDay()));
+
+        // Act
+        List<DailyMoodCount> counts = store.countDailyMoods(TODAY.atStartOfDay(), TODAY.plusDays(2).atStartOfDay());
+
+        // Assert
+        assertEquals(2, counts.size());
+        assertEquals(TODAY.toEpochDay(), counts.get(0).getDay());
+        assertEquals(1, counts.get(0).getComments());
+        assertEquals(TODAY.plusDays(1).toEpochDay(), counts.get(1).getDay());
+    }
+
+    @Test
+    void testReopen_RecoversIndex() throws IOException {
+        // Arrange
+        store.saveAndFlush(submission(MoodType.HAPPY, "user1", "platform", "Great day", TODAY.atTime(9, 0)));
+        store.saveAndFlush(submission(MoodType.A_BIT_MEH, "user2", null, null, TODAY.atTime(9, 30)));
+        store.close();
+
+        // Act
+        store = new MoodLogStore(path, false);
+
+        // Assert
+        assertEquals(2, store.size());
+        assertEquals(List.of("Great day"),
+                store.findCommentsByTeamIdAndSubmissionDateBetween("platform", TODAY.atStartOfDay(), TODAY.atTime(23, 59, 59)));
+        assertThrows(DuplicateKeyException.class,
+                () -> store.saveAndFlush(submission(MoodType.HAPPY, "user2", null, null, TODAY.atTime(12, 0))));
+        assertEquals(3L, store.saveAndFlush(submission(MoodType.HAPPY, "user3", null, null, TODAY.atTime(12, 0))).getId());
+    }
+
+    @Test
+    void testReopen_DropsTornRecordAndEverythingAfter() throws IOException {
+        // Arrange
+        for (int i = 1; i <= 3; i++) {
+            store.saveAndFlush(submission(MoodType.HAPPY, "user" + i, null, null, TODAY.atTime(9, i)));
+        }
+        store.close();
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            // A crash halfway through the second record
+            file.seek(MoodLogStore.RECORD_SIZE + 30);
+            file.write(new byte[]{1, 2, 3});
+        }
+
+        // Act
+        store = new MoodLogStore(path, false);
+        store.saveAndFlush(submission(MoodType.A_BIT_MEH, "user4", null, null, TODAY.atTime(10, 0)));
+        store.close();
+        store = new MoodLogStore(path, false);
+
+        // Assert
+        assertEquals(2, store.size());
+        assertEquals(List.of("user1", "user4"), store.findUserIdsBySubmissionDay(TODAY.toEpochDay()).stream().sorted().toList());
+    }
+}
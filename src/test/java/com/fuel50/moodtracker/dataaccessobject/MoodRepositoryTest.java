@@ -2,19 +2,25 @@ package com.fuel50.moodtracker.dataaccessobject;
 
 import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
 import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@ActiveProfiles("test")
 public class MoodRepositoryTest {
 
     @Autowired
@@ -101,4 +107,360 @@ public class MoodRepositoryTest {
         assertEquals("test-user", retrievedMood.getUserId());
         assertEquals("Test comment", retrievedMood.getComment());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCountMoodsBySubmissionDateBetween() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        LocalDateTime startOfDay = today.atStartOfDay();
+        LocalDateTime endOfDay = today.atTime(23, 59, 59);
+
+        entityManager.persist(submission(MoodType.HAPPY, "user1", "Comment 1", LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.HAPPY, "user2", null, LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.GRUMPY, "user3", "Comment 3", LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.GRUMPY, "user4", "Yesterday", LocalDateTime.now().minusDays(1)));
+        entityManager.flush();
+
+        // Act
+        List<MoodCount> counts = moodRepository.countMoodsBySubmissionDateBetween(startOfDay, endOfDay);
+
+        // Assert
+        assertEquals(2, counts.size(), "Should return one row per mood submitted today");
+        assertEquals(2, counts.stream().filter(c -> c.getMood() == MoodType.HAPPY).findFirst().orElseThrow().getTotal());
+        assertEquals(1, counts.stream().filter(c -> c.getMood() == MoodType.GRUMPY).findFirst().orElseThrow().getTotal());
+    }
+
+    @Test
+    void testFindCommentsBySubmissionDateBetween() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        LocalDateTime startOfDay = today.atStartOfDay();
+        LocalDateTime endOfDay = today.atTime(23, 59, 59);
+
+        entityManager.persist(submission(MoodType.HAPPY, "user1", "Comment 1", LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.A_BIT_MEH, "user2", null, LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.GRUMPY, "user3", "Comment 3", LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.GRUMPY, "user4", "Yesterday", LocalDateTime.now().minusDays(1)));
+        entityManager.flush();
+
+        // Act
+        List<String> comments = moodRepository.findCommentsBySubmissionDateBetween(startOfDay, endOfDay);
+
+        // Assert
+        assertEquals(List.of("Comment 1", "Comment 3"), comments, "Should skip null comments and other days");
+    }
+
+    @Test
+    void testFindCommentsAfter() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        LocalDateTime startOfDay = today.atStartOfDay();
+        LocalDateTime endOfDay = today.atTime(23, 59, 59);
+
+        MoodSubmissionDO first = entityManager.persist(submission(MoodType.HAPPY, "user1", "Comment 1", LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.A_BIT_MEH, "user2", null, LocalDateTime.now()));
+        MoodSubmissionDO second = entityManager.persist(submission(MoodType.GRUMPY, "user3", "Comment 3", LocalDateTime.now()));
+        MoodSubmissionDO third = entityManager.persist(submission(MoodType.HAPPY, "user4", "Comment 4", LocalDateTime.now()));
+        entityManager.flush();
+
+        // Act
+        List<CommentView> firstPage = moodRepository.findCommentsAfter(MoodSubmissionDO.DEFAULT_TEAM, startOfDay, endOfDay, 0L, Limit.of(2));
+        List<CommentView> secondPage = moodRepository.findCommentsAfter(MoodSubmissionDO.DEFAULT_TEAM, startOfDay, endOfDay, second.getId(), Limit.of(2));
+
+        // Assert
+        assertEquals(List.of(first.getId(), second.getId()), firstPage.stream().map(CommentView::getId).toList());
+        assertEquals("Comment 1", firstPage.get(0).getComment());
+        assertEquals(1, secondPage.size());
+        assertEquals(third.getId(), secondPage.get(0).getId());
+        assertEquals(3, moodRepository.countComments(startOfDay, startOfDay.plusDays(1)));
+    }
+
+    @Test
+    void testFindTeamCommentsAfter() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        MoodSubmissionDO first = entityManager.persist(submission(MoodType.HAPPY, "user1", "Comment 1", LocalDateTime.now()));
+        MoodSubmissionDO second = submission(MoodType.GRUMPY, "user2", "Comment 2", LocalDateTime.now());
+        second.setTeamId("design");
+        entityManager.persist(second);
+        entityManager.persist(submission(MoodType.A_BIT_MEH, "user3", null, LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.HAPPY, "user4", "Yesterday", LocalDateTime.now().minusDays(1)));
+        entityManager.flush();
+
+        // Act
+        List<TeamCommentView> comments = moodRepository.findTeamCommentsAfter(today.atStartOfDay(), today.plusDays(1).atStartOfDay(), 0L, Limit.of(10));
+        List<TeamCommentView> afterFirst = moodRepository.findTeamCommentsAfter(today.atStartOfDay(), today.plusDays(1).atStartOfDay(), first.getId(), Limit.of(10));
+
+        // Assert
+        assertEquals(List.of("Comment 1", "Comment 2"), comments.stream().map(TeamCommentView::getComment).toList());
+        assertEquals(List.of(MoodSubmissionDO.DEFAULT_TEAM, "design"), comments.stream().map(TeamCommentView::getTeamId).toList());
+        assertEquals(List.of(second.getId()), afterFirst.stream().map(TeamCommentView::getId).toList());
+    }
+
+    @Test
+    void testStreamSubmissions_DetachesRows() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 3, 14);
+        entityManager.persist(submission(MoodType.HAPPY, "user1", "Later", day.atTime(15, 0)));
+        entityManager.persist(submission(MoodType.GRUMPY, "user2", null, day.atTime(9, 0)));
+        entityManager.persist(submission(MoodType.A_BIT_MEH, "user3", null, day.plusDays(1).atStartOfDay()));
+        entityManager.persist(submission(MoodType.HAPPY, "user4", null, day.atTime(23, 59, 59, 500_000_000)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<MoodSubmissionDO> submissions;
+        try (Stream<MoodSubmissionDO> stream = moodRepository.streamSubmissions(day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+            submissions = stream.toList();
+        }
+
+        // Assert
+        assertEquals(List.of("user2", "user1", "user4"), submissions.stream().map(MoodSubmissionDO::getUserId).toList());
+        assertEquals("Later", submissions.get(1).getComment());
+        assertTrue(submissions.stream().noneMatch(entityManager.getEntityManager()::contains),
+                "Streamed rows should not stay in the persistence context");
+    }
+
+    @Test
+    void testUniqueSubmissionPerUserAndDay() {
+        // Arrange
+        entityManager.persistAndFlush(submission(MoodType.HAPPY, "user1", "First", LocalDateTime.now()));
+        entityManager.persistAndFlush(submission(MoodType.HAPPY, "user1", "Yesterday", LocalDateTime.now().minusDays(1)));
+
+        // Act
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> moodRepository.saveAndFlush(submission(MoodType.GRUMPY, "user1", "Second", LocalDateTime.now())));
+
+        // Assert
+        ConstraintViolationException violation = assertInstanceOf(ConstraintViolationException.class, exception.getCause());
+        assertTrue(violation.getConstraintName().toLowerCase().contains(MoodSubmissionDO.USER_DAY_CONSTRAINT));
+    }
+
+    @Test
+    void testBackfillSubmissionDay() {
+        // Arrange
+        LocalDateTime submissionDate = LocalDateTime.of(2025, 3, 14, 23, 30);
+        MoodSubmissionDO mood = entityManager.persistAndFlush(submission(MoodType.HAPPY, "user1", null, submissionDate));
+        entityManager.getEntityManager()
+                .createNativeQuery("update mood_submission set submission_day = null")
+                .executeUpdate();
+        entityManager.clear();
+
+        // Act
+        int updated = moodRepository.backfillSubmissionDay();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, updated);
+        assertEquals(submissionDate.toLocalDate().toEpochDay(),
+                entityManager.find(MoodSubmissionDO.class, mood.getId()).getSubmissionDay());
+    }
+
+    @Test
+    void testBackfillSubmissionDay_OneByOneSkipsRepeatedSubmissions() {
+        // Arrange - a user's two submissions of a day, stored before the one-per-day index
+        LocalDate day = LocalDate.of(2025, 3, 14);
+        MoodSubmissionDO first = entityManager.persistAndFlush(submission(MoodType.HAPPY, "user1", null, day.atTime(9, 0)));
+        MoodSubmissionDO repeated = entityManager.persistAndFlush(submission(MoodType.GRUMPY, "user2", null, day.atTime(17, 0)));
+        entityManager.getEntityManager()
+                .createNativeQuery("update mood_submission set submission_day = null, user_id = 'user1'")
+                .executeUpdate();
+        entityManager.clear();
+
+        // Act
+        List<Long> ids = moodRepository.findIdsWithoutSubmissionDay(0, Limit.of(10));
+        int updated = moodRepository.backfillSubmissionDay(first.getId());
+        assertThrows(DataIntegrityViolationException.class, () -> moodRepository.backfillSubmissionDay(repeated.getId()));
+        entityManager.clear();
+
+        // Assert
+        assertEquals(List.of(first.getId(), repeated.getId()), ids);
+        assertEquals(1, updated);
+        assertEquals(day.toEpochDay(), entityManager.find(MoodSubmissionDO.class, first.getId()).getSubmissionDay());
+        assertNull(entityManager.find(MoodSubmissionDO.class, repeated.getId()).getSubmissionDay());
+    }
+
+    @Test
+    void testRangeQueries_IncludeSubmissionsWithoutDay() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 3, 14);
+        entityManager.persist(submission(MoodType.HAPPY, "user1", "Dated", day.atTime(9, 0)));
+        MoodSubmissionDO undated = entityManager.persistAndFlush(submission(MoodType.GRUMPY, "user2", "Undated", day.atTime(17, 0)));
+        entityManager.getEntityManager()
+                .createNativeQuery("update mood_submission set submission_day = null where id = " + undated.getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        // Act
+        List<MoodCount> counts = moodRepository.countMoodsBySubmissionDateBetween(day.atStartOfDay(), day.atTime(23, 59, 59));
+        List<String> comments = moodRepository.findCommentsBySubmissionDateBetween(day.atStartOfDay(), day.atTime(23, 59, 59));
+        List<DailyMoodCount> dailyCounts = moodRepository.countDailyMoods(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        List<MoodSubmissionDO> exported;
+        try (Stream<MoodSubmissionDO> stream = moodRepository.streamSubmissions(day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+            exported = stream.toList();
+        }
+        int deleted = moodRepository.deleteSubmissions(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+
+        // Assert
+        assertEquals(2, counts.size());
+        assertEquals(List.of("Dated", "Undated"), comments);
+        assertTrue(dailyCounts.stream().anyMatch(count -> count.getDay() == null && count.getMood() == MoodType.GRUMPY));
+        assertEquals(2, exported.size());
+        assertEquals(2, deleted);
+    }
+
+    @Test
+    void testFindUserIdsBySubmissionDay() {
+        // Arrange
+        entityManager.persist(submission(MoodType.HAPPY, "user1", null, LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.GRUMPY, "user2", null, LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.GRUMPY, "user3", null, LocalDateTime.now().minusDays(1)));
+        entityManager.flush();
+
+        // Act
+        List<String> userIds = moodRepository.findUserIdsBySubmissionDay(LocalDate.now().toEpochDay());
+
+        // Assert
+        assertEquals(2, userIds.size());
+        assertTrue(userIds.containsAll(List.of("user1", "user2")));
+    }
+
+    @Test
+    void testFindUserIdsBySubmissionDayAndUserIdIn() {
+        // Arrange
+        entityManager.persist(submission(MoodType.HAPPY, "user1", null, LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.GRUMPY, "user2", null, LocalDateTime.now()));
+        entityManager.persist(submission(MoodType.GRUMPY, "user3", null, LocalDateTime.now().minusDays(1)));
+        entityManager.flush();
+
+        // Act
+        List<String> userIds = moodRepository.findUserIdsBySubmissionDayAndUserIdIn(LocalDate.now().toEpochDay(),
+                List.of("user1", "user3", "user4"));
+
+        // Assert
+        assertEquals(List.of("user1"), userIds);
+    }
+
+    @Test
+    void testCountDailyMoods() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 3, 3);
+        entityManager.persist(submission(MoodType.HAPPY, "user1", "Great", day.atTime(9, 0)));
+        entityManager.persist(submission(MoodType.HAPPY, "user2", null, day.atTime(17, 0)));
+        entityManager.persist(submission(MoodType.GRUMPY, "user3", "Meh", day.plusDays(1).atTime(9, 0)));
+        entityManager.persist(submission(MoodType.GRUMPY, "user4", null, day.plusDays(2).atTime(9, 0)));
+        entityManager.flush();
+
+        // Act
+        List<DailyMoodCount> counts = moodRepository.countDailyMoods(day.atStartOfDay(), day.plusDays(2).atStartOfDay());
+
+        // Assert
+        assertEquals(2, counts.size(), "Should group by day and mood, excluding the end of the range");
+        DailyMoodCount happy = counts.stream().filter(count -> count.getMood() == MoodType.HAPPY).findFirst().orElseThrow();
+        assertEquals(day.toEpochDay(), happy.getDay());
+        assertEquals(2, happy.getTotal());
+        assertEquals(1, happy.getComments());
+    }
+
+    @Test
+    void testTeamQueriesOnlyReadOwnTeam() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        MoodSubmissionDO platform = submission(MoodType.HAPPY, "user1", "Shipped it", now);
+        platform.setTeamId("platform");
+        MoodSubmissionDO design = submission(MoodType.GRUMPY, "user2", "Too many meetings", now);
+        design.setTeamId("design");
+        entityManager.persist(platform);
+        entityManager.persist(design);
+        entityManager.flush();
+        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
+        LocalDateTime endOfDay = now.toLocalDate().atTime(23, 59, 59);
+
+        // Act
+        List<MoodCount> counts = moodRepository.countMoodsByTeamIdAndSubmissionDateBetween("platform", startOfDay, endOfDay);
+        List<String> comments = moodRepository.findCommentsByTeamIdAndSubmissionDateBetween("design", startOfDay, endOfDay);
+        List<TeamMoodCount> teamCounts = moodRepository.countTeamMoods(startOfDay, startOfDay.plusDays(1));
+
+        // Assert
+        assertEquals(1, counts.size());
+        assertEquals(MoodType.HAPPY, counts.get(0).getMood());
+        assertEquals(List.of("Too many meetings"), comments);
+        assertEquals(1, moodRepository.countByTeamIdAndSubmissionDateBetweenAndCommentIsNotNull("platform", startOfDay, endOfDay));
+        assertEquals(2, teamCounts.size());
+        assertTrue(teamCounts.stream().anyMatch(count -> count.getTeamId().equals("design") && count.getComments() == 1));
+    }
+
+    @Test
+    void testDayQueriesReadUpToNextMidnight() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 3, 14);
+        entityManager.persist(submission(MoodType.HAPPY, "user1", "Last second", day.atTime(23, 59, 59, 500_000_000)));
+        entityManager.persist(submission(MoodType.GRUMPY, "user2", "Next day", day.plusDays(1).atStartOfDay()));
+        entityManager.flush();
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+
+        // Act
+        List<TeamMoodCount> teamCounts = moodRepository.countTeamMoods(from, to);
+        List<TeamCommentView> comments = moodRepository.findTeamCommentsAfter(from, to, 0L, Limit.of(10));
+
+        // Assert
+        assertEquals(1, teamCounts.size());
+        assertEquals(MoodType.HAPPY, teamCounts.get(0).getMood());
+        assertEquals(1, moodRepository.countComments(from, to));
+        assertEquals(List.of("Last second"), comments.stream().map(TeamCommentView::getComment).toList());
+    }
+
+    @Test
+    void testBackfillTeamId() {
+        // Arrange
+        MoodSubmissionDO withoutTeam = submission(MoodType.HAPPY, "user1", null, LocalDateTime.now());
+        withoutTeam.setTeamId(null);
+        entityManager.persist(withoutTeam);
+        entityManager.persist(submission(MoodType.HAPPY, "user2", null, LocalDateTime.now()));
+        entityManager.flush();
+
+        // Act
+        int updated = moodRepository.backfillTeamId(MoodSubmissionDO.DEFAULT_TEAM);
+
+        // Assert
+        assertEquals(1, updated);
+    }
+
+    @Test
+    void testDeleteSubmissions_OnlyDeletesTheRange() {
+        // Arrange
+        LocalDate month = LocalDate.of(2024, 5, 1);
+        entityManager.persist(submission(MoodType.HAPPY, "user1", null, month.minusDays(1).atTime(23, 59, 59)));
+        entityManager.persist(submission(MoodType.HAPPY, "user2", null, month.atStartOfDay()));
+        entityManager.persist(submission(MoodType.GRUMPY, "user3", null, month.plusMonths(1).minusDays(1).atTime(23, 59, 59)));
+        entityManager.persist(submission(MoodType.GRUMPY, "user4", null, month.plusMonths(1).atStartOfDay()));
+        entityManager.flush();
+
+        // Act
+        int deleted = moodRepository.deleteSubmissions(month.atStartOfDay(), month.plusMonths(1).atStartOfDay());
+
+        // Assert
+        assertEquals(2, deleted);
+        assertEquals(month.minusDays(1).atTime(23, 59, 59), moodRepository.findFirstSubmissionDate());
+        assertEquals(2, moodRepository.count());
+    }
+
+    @Test
+    void testSaveAllUsesSequenceIds() {
+        // Act
+        List<MoodSubmissionDO> saved = moodRepository.saveAllAndFlush(List.of(
+                submission(MoodType.HAPPY, "user1", null, LocalDateTime.now()),
+                submission(MoodType.HAPPY, "user2", null, LocalDateTime.now())));
+
+        // Assert
+        assertNotNull(saved.get(0).getId());
+        assertTrue(saved.get(1).getId() > saved.get(0).getId());
+    }
+
+    private static MoodSubmissionDO submission(MoodType mood, String userId, String comment, LocalDateTime submissionDate) {
+        MoodSubmissionDO submission = new MoodSubmissionDO(mood, userId, comment);
+        submission.setSubmissionDate(submissionDate);
+        return submission;
+    }
+}
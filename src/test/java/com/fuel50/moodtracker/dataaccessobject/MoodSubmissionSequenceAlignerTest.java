@@ -0,0 +1,63 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MoodSubmissionSequenceAlignerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("create table mood_submission (id bigint primary key)");
+    }
+
+    @Test
+    void testAlign_MovesEmulatedSequencePastExistingIds() {
+        // Arrange - the table MySQL uses in place of a sequence
+        jdbcTemplate.execute("create table mood_submission_seq (next_val bigint)");
+        jdbcTemplate.update("insert into mood_submission_seq values (1)");
+        jdbcTemplate.update("insert into mood_submission values (120)");
+
+        // Act
+        new MoodSubmissionSequenceAligner(jdbcTemplate, null).align();
+
+        // Assert
+        assertEquals(120L + MoodSubmissionDO.ID_ALLOCATION_SIZE + 1,
+                jdbcTemplate.queryForObject("select next_val from mood_submission_seq", Long.class));
+    }
+
+    @Test
+    void testAlign_LeavesSequenceAheadOfIdsAlone() {
+        // Arrange
+        jdbcTemplate.execute("create table mood_submission_seq (next_val bigint)");
+        jdbcTemplate.update("insert into mood_submission_seq values (5000)");
+        jdbcTemplate.update("insert into mood_submission values (120)");
+
+        // Act
+        new MoodSubmissionSequenceAligner(jdbcTemplate, null).align();
+
+        // Assert
+        assertEquals(5000L, jdbcTemplate.queryForObject("select next_val from mood_submission_seq", Long.class));
+    }
+
+    @Test
+    void testAlign_NativeSequenceIsNotTouched() {
+        // Arrange
+        jdbcTemplate.execute("create sequence mood_submission_seq start with 1 increment by 50");
+
+        // Act
+        new MoodSubmissionSequenceAligner(jdbcTemplate, null).align();
+
+        // Assert
+        assertEquals(1L, jdbcTemplate.queryForObject("select next value for mood_submission_seq", Long.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.fuel50.moodtracker.dataaccessobject;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubmissionPartitionsTest {
+
+    @Test
+    void testPartitionStatement_OneRangePerMonth() {
+        // Act
+        String statement = SubmissionPartitions.partitionStatement(YearMonth.of(2024, 12), YearMonth.of(2025, 1));
+
+        // Assert
+        assertEquals("alter table mood_submission partition by range (submission_day) ("
+                + "partition p202412 values less than (" + LocalDate.of(2025, 1, 1).toEpochDay() + "), "
+                + "partition p202501 values less than (" + LocalDate.of(2025, 2, 1).toEpochDay() + "), "
+                + "partition pmax values less than maxvalue)", statement);
+    }
+
+    @Test
+    void testReorganizeStatement_SplitsTheCatchAllPartition() {
+        // Act
+        String statement = SubmissionPartitions.reorganizeStatement(YearMonth.of(2025, 3), YearMonth.of(2025, 3));
+
+        // Assert
+        assertEquals("alter table mood_submission reorganize partition pmax into ("
+                + "partition p202503 values less than (" + LocalDate.of(2025, 4, 1).toEpochDay() + "), "
+                + "partition pmax values less than maxvalue)", statement);
+    }
+
+    @Test
+    void testDropStatement() {
+        // Act
+        String statement = SubmissionPartitions.dropStatement(List.of(YearMonth.of(2023, 11), YearMonth.of(2023, 12)));
+
+        // Assert
+        assertEquals("alter table mood_submission drop partition p202311, p202312", statement);
+    }
+
+    @Test
+    void testMaintain_LeavesOtherDatabasesAlone() {
+        // Arrange
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("create table mood_submission (id bigint primary key, submission_day bigint)");
+        SubmissionPartitions partitions = new SubmissionPartitions(jdbcTemplate, null, true, 2);
+
+        // Act
+        partitions.maintain(YearMonth.of(2025, 3));
+
+        // Assert
+        assertFalse(partitions.isPartitioned());
+    }
+}
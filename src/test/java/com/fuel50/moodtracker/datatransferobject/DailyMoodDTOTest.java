@@ -0,0 +1,31 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DailyMoodDTOTest {
+
+    @Test
+    void testSerialization() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        DailyMoodDTO dailyMood = new DailyMoodDTO(LocalDate.of(2025, 3, 3), MoodType.A_BIT_MEH, 3.0, 1, 0,
+                Map.of(MoodType.A_BIT_MEH, 1L));
+
+        // Act
+        String json = objectMapper.writeValueAsString(dailyMood);
+
+        // Assert
+        assertTrue(json.contains("\"day\":\"2025-03-03\""));
+        assertTrue(json.contains("\"overallMood\":\"A_BIT_MEH\""));
+        assertTrue(json.contains("\"averageScore\":3.0"));
+        assertTrue(json.contains("\"moodCounts\":{\"A_BIT_MEH\":1}"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fuel50.moodtracker.domainvalue.BatchItemStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoodBatchResultDTOTest {
+
+    @Test
+    void testMoodBatchResultDTO() {
+        // Arrange & Act
+        MoodBatchResultDTO result = new MoodBatchResultDTO(3, BatchItemStatus.INVALID, "Mood can not be null!");
+
+        // Assert
+        assertEquals(3, result.getIndex());
+        assertEquals(BatchItemStatus.INVALID, result.getStatus());
+        assertEquals("Mood can not be null!", result.getMessage());
+    }
+
+    @Test
+    void testMoodBatchResultDTO_WithoutMessage() {
+        // Arrange & Act
+        MoodBatchResultDTO result = new MoodBatchResultDTO(0, BatchItemStatus.ACCEPTED, null);
+
+        // Assert
+        assertEquals(BatchItemStatus.ACCEPTED, result.getStatus());
+        assertNull(result.getMessage());
+    }
+}
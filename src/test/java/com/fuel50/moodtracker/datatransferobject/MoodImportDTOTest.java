@@ -0,0 +1,77 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoodImportDTOTest {
+
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Test
+    void testReadFromJson() throws Exception {
+        // Arrange
+        String json = "{\"mood\":\"GRUMPY\",\"userId\":\"user1\",\"teamId\":\"platform\",\"comment\":\"Long day\","
+                + "\"submissionDate\":\"2024-05-01T09:30:00\"}";
+
+        // Act
+        MoodImportDTO dto = new ObjectMapper().registerModule(new JavaTimeModule()).readValue(json, MoodImportDTO.class);
+
+        // Assert
+        assertEquals(MoodType.GRUMPY, dto.getMood());
+        assertEquals("user1", dto.getUserId());
+        assertEquals("platform", dto.getTeamId());
+        assertEquals("Long day", dto.getComment());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 9, 30), dto.getSubmissionDate());
+        assertTrue(validator.validate(dto).isEmpty());
+    }
+
+    @Test
+    void testValidate_NullSubmissionDate() {
+        // Arrange
+        MoodImportDTO dto = moodImport(null);
+
+        // Act
+        Set<ConstraintViolation<MoodImportDTO>> violations = validator.validate(dto);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals("Submission date can not be null!", violations.iterator().next().getMessage());
+    }
+
+    @Test
+    void testValidate_FutureSubmissionDate() {
+        // Arrange
+        MoodImportDTO dto = moodImport(LocalDateTime.now().plusDays(1));
+
+        // Act
+        Set<ConstraintViolation<MoodImportDTO>> violations = validator.validate(dto);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals("Submission date can not be in the future!", violations.iterator().next().getMessage());
+    }
+
+    private static MoodImportDTO moodImport(LocalDateTime submissionDate) {
+        MoodImportDTO dto = new MoodImportDTO();
+        dto.setMood(MoodType.HAPPY);
+        dto.setUserId("user1");
+        dto.setSubmissionDate(submissionDate);
+        return dto;
+    }
+}
@@ -0,0 +1,37 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoodUpdateDTOTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testMoodUpdateDTO() {
+        // Arrange & Act
+        MoodUpdateDTO update = new MoodUpdateDTO(MoodType.HAPPY, 3, 1, MoodType.GRUMPY, "Comment");
+
+        // Assert
+        assertEquals(MoodType.HAPPY, update.getOverallMood());
+        assertEquals(3, update.getSubmissionCount());
+        assertEquals(1, update.getCommentCount());
+        assertEquals(MoodType.GRUMPY, update.getMood());
+        assertEquals("Comment", update.getComment());
+    }
+
+    @Test
+    void testSnapshotOmitsSubmissionFields() throws Exception {
+        // Arrange
+        MoodUpdateDTO snapshot = new MoodUpdateDTO(MoodType.A_BIT_MEH, 10, 4, null, null);
+
+        // Act
+        String json = objectMapper.writeValueAsString(snapshot);
+
+        // Assert
+        assertEquals("{\"overallMood\":\"A_BIT_MEH\",\"submissionCount\":10,\"commentCount\":4}", json);
+    }
+}
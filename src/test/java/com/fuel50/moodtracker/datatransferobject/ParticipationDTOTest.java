@@ -0,0 +1,43 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParticipationDTOTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void testParticipationDTO() {
+        // Arrange & Act
+        ParticipationDTO participation = new ParticipationDTO(LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 16),
+                12, 40, Map.of(MoodType.HAPPY, 1.0));
+
+        // Assert
+        assertEquals(LocalDate.of(2025, 3, 10), participation.getFrom());
+        assertEquals(LocalDate.of(2025, 3, 16), participation.getTo());
+        assertEquals(12, participation.getDistinctParticipants());
+        assertEquals(40, participation.getSubmissionCount());
+        assertEquals(1.0, participation.getMoodShares().get(MoodType.HAPPY));
+    }
+
+    @Test
+    void testSerialization() throws Exception {
+        // Act
+        String json = objectMapper.writeValueAsString(new ParticipationDTO(LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 16),
+                12, 40, Map.of(MoodType.GRUMPY, 0.25)));
+
+        // Assert
+        assertTrue(json.contains("\"from\":\"2025-03-10\""));
+        assertTrue(json.contains("\"to\":\"2025-03-16\""));
+        assertTrue(json.contains("\"distinctParticipants\":12"));
+        assertTrue(json.contains("\"moodShares\":{\"GRUMPY\":0.25}"));
+    }
+}
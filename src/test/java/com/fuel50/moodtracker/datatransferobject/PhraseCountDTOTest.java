@@ -0,0 +1,30 @@
+package com.fuel50.moodtracker.datatransferobject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PhraseCountDTOTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testPhraseCountDTO() {
+        // Arrange & Act
+        PhraseCountDTO phraseCount = new PhraseCountDTO("team lunch", 7);
+
+        // Assert
+        assertEquals("team lunch", phraseCount.getPhrase());
+        assertEquals(7, phraseCount.getCount());
+    }
+
+    @Test
+    void testSerialization() throws Exception {
+        // Act
+        String json = objectMapper.writeValueAsString(new PhraseCountDTO("release", 3));
+
+        // Assert
+        assertEquals("{\"phrase\":\"release\",\"count\":3}", json);
+    }
+}
@@ -1,5 +1,7 @@
 package com.fuel50.moodtracker.datatransferobject;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fuel50.moodtracker.domainvalue.MoodType;
 import org.junit.jupiter.api.Test;
 
@@ -65,4 +67,28 @@ public class TeamMoodDTOTest {
         assertEquals(MoodType.A_BIT_MEH, teamMood.getOverallMood());
         assertNull(teamMood.getComments(), "Comments should be null when initialized with null");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTeamMoodDTO_CommentCount() {
+        // Arrange & Act
+        TeamMoodDTO withComments = new TeamMoodDTO(MoodType.HAPPY, Arrays.asList("Comment 1", "Comment 2"));
+        TeamMoodDTO summary = new TeamMoodDTO(MoodType.HAPPY, null, 42);
+
+        // Assert
+        assertEquals(2, withComments.getCommentCount(), "Comment count should default to the number of comments");
+        assertNull(summary.getComments());
+        assertEquals(42, summary.getCommentCount());
+    }
+
+    @Test
+    void testTeamMoodDTO_SerializesNullMoodButLeavesOutNullComments() throws JsonProcessingException {
+        // Arrange
+        TeamMoodDTO summary = new TeamMoodDTO(null, null, 0);
+
+        // Act
+        String json = new ObjectMapper().writeValueAsString(summary);
+
+        // Assert
+        assertEquals("{\"overallMood\":null,\"commentCount\":0}", json);
+    }
+}
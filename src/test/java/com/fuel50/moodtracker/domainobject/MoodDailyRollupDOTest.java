@@ -0,0 +1,40 @@
+package com.fuel50.moodtracker.domainobject;
+
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoodDailyRollupDOTest {
+
+    @Test
+    void testMoodDailyRollupDO_Empty() {
+        // Arrange & Act
+        MoodDailyRollupDO rollup = new MoodDailyRollupDO(LocalDate.of(2025, 3, 1));
+
+        // Assert
+        assertEquals(LocalDate.of(2025, 3, 1), rollup.getDay());
+        assertEquals(0, rollup.getSubmissionCount());
+        assertNull(rollup.getOverallMood());
+    }
+
+    @Test
+    void testSetCount_KeepsTotalsInLine() {
+        // Arrange
+        MoodDailyRollupDO rollup = new MoodDailyRollupDO(LocalDate.of(2025, 3, 1));
+        rollup.setCount(MoodType.HAPPY, 4);
+        rollup.setCount(MoodType.STRESSED_OUT_NOT_A_HAPPY_CAMPER, 2);
+
+        // Act
+        rollup.setCount(MoodType.HAPPY, 1);
+
+        // Assert
+        assertEquals(1, rollup.getCount(MoodType.HAPPY));
+        assertEquals(2, rollup.getCount(MoodType.STRESSED_OUT_NOT_A_HAPPY_CAMPER));
+        assertEquals(3, rollup.getSubmissionCount());
+        assertEquals(7, rollup.getScoreSum());
+        assertEquals(MoodType.GRUMPY, rollup.getOverallMood());
+    }
+}
@@ -77,4 +77,17 @@ public class MoodSubmissionDOTest {
         assertEquals(MoodType.A_BIT_MEH, moodSubmission.getMood(), "Mood should remain unchanged");
         assertEquals("test-user", moodSubmission.getUserId(), "User ID should remain unchanged");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMoodSubmissionDO_SubmissionDayFollowsSubmissionDate() {
+        // Arrange
+        MoodSubmissionDO moodSubmission = new MoodSubmissionDO(MoodType.HAPPY, "test-user", null);
+        LocalDateTime submissionDate = LocalDateTime.of(2025, 1, 2, 23, 59, 59);
+
+        // Act
+        moodSubmission.setSubmissionDate(submissionDate);
+
+        // Assert
+        assertEquals(submissionDate.toLocalDate().toEpochDay(), moodSubmission.getSubmissionDay());
+    }
+}
@@ -0,0 +1,27 @@
+package com.fuel50.moodtracker.domainvalue;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportingPeriodTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "DAY, 2025-03-13, 2025-03-13, 2025-03-14",
+        "WEEK, 2025-03-13, 2025-03-10, 2025-03-17",
+        "WEEK, 2025-03-10, 2025-03-10, 2025-03-17",
+        "MONTH, 2025-02-13, 2025-02-01, 2025-03-01"
+    })
+    void testStartAndNext(ReportingPeriod period, LocalDate day, LocalDate expectedStart, LocalDate expectedNext) {
+        // Act
+        LocalDate start = period.start(day);
+
+        // Assert
+        assertEquals(expectedStart, start);
+        assertEquals(expectedNext, period.next(start));
+    }
+}
@@ -0,0 +1,31 @@
+package com.fuel50.moodtracker.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubmissionQueueFullExceptionTest {
+
+    @Test
+    void testSubmissionQueueFullException() {
+        // Arrange
+        String errorMessage = "Too many submissions right now";
+
+        // Act
+        SubmissionQueueFullException exception = new SubmissionQueueFullException(errorMessage);
+
+        // Assert
+        assertEquals(errorMessage, exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    void testExceptionInheritance() {
+        // Arrange & Act
+        SubmissionQueueFullException exception = new SubmissionQueueFullException("Test message");
+
+        // Assert
+        assertTrue(exception instanceof RuntimeException,
+                "SubmissionQueueFullException should be a subclass of RuntimeException");
+    }
+}
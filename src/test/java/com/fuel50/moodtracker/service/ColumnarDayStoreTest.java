@@ -0,0 +1,177 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.CommentView;
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.dataaccessobject.TeamCommentView;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ColumnarDayStoreTest {
+
+    private static final String TEAM = "platform";
+
+    @Mock
+    private MoodRepository moodRepository;
+
+    @InjectMocks
+    private ColumnarDayStore store;
+
+    private LocalDate today;
+    private LocalDateTime startOfDay;
+    private LocalDateTime startOfNextDay;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        startOfDay = today.atStartOfDay();
+        startOfNextDay = today.plusDays(1).atStartOfDay();
+    }
+
+    private static TeamCommentView comment(long id, String teamId, String comment) {
+        return new TeamCommentView() {
+            public Long getId() { return id; }
+            public String getTeamId() { return teamId; }
+            public MoodType getMood() { return MoodType.HAPPY; }
+            public String getComment() { return comment; }
+        };
+    }
+
+    private static MoodSubmittedEvent submitted(long id, String comment) {
+        MoodSubmissionDO submission = new MoodSubmissionDO(MoodType.HAPPY, "user" + id, comment);
+        submission.setId(id);
+        submission.setTeamId(TEAM);
+        submission.setSubmissionDate(LocalDateTime.now());
+        return new MoodSubmittedEvent(submission);
+    }
+
+    @Test
+    void testGetComments_LoadsDayOnce() {
+        // Arrange
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, 0L, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(List.of(comment(1L, TEAM, "Great day"), comment(2L, "design", "Long day")));
+
+        // Act
+        List<String> first = store.getComments(TEAM, today);
+        List<String> second = store.getComments(TEAM, today);
+
+        // Assert
+        assertEquals(List.of("Great day"), first);
+        assertEquals(first, second);
+        verify(moodRepository, times(1)).findTeamCommentsAfter(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testGetComments_LoadsInPages() {
+        // Arrange
+        List<TeamCommentView> fullPage = new ArrayList<>();
+        for (long id = 1; id <= ColumnarDayStore.LOAD_PAGE_SIZE; id++) {
+            fullPage.add(comment(id, TEAM, "Comment " + id));
+        }
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, 0L, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(fullPage);
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, ColumnarDayStore.LOAD_PAGE_SIZE, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(List.of(comment(ColumnarDayStore.LOAD_PAGE_SIZE + 1, TEAM, "Last")));
+
+        // Act
+        List<String> comments = store.getComments(TEAM, today);
+
+        // Assert
+        assertEquals(ColumnarDayStore.LOAD_PAGE_SIZE + 1, comments.size());
+        assertEquals("Last", comments.get(comments.size() - 1));
+    }
+
+    @Test
+    void testOnMoodSubmitted_AddsCommentToLoadedDay() {
+        // Arrange
+        store.rebuild();
+
+        // Act
+        store.onMoodSubmitted(submitted(4L, "Just submitted"));
+        store.onMoodSubmitted(submitted(5L, null));
+
+        // Assert
+        List<CommentView> page = store.getCommentsAfter(TEAM, today, 0L, 10);
+        assertEquals(1, page.size());
+        assertEquals(4L, page.get(0).getId());
+        verify(moodRepository, times(1)).findTeamCommentsAfter(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testResync_SkipsReloadWhenCountMatches() {
+        // Arrange
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, 0L, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(List.of(comment(1L, TEAM, "Great day")));
+        when(moodRepository.countComments(startOfDay, startOfNextDay)).thenReturn(1L);
+        store.rebuild();
+
+        // Act
+        store.resync();
+
+        // Assert
+        verify(moodRepository, times(1)).findTeamCommentsAfter(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testResync_PicksUpCommentsFromOtherInstances() {
+        // Arrange
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, 0L, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(List.of(comment(1L, TEAM, "Great day")))
+                .thenReturn(List.of(comment(1L, TEAM, "Great day"), comment(2L, TEAM, "Elsewhere")));
+        when(moodRepository.countComments(startOfDay, startOfNextDay)).thenReturn(2L);
+        store.rebuild();
+
+        // Act
+        store.resync();
+
+        // Assert
+        assertEquals(List.of("Great day", "Elsewhere"), store.getComments(TEAM, today));
+    }
+
+    @Test
+    void testResync_KeepsCommentCommittedDuringReloadWithLowerId() {
+        // Arrange - another instance's comment has a higher id than the one committed here during the reload
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, 0L, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(List.of(comment(1L, TEAM, "Great day")))
+                .thenAnswer(invocation -> {
+                    store.onMoodSubmitted(submitted(50L, "Committed here"));
+                    return List.of(comment(1L, TEAM, "Great day"), comment(100L, TEAM, "Elsewhere"));
+                });
+        when(moodRepository.countComments(startOfDay, startOfNextDay)).thenReturn(2L);
+        store.rebuild();
+
+        // Act
+        store.resync();
+
+        // Assert
+        assertEquals(List.of("Great day", "Committed here", "Elsewhere"), store.getComments(TEAM, today));
+    }
+
+    @Test
+    void testOnMoodSubmitted_RunsBeforeAggregateVersionChanges() throws Exception {
+        // Arrange
+        Order columns = ColumnarDayStore.class.getMethod("onMoodSubmitted", MoodSubmittedEvent.class).getAnnotation(Order.class);
+        Order aggregate = DailyMoodAggregator.class.getMethod("onMoodSubmitted", MoodSubmittedEvent.class).getAnnotation(Order.class);
+
+        // Act & Assert
+        assertTrue(columns.value() < aggregate.value(), "A new ETag should never be served with the comments before it");
+    }
+}
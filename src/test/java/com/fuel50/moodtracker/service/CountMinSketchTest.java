@@ -0,0 +1,49 @@
+package com.fuel50.moodtracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountMinSketchTest {
+
+    @Test
+    void testEstimate_ExactWithoutCollisions() {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            sketch.add("deadline");
+        }
+        sketch.add("lunch");
+
+        // Assert
+        assertEquals(5, sketch.estimate("deadline"));
+        assertEquals(1, sketch.estimate("lunch"));
+        assertEquals(0, sketch.estimate("holiday"));
+    }
+
+    @Test
+    void testEstimate_NeverBelowTrueCount() {
+        // Arrange - far more keys than counters, so rows collide
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add("phrase " + (i % 500));
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 500; i++) {
+            assertTrue(sketch.estimate("phrase " + i) >= 10);
+        }
+    }
+
+    @Test
+    void testAdd_ReturnsNewEstimate() {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(2, 16);
+
+        // Act & Assert
+        assertEquals(1, sketch.add("sprint"));
+        assertEquals(2, sketch.add("sprint"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DailyMoodAggregateTest {
+
+    @Test
+    void testEmptyAggregate() {
+        // Arrange & Act
+        DailyMoodAggregate aggregate = new DailyMoodAggregate(LocalDate.now());
+
+        // Assert
+        assertEquals(0, aggregate.getTotalCount());
+        assertEquals(0, aggregate.getScoreSum());
+        assertNull(aggregate.getOverallMood(), "Overall mood should be null without submissions");
+    }
+
+    @Test
+    void testRecordUpdatesCountsAndSum() {
+        // Arrange
+        DailyMoodAggregate aggregate = new DailyMoodAggregate(LocalDate.now());
+
+        // Act
+        aggregate.record(MoodType.HAPPY, true);
+        aggregate.record(MoodType.HAPPY, false);
+        aggregate.record(MoodType.GRUMPY, true);
+
+        // Assert
+        assertEquals(2, aggregate.getCount(MoodType.HAPPY));
+        assertEquals(1, aggregate.getCount(MoodType.GRUMPY));
+        assertEquals(0, aggregate.getCount(MoodType.A_BIT_MEH));
+        assertEquals(3, aggregate.getTotalCount());
+        assertEquals(12, aggregate.getScoreSum());
+        assertEquals(2, aggregate.getCommentCount());
+    }
+
+    @Test
+    void testOverallMoodUsesAverageScore() {
+        // Arrange
+        DailyMoodAggregate aggregate = new DailyMoodAggregate(LocalDate.now());
+
+        // Act - (5 + 2 + 4) / 3 = 3.67
+        aggregate.record(MoodType.HAPPY, false);
+        aggregate.record(MoodType.GRUMPY, false);
+        aggregate.record(MoodType.JUST_NORMAL_REALLY, false);
+
+        // Assert
+        assertEquals(MoodType.JUST_NORMAL_REALLY, aggregate.getOverallMood());
+    }
+
+    @Test
+    void testAddCount() {
+        // Arrange
+        DailyMoodAggregate aggregate = new DailyMoodAggregate(LocalDate.now());
+
+        // Act
+        aggregate.add(MoodType.STRESSED_OUT_NOT_A_HAPPY_CAMPER, 4);
+
+        // Assert
+        assertEquals(4, aggregate.getTotalCount());
+        assertEquals(MoodType.STRESSED_OUT_NOT_A_HAPPY_CAMPER, aggregate.getOverallMood());
+    }
+
+    @Test
+    void testRecordAdvancesVersion() {
+        // Arrange
+        DailyMoodAggregate aggregate = new DailyMoodAggregate(LocalDate.now());
+        String before = aggregate.getVersion();
+
+        // Act
+        aggregate.record(MoodType.HAPPY, false);
+
+        // Assert
+        assertNotEquals(before, aggregate.getVersion());
+    }
+
+    @Test
+    void testVersionDiffersBetweenInstances() {
+        // Arrange & Act
+        DailyMoodAggregate first = new DailyMoodAggregate(LocalDate.now());
+        DailyMoodAggregate second = new DailyMoodAggregate(LocalDate.now());
+
+        // Assert
+        assertNotEquals(first.getVersion(), second.getVersion());
+        assertTrue(first.hasSameCounts(second));
+    }
+
+    @Test
+    void testHasSameCounts_DetectsDifferentComments() {
+        // Arrange
+        DailyMoodAggregate first = new DailyMoodAggregate(LocalDate.now());
+        DailyMoodAggregate second = new DailyMoodAggregate(LocalDate.now());
+        first.add(MoodType.HAPPY, 1);
+        second.add(MoodType.HAPPY, 1);
+        second.addComments(1);
+
+        // Act & Assert
+        assertFalse(first.hasSameCounts(second));
+    }
+}
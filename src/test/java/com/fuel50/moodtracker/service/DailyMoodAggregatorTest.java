@@ -0,0 +1,273 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.dataaccessobject.TeamMoodCount;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DailyMoodAggregatorTest {
+
+    @Mock
+    private MoodRepository moodRepository;
+
+    @InjectMocks
+    private DailyMoodAggregator aggregator;
+
+    private LocalDate today;
+    private LocalDateTime startOfDay;
+    private LocalDateTime startOfNextDay;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        startOfDay = today.atStartOfDay();
+        startOfNextDay = today.plusDays(1).atStartOfDay();
+    }
+
+    @Test
+    void testForDay_LoadsFromRepositoryOnce() {
+        // Arrange
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay)).thenReturn(List.of(
+                teamMoodCount("platform", MoodType.HAPPY, 1, 1),
+                teamMoodCount("design", MoodType.GRUMPY, 1, 0)
+        ));
+
+        // Act
+        DailyMoodAggregate first = aggregator.forDay(today);
+        DailyMoodAggregate second = aggregator.forDay(today);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(2, first.getTotalCount());
+        assertEquals(1, first.getCommentCount());
+        verify(moodRepository, times(1)).countTeamMoods(startOfDay, startOfNextDay);
+    }
+
+    @Test
+    void testOnMoodSubmitted_UpdatesLoadedAggregate() {
+        // Arrange
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay)).thenReturn(Collections.emptyList());
+        DailyMoodAggregate aggregate = aggregator.forDay(today);
+
+        // Act
+        aggregator.onMoodSubmitted(new MoodSubmittedEvent(new MoodSubmissionDO(MoodType.A_BIT_MEH, "user1", "Comment")));
+
+        // Assert
+        assertEquals(1, aggregate.getCount(MoodType.A_BIT_MEH));
+        assertEquals(MoodType.A_BIT_MEH, aggregate.getOverallMood());
+        assertEquals(1, aggregate.getCommentCount());
+    }
+
+    @Test
+    void testOnMoodSubmitted_DoesNotDoubleCountWhenDayIsLoadedLazily() {
+        // Arrange - the committed submission is already visible in the database
+        MoodSubmissionDO submission = new MoodSubmissionDO(MoodType.HAPPY, "user1", null);
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(List.of(teamMoodCount(MoodSubmissionDO.DEFAULT_TEAM, MoodType.HAPPY, 1, 0)));
+
+        // Act
+        aggregator.onMoodSubmitted(new MoodSubmittedEvent(submission));
+
+        // Assert
+        assertEquals(1, aggregator.forDay(today).getTotalCount());
+        assertEquals(1, aggregator.forTeam(MoodSubmissionDO.DEFAULT_TEAM, today).getTotalCount());
+    }
+
+    @Test
+    void testOnMoodSubmitted_CountsSubmissionCommittedWhileDayIsLoading() throws Exception {
+        // Arrange - a reader loads the day from a snapshot taken before the submission was committed
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+        Thread reader = new Thread(() -> aggregator.forDay(today));
+        reader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Thread submitter = new Thread(() -> aggregator.onMoodSubmitted(
+                new MoodSubmittedEvent(new MoodSubmissionDO(MoodType.HAPPY, "user1", null))));
+
+        // Act
+        submitter.start();
+        awaitBlocked(submitter);
+        release.countDown();
+        reader.join(5_000);
+        submitter.join(5_000);
+
+        // Assert
+        assertEquals(1, aggregator.forDay(today).getCount(MoodType.HAPPY));
+        assertEquals(1, aggregator.forTeam(MoodSubmissionDO.DEFAULT_TEAM, today).getCount(MoodType.HAPPY));
+        verify(moodRepository, times(1)).countTeamMoods(startOfDay, startOfNextDay);
+    }
+
+    @Test
+    void testResync_ReplacesTodayFromRepository() {
+        // Arrange
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of(teamMoodCount("platform", MoodType.HAPPY, 1, 0)));
+        aggregator.rebuild();
+
+        // Act
+        aggregator.resync();
+
+        // Assert
+        assertEquals(1, aggregator.forDay(today).getCount(MoodType.HAPPY));
+    }
+
+    @Test
+    void testResync_KeepsAggregateWhenNothingChanged() {
+        // Arrange
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(List.of(teamMoodCount("platform", MoodType.HAPPY, 1, 0)));
+        aggregator.rebuild();
+        DailyMoodAggregate before = aggregator.forDay(today);
+        DailyMoodAggregate platform = aggregator.forTeam("platform", today);
+
+        // Act
+        aggregator.resync();
+
+        // Assert
+        assertSame(before, aggregator.forDay(today));
+        assertSame(platform, aggregator.forTeam("platform", today));
+    }
+
+    @Test
+    void testResync_CountsSubmissionCommittedWhileDayIsCounted() throws Exception {
+        // Arrange - the resync counts from a snapshot taken before the submission was committed
+        CountDownLatch counting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(List.of(teamMoodCount("platform", MoodType.HAPPY, 1, 0)))
+                .thenAnswer(invocation -> {
+                    counting.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of(teamMoodCount("platform", MoodType.HAPPY, 2, 0));
+                });
+        aggregator.rebuild();
+        Thread resync = new Thread(aggregator::resync);
+        resync.start();
+        assertTrue(counting.await(5, TimeUnit.SECONDS));
+        MoodSubmissionDO submission = new MoodSubmissionDO(MoodType.GRUMPY, "user1", null);
+        submission.setTeamId("platform");
+        Thread submitter = new Thread(() -> aggregator.onMoodSubmitted(new MoodSubmittedEvent(submission)));
+
+        // Act
+        submitter.start();
+        awaitBlocked(submitter);
+        release.countDown();
+        resync.join(5_000);
+        submitter.join(5_000);
+
+        // Assert
+        assertEquals(2, aggregator.forDay(today).getCount(MoodType.HAPPY));
+        assertEquals(1, aggregator.forDay(today).getCount(MoodType.GRUMPY));
+        assertEquals(3, aggregator.forTeam("platform", today).getTotalCount());
+    }
+
+    @Test
+    void testForTeam_KeepsTeamsApart() {
+        // Arrange
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(List.of(teamMoodCount("platform", MoodType.HAPPY, 2, 0),
+                        teamMoodCount("design", MoodType.HAPPY, 1, 0)));
+        DailyMoodAggregate platform = aggregator.forTeam("platform", today);
+        DailyMoodAggregate design = aggregator.forTeam("design", today);
+        DailyMoodAggregate company = aggregator.forDay(today);
+        MoodSubmissionDO submission = new MoodSubmissionDO(MoodType.GRUMPY, "user1", null);
+        submission.setTeamId("design");
+
+        // Act
+        aggregator.onMoodSubmitted(new MoodSubmittedEvent(submission));
+
+        // Assert
+        assertSame(platform, aggregator.forTeam("platform", today));
+        assertEquals(2, platform.getTotalCount());
+        assertEquals(1, design.getCount(MoodType.GRUMPY));
+        assertEquals(4, company.getTotalCount(), "The company aggregate should count every team");
+    }
+
+    @Test
+    void testForTeam_DoesNotQueryForTeamsWithoutSubmissions() {
+        // Arrange - the team's first submission is committed after it was first read
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay)).thenReturn(Collections.emptyList());
+        DailyMoodAggregate empty = aggregator.forTeam("design", today);
+        assertSame(empty, aggregator.forTeam("nobody", today), "Teams without submissions should share one aggregate");
+        MoodSubmissionDO submission = new MoodSubmissionDO(MoodType.GRUMPY, "user1", null);
+        submission.setTeamId("design");
+
+        // Act
+        aggregator.onMoodSubmitted(new MoodSubmittedEvent(submission));
+
+        // Assert
+        DailyMoodAggregate design = aggregator.forTeam("design", today);
+        assertEquals(1, design.getCount(MoodType.GRUMPY));
+        assertSame(design, aggregator.forTeam("design", today));
+        assertSame(empty, aggregator.forTeam("nobody", today));
+        assertEquals(0, empty.getTotalCount());
+        verify(moodRepository, times(1)).countTeamMoods(startOfDay, startOfNextDay);
+        verifyNoMoreInteractions(moodRepository);
+    }
+
+    @Test
+    void testResync_RefreshesTeamsWithOneQuery() {
+        // Arrange
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(List.of(teamMoodCount("platform", MoodType.HAPPY, 1, 0),
+                        teamMoodCount("design", MoodType.GRUMPY, 1, 0)))
+                .thenReturn(List.of(teamMoodCount("platform", MoodType.HAPPY, 3, 1),
+                        teamMoodCount("design", MoodType.GRUMPY, 1, 0),
+                        teamMoodCount("ops", MoodType.A_BIT_MEH, 1, 0)));
+        DailyMoodAggregate design = aggregator.forTeam("design", today);
+
+        // Act
+        aggregator.resync();
+
+        // Assert
+        assertEquals(3, aggregator.forTeam("platform", today).getCount(MoodType.HAPPY));
+        assertEquals(1, aggregator.forTeam("platform", today).getCommentCount());
+        assertSame(design, aggregator.forTeam("design", today));
+        assertEquals(1, aggregator.forTeam("ops", today).getCount(MoodType.A_BIT_MEH), "Teams first submitting elsewhere should be added");
+        assertEquals(5, aggregator.forDay(today).getTotalCount());
+        verify(moodRepository, times(2)).countTeamMoods(startOfDay, startOfNextDay);
+        verifyNoMoreInteractions(moodRepository);
+    }
+
+    private static TeamMoodCount teamMoodCount(String teamId, MoodType mood, long total, long comments) {
+        return new TeamMoodCount() {
+            public String getTeamId() { return teamId; }
+            public MoodType getMood() { return mood; }
+            public long getTotal() { return total; }
+            public long getComments() { return comments; }
+        };
+    }
+
+    // The submitter waits for the day being counted by another thread, on the lock of the day's entry
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.BLOCKED && thread.getState() != Thread.State.WAITING
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(thread.isAlive(), "The submission should wait for the day being counted");
+    }
+}
@@ -0,0 +1,256 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.DailyMoodCount;
+import com.fuel50.moodtracker.dataaccessobject.MoodDailyRollupRepository;
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.domainobject.MoodDailyRollupDO;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DailyMoodRollupTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    @Mock
+    private MoodRepository moodRepository;
+
+    @Mock
+    private MoodDailyRollupRepository rollupRepository;
+
+    @InjectMocks
+    private DailyMoodRollup dailyMoodRollup;
+
+    @Test
+    void testFlush_RecomputesSubmittedDays() {
+        // Arrange
+        MoodDailyRollupDO stored = new MoodDailyRollupDO(DAY);
+        stored.setCount(MoodType.GRUMPY, 5);
+        when(rollupRepository.findById(DAY)).thenReturn(Optional.of(stored));
+        when(moodRepository.countDailyMoods(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(dailyMoodCount(DAY, MoodType.HAPPY, 2, 1)));
+        when(moodRepository.findUserIdsBySubmissionDay(DAY.toEpochDay())).thenReturn(List.of("user1", "user2"));
+        dailyMoodRollup.onMoodSubmitted(submitted(DAY));
+        dailyMoodRollup.onMoodSubmitted(submitted(DAY));
+
+        // Act
+        dailyMoodRollup.flush();
+        dailyMoodRollup.flush();
+
+        // Assert
+        verify(rollupRepository, times(1)).save(stored);
+        assertEquals(0, stored.getCount(MoodType.GRUMPY));
+        assertEquals(2, stored.getCount(MoodType.HAPPY));
+        assertEquals(2, stored.getSubmissionCount());
+        assertEquals(1, stored.getCommentCount());
+        assertEquals(2, HyperLogLog.fromBytes(stored.getParticipantSketch()).estimate());
+    }
+
+    @Test
+    void testFlush_MergesTodaysSubmittersIntoStoredSketch() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        HyperLogLog earlier = new HyperLogLog();
+        earlier.add("user1");
+        MoodDailyRollupDO stored = new MoodDailyRollupDO(today);
+        stored.setParticipantSketch(earlier.toBytes());
+        when(rollupRepository.findById(today)).thenReturn(Optional.of(stored));
+        dailyMoodRollup.onMoodSubmitted(submitted(today, "user2"));
+        dailyMoodRollup.onMoodSubmitted(submitted(today, "user3"));
+
+        // Act
+        dailyMoodRollup.flush();
+
+        // Assert
+        verify(rollupRepository).save(stored);
+        verify(moodRepository, never()).findUserIdsBySubmissionDay(anyLong());
+        assertEquals(3, HyperLogLog.fromBytes(stored.getParticipantSketch()).estimate());
+    }
+
+    @Test
+    void testFlush_ReadsTodaysSubmittersWithoutStoredSketch() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        when(rollupRepository.findById(today)).thenReturn(Optional.empty());
+        when(moodRepository.findUserIdsBySubmissionDay(today.toEpochDay())).thenReturn(List.of("user1", "user2"));
+        dailyMoodRollup.onMoodSubmitted(submitted(today, "user2"));
+
+        // Act
+        dailyMoodRollup.flush();
+
+        // Assert
+        ArgumentCaptor<MoodDailyRollupDO> saved = ArgumentCaptor.forClass(MoodDailyRollupDO.class);
+        verify(rollupRepository).save(saved.capture());
+        assertEquals(2, HyperLogLog.fromBytes(saved.getValue().getParticipantSketch()).estimate());
+    }
+
+    @Test
+    void testFlush_KeepsSubmittersOfFailedDay() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        MoodDailyRollupDO stored = new MoodDailyRollupDO(today);
+        stored.setParticipantSketch(new HyperLogLog().toBytes());
+        when(rollupRepository.findById(today)).thenReturn(Optional.of(stored));
+        when(rollupRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        dailyMoodRollup.onMoodSubmitted(submitted(today, "user1"));
+        dailyMoodRollup.flush();
+        stored.setParticipantSketch(new HyperLogLog().toBytes());
+        dailyMoodRollup.onMoodSubmitted(submitted(today, "user2"));
+
+        // Act
+        dailyMoodRollup.flush();
+
+        // Assert
+        assertEquals(2, HyperLogLog.fromBytes(stored.getParticipantSketch()).estimate());
+    }
+
+    @Test
+    void testFlush_RecomputesImportedDays() {
+        // Arrange
+        LocalDate older = DAY.minusDays(200);
+        when(rollupRepository.findById(any())).thenReturn(Optional.empty());
+        when(moodRepository.countDailyMoods(any(), any())).thenReturn(List.of(dailyMoodCount(DAY, MoodType.HAPPY, 1, 0)));
+        dailyMoodRollup.onMoodsImported(new MoodsImportedEvent(Set.of(DAY, older)));
+
+        // Act
+        dailyMoodRollup.flush();
+
+        // Assert
+        verify(moodRepository).countDailyMoods(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay());
+        verify(moodRepository).countDailyMoods(older.atStartOfDay(), older.plusDays(1).atStartOfDay());
+        verify(rollupRepository, times(2)).save(any(MoodDailyRollupDO.class));
+    }
+
+    @Test
+    void testRollUp_SkipsRowsWithoutTheirDay() {
+        // Arrange
+        when(rollupRepository.findById(DAY)).thenReturn(Optional.empty());
+        when(moodRepository.countDailyMoods(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(dailyMoodCount(DAY, MoodType.HAPPY, 2, 1), dailyMoodCount(null, MoodType.GRUMPY, 4, 2)));
+
+        // Act
+        dailyMoodRollup.rollUp(DAY);
+
+        // Assert
+        ArgumentCaptor<MoodDailyRollupDO> saved = ArgumentCaptor.forClass(MoodDailyRollupDO.class);
+        verify(rollupRepository).save(saved.capture());
+        assertEquals(2, saved.getValue().getSubmissionCount());
+        assertEquals(1, saved.getValue().getCommentCount());
+        assertEquals(0, saved.getValue().getCount(MoodType.GRUMPY));
+    }
+
+    @Test
+    void testFlush_RetriesFailedDay() {
+        // Arrange
+        when(rollupRepository.findById(DAY)).thenReturn(Optional.empty());
+        when(rollupRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        dailyMoodRollup.onMoodSubmitted(submitted(DAY));
+
+        // Act
+        dailyMoodRollup.flush();
+        dailyMoodRollup.flush();
+
+        // Assert
+        verify(rollupRepository, times(2)).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBackfill_GroupsDaysSinceLastRollup() {
+        // Arrange
+        when(rollupRepository.findLastDay()).thenReturn(DAY);
+        when(moodRepository.countDailyMoods(DAY.atStartOfDay(), LocalDate.now().plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(
+                        dailyMoodCount(DAY, MoodType.HAPPY, 2, 1),
+                        dailyMoodCount(DAY, MoodType.A_BIT_MEH, 1, 1),
+                        dailyMoodCount(DAY.plusDays(1), MoodType.GRUMPY, 3, 0)));
+
+        // Act
+        dailyMoodRollup.backfill();
+
+        // Assert
+        ArgumentCaptor<List<MoodDailyRollupDO>> saved = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository).saveAll(saved.capture());
+        List<MoodDailyRollupDO> rollups = saved.getValue();
+        assertEquals(2, rollups.size());
+        assertEquals(DAY, rollups.get(0).getDay());
+        assertEquals(3, rollups.get(0).getSubmissionCount());
+        assertEquals(2, rollups.get(0).getCommentCount());
+        assertEquals(MoodType.GRUMPY, rollups.get(1).getOverallMood());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBackfill_AddsSketchesToOlderRollups() {
+        // Arrange
+        MoodDailyRollupDO older = new MoodDailyRollupDO(DAY.minusDays(30));
+        older.setCount(MoodType.HAPPY, 3);
+        when(rollupRepository.findByParticipantSketchIsNull()).thenReturn(List.of(older));
+        when(moodRepository.findUserIdsBySubmissionDay(DAY.minusDays(30).toEpochDay())).thenReturn(List.of("user1", "user2", "user3"));
+
+        // Act
+        dailyMoodRollup.backfill();
+
+        // Assert
+        ArgumentCaptor<List<MoodDailyRollupDO>> saved = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository).saveAll(saved.capture());
+        assertEquals(List.of(older), saved.getValue());
+        assertEquals(3, older.getSubmissionCount(), "Counts are kept");
+        assertEquals(3, HyperLogLog.fromBytes(older.getParticipantSketch()).estimate());
+    }
+
+    @Test
+    void testBackfill_NothingToRollUp() {
+        // Arrange
+        when(moodRepository.countDailyMoods(any(), any())).thenReturn(List.of());
+
+        // Act
+        dailyMoodRollup.backfill();
+
+        // Assert
+        verify(rollupRepository, never()).saveAll(anyList());
+    }
+
+    private static MoodSubmittedEvent submitted(LocalDate day) {
+        return submitted(day, "user1");
+    }
+
+    private static MoodSubmittedEvent submitted(LocalDate day, String userId) {
+        MoodSubmissionDO submission = new MoodSubmissionDO(MoodType.HAPPY, userId, null);
+        submission.setSubmissionDate(day.atTime(12, 0));
+        return new MoodSubmittedEvent(submission);
+    }
+
+    private static DailyMoodCount dailyMoodCount(LocalDate day, MoodType mood, long total, long comments) {
+        return new DailyMoodCount() {
+            @Override
+            public Long getDay() { return day != null ? day.toEpochDay() : null; }
+            @Override
+            public MoodType getMood() { return mood; }
+            @Override
+            public long getTotal() { return total; }
+            @Override
+            public long getComments() { return comments; }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DailySubmitterRegistryTest {
+
+    @Mock
+    private MoodRepository moodRepository;
+
+    @InjectMocks
+    private DailySubmitterRegistry registry;
+
+    @Test
+    void testLoad_RemembersUsersFromDatabase() {
+        // Arrange
+        when(moodRepository.findUserIdsBySubmissionDay(LocalDate.now().toEpochDay()))
+                .thenReturn(List.of("user1", "user2"));
+
+        // Act
+        registry.load();
+
+        // Assert
+        assertTrue(registry.hasSubmittedToday("user1"));
+        assertTrue(registry.hasSubmittedToday("user2"));
+        assertFalse(registry.hasSubmittedToday("user3"));
+    }
+
+    @Test
+    void testOnMoodSubmitted_RemembersUser() {
+        // Act
+        registry.onMoodSubmitted(new MoodSubmittedEvent(new MoodSubmissionDO(MoodType.HAPPY, "user1", null)));
+
+        // Assert
+        assertTrue(registry.hasSubmittedToday("user1"));
+    }
+
+    @Test
+    void testMarkSubmitted_IgnoresOtherDays() {
+        // Act
+        registry.markSubmitted("user1", LocalDate.now().minusDays(1));
+
+        // Assert
+        assertFalse(registry.hasSubmittedToday("user1"));
+    }
+
+    @Test
+    void testClaim_OnlyOncePerUser() {
+        // Act
+        boolean first = registry.claim("user1", LocalDate.now());
+        boolean second = registry.claim("user1", LocalDate.now());
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(registry.hasSubmittedToday("user1"));
+    }
+
+    @Test
+    void testRelease_AllowsClaimingAgain() {
+        // Arrange
+        registry.claim("user1", LocalDate.now());
+
+        // Act
+        registry.release("user1", LocalDate.now());
+
+        // Assert
+        assertFalse(registry.hasSubmittedToday("user1"));
+        assertTrue(registry.claim("user1", LocalDate.now()));
+    }
+
+    @Test
+    void testRotate_ForgetsPreviousSubmitters() {
+        // Arrange
+        registry.markSubmitted("user1", LocalDate.now());
+        when(moodRepository.findUserIdsBySubmissionDay(LocalDate.now().toEpochDay())).thenReturn(Collections.emptyList());
+
+        // Act
+        registry.rotate();
+
+        // Assert
+        assertFalse(registry.hasSubmittedToday("user1"));
+    }
+}
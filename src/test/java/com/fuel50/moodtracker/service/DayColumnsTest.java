@@ -0,0 +1,102 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.CommentView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DayColumnsTest {
+
+    private static List<Long> ids(List<CommentView> comments) {
+        return comments.stream().map(CommentView::getId).toList();
+    }
+
+    @Test
+    void testComments_OnlyOwnTeamInIdOrder() {
+        // Arrange
+        DayColumns columns = new DayColumns(LocalDate.now());
+        columns.add(1L, "platform", "Great day");
+        columns.add(2L, "design", "Long day");
+        columns.add(3L, "platform", "Ça va, merci 🙂");
+
+        // Act
+        List<String> comments = columns.comments("platform");
+
+        // Assert
+        assertEquals(List.of("Great day", "Ça va, merci 🙂"), comments);
+        assertEquals(List.of(), columns.comments("unknown"));
+    }
+
+    @Test
+    void testAdd_KeepsIdOrderAndSkipsDuplicates() {
+        // Arrange
+        DayColumns columns = new DayColumns(LocalDate.now());
+        columns.add(5L, "platform", "Five");
+        columns.add(9L, "platform", "Nine");
+
+        // Act
+        boolean late = columns.add(7L, "platform", "Seven");
+        boolean duplicate = columns.add(9L, "platform", "Nine again");
+
+        // Assert
+        assertTrue(late);
+        assertFalse(duplicate);
+        assertEquals(List.of("Five", "Seven", "Nine"), columns.comments("platform"));
+        assertEquals(9L, columns.lastId());
+    }
+
+    @Test
+    void testCommentsAfter_PagesFromCursor() {
+        // Arrange
+        DayColumns columns = new DayColumns(LocalDate.now());
+        for (long id = 1; id <= 6; id++) {
+            columns.add(id, id % 2 == 0 ? "design" : "platform", "Comment " + id);
+        }
+
+        // Act
+        List<CommentView> firstPage = columns.commentsAfter("platform", 0L, 2);
+        List<CommentView> secondPage = columns.commentsAfter("platform", 3L, 2);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), ids(firstPage));
+        assertEquals("Comment 1", firstPage.get(0).getComment());
+        assertEquals(List.of(5L), ids(secondPage));
+    }
+
+    @Test
+    void testAdd_GrowsColumns() {
+        // Arrange
+        DayColumns columns = new DayColumns(LocalDate.now());
+
+        // Act
+        for (long id = 1; id <= 10_000; id++) {
+            columns.add(id, "team" + (id % 7), "Comment number " + id);
+        }
+
+        // Assert
+        assertEquals(10_000, columns.size());
+        assertEquals("Comment number 9996", columns.commentsAfter("team0", 9990L, 1).get(0).getComment());
+        assertTrue(columns.estimatedBytes() > 10_000 * 18L);
+    }
+
+    @Test
+    void testAddAfter_CopiesNewerRows() {
+        // Arrange
+        DayColumns previous = new DayColumns(LocalDate.now());
+        previous.add(1L, "platform", "One");
+        previous.add(2L, "design", "Two");
+        previous.add(3L, "platform", "Three");
+        DayColumns reloaded = new DayColumns(LocalDate.now());
+        reloaded.add(1L, "platform", "One");
+
+        // Act
+        reloaded.addAfter(previous, reloaded.lastId());
+
+        // Assert
+        assertEquals(3, reloaded.size());
+        assertEquals(List.of("Two"), reloaded.comments("design"));
+    }
+}
@@ -1,71 +1,161 @@
 package com.fuel50.moodtracker.service;
 
+import com.fuel50.moodtracker.dataaccessobject.MoodDailyRollupRepository;
 import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.dataaccessobject.TeamCommentView;
+import com.fuel50.moodtracker.dataaccessobject.TeamMoodCount;
+import com.fuel50.moodtracker.datatransferobject.CommentPageDTO;
+import com.fuel50.moodtracker.datatransferobject.DailyMoodDTO;
+import com.fuel50.moodtracker.datatransferobject.ParticipationDTO;
+import com.fuel50.moodtracker.datatransferobject.PhraseCountDTO;
 import com.fuel50.moodtracker.datatransferobject.TeamMoodDTO;
+import com.fuel50.moodtracker.domainobject.MoodDailyRollupDO;
 import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.BatchItemStatus;
+import com.fuel50.moodtracker.domainvalue.ExportFormat;
 import com.fuel50.moodtracker.domainvalue.MoodType;
+import com.fuel50.moodtracker.domainvalue.MoodVersion;
+import com.fuel50.moodtracker.domainvalue.ReportingPeriod;
 import com.fuel50.moodtracker.exception.DuplicateMoodSubmissionException;
+import com.fuel50.moodtracker.exception.SubmissionQueueFullException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class DefaultMoodServiceTest {
 
+    private static final String TEAM = MoodSubmissionDO.DEFAULT_TEAM;
+
     @Mock
     private MoodRepository moodRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MoodWriteBehindQueue writeBehindQueue;
+
+    @Mock
+    private MoodDailyRollupRepository rollupRepository;
+
+    private DailyMoodAggregator dailyMoodAggregator;
+
+    private DailySubmitterRegistry dailySubmitterRegistry;
+
+    private PhraseFrequencyIndex phraseFrequencyIndex;
+
     private DefaultMoodService moodService;
 
     private String userId;
     private MoodSubmissionDO moodSubmission;
     private LocalDateTime startOfDay;
-    private LocalDateTime endOfDay;
+    private LocalDateTime startOfNextDay;
 
     @BeforeEach
     void setUp() {
+        dailySubmitterRegistry = new DailySubmitterRegistry(moodRepository);
+        dailyMoodAggregator = new DailyMoodAggregator(moodRepository);
+        phraseFrequencyIndex = new PhraseFrequencyIndex(moodRepository, 7, 3);
+        moodService = new DefaultMoodService(moodRepository, dailyMoodAggregator,
+                dailySubmitterRegistry, writeBehindQueue, eventPublisher, rollupRepository,
+                new ColumnarDayStore(moodRepository), phraseFrequencyIndex);
         userId = UUID.randomUUID().toString();
         moodSubmission = new MoodSubmissionDO(MoodType.HAPPY, userId, "Test comment");
         
         LocalDate today = LocalDate.now();
         startOfDay = today.atStartOfDay();
-        endOfDay = today.atTime(23, 59, 59);
+        startOfNextDay = today.plusDays(1).atStartOfDay();
     }
 
     @Test
     void testSubmitMood_Success() {
-        // Arrange
-        when(moodRepository.existsByUserIdAndSubmissionDateBetween(userId, startOfDay, endOfDay))
-                .thenReturn(false);
-        
         // Act
         moodService.submitMood(moodSubmission);
         
         // Assert
-        verify(moodRepository).save(moodSubmission);
+        verify(moodRepository).saveAndFlush(moodSubmission);
+        verify(eventPublisher).publishEvent(any(MoodSubmittedEvent.class));
         assertNotNull(moodSubmission.getSubmissionDate(), "Submission date should be set");
+        assertEquals(LocalDate.now().toEpochDay(), moodSubmission.getSubmissionDay());
+        verify(moodRepository, never()).existsByUserIdAndSubmissionDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void testSubmitMood_WriteBehind_QueuesSubmission() {
+        // Arrange
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+        when(writeBehindQueue.offer(moodSubmission)).thenReturn(true);
+
+        // Act
+        moodService.submitMood(moodSubmission);
+
+        // Assert
+        verify(writeBehindQueue).offer(moodSubmission);
+        verify(moodRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any());
+        assertTrue(dailySubmitterRegistry.hasSubmittedToday(userId));
+    }
+
+    @Test
+    void testSubmitMood_WriteBehind_RejectsDuplicateBeforeQueueing() {
+        // Arrange
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+        when(writeBehindQueue.offer(moodSubmission)).thenReturn(true);
+        moodService.submitMood(moodSubmission);
+        MoodSubmissionDO secondSubmission = new MoodSubmissionDO(MoodType.GRUMPY, userId, null);
+
+        // Act & Assert
+        assertThrows(DuplicateMoodSubmissionException.class, () -> moodService.submitMood(secondSubmission));
+        verify(writeBehindQueue, never()).offer(secondSubmission);
+    }
+
+    @Test
+    void testSubmitMood_WriteBehind_QueueFull() {
+        // Arrange
+        when(writeBehindQueue.isEnabled()).thenReturn(true);
+        when(writeBehindQueue.offer(moodSubmission)).thenReturn(false);
+
+        // Act & Assert
+        SubmissionQueueFullException exception = assertThrows(SubmissionQueueFullException.class,
+                () -> moodService.submitMood(moodSubmission));
+        assertEquals(DefaultMoodService.QUEUE_FULL_MESSAGE, exception.getMessage());
+        assertFalse(dailySubmitterRegistry.hasSubmittedToday(userId), "User should be able to try again");
     }
 
     @Test
     void testSubmitMood_DuplicateSubmission() {
         // Arrange
-        when(moodRepository.existsByUserIdAndSubmissionDateBetween(userId, startOfDay, endOfDay))
-                .thenReturn(true);
+        when(moodRepository.saveAndFlush(moodSubmission)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", null, "mood_submission." + MoodSubmissionDO.USER_DAY_CONSTRAINT)));
         
         // Act & Assert
         DuplicateMoodSubmissionException exception = assertThrows(
@@ -75,66 +165,468 @@ public class DefaultMoodServiceTest {
         
         assertEquals("Sorry, you have already submitted your response for today, try again tomorrow!", 
                 exception.getMessage());
-        verify(moodRepository, never()).save(any(MoodSubmissionDO.class));
+        verify(eventPublisher, never()).publishEvent(any());
+        assertTrue(dailySubmitterRegistry.hasSubmittedToday(userId), "The user should be remembered after the rejection");
+    }
+
+    @Test
+    void testSubmitMood_KnownSubmitterRejectedWithoutDatabase() {
+        // Arrange
+        dailySubmitterRegistry.markSubmitted(userId, LocalDate.now());
+
+        // Act & Assert
+        assertThrows(DuplicateMoodSubmissionException.class, () -> moodService.submitMood(moodSubmission));
+        verifyNoInteractions(moodRepository);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testSubmitMood_OtherIntegrityViolationIsRethrown() {
+        // Arrange
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("mood is null",
+                new ConstraintViolationException("mood is null", null, null));
+        when(moodRepository.saveAndFlush(moodSubmission)).thenThrow(violation);
+
+        // Act & Assert
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> moodService.submitMood(moodSubmission)));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testSubmitMoods_SettlesDuplicatesBeforeInsert() {
+        // Arrange
+        dailySubmitterRegistry.markSubmitted("known", LocalDate.now());
+        List<MoodSubmissionDO> batch = Arrays.asList(
+                new MoodSubmissionDO(MoodType.HAPPY, "user1", "First"),
+                new MoodSubmissionDO(MoodType.GRUMPY, "known", null),
+                new MoodSubmissionDO(MoodType.A_BIT_MEH, "user1", "Repeated in batch"),
+                new MoodSubmissionDO(MoodType.HAPPY, "stored", null),
+                new MoodSubmissionDO(MoodType.JUST_NORMAL_REALLY, "user2", null)
+        );
+        when(moodRepository.findUserIdsBySubmissionDayAndUserIdIn(eq(LocalDate.now().toEpochDay()), anyCollection()))
+                .thenReturn(List.of("stored"));
+
+        // Act
+        List<BatchItemStatus> statuses = moodService.submitMoods(batch);
+
+        // Assert
+        assertEquals(List.of(BatchItemStatus.ACCEPTED, BatchItemStatus.DUPLICATE, BatchItemStatus.DUPLICATE,
+                BatchItemStatus.DUPLICATE, BatchItemStatus.ACCEPTED), statuses);
+        verify(moodRepository).saveAllAndFlush(List.of(batch.get(0), batch.get(4)));
+        verify(eventPublisher, times(2)).publishEvent(any(MoodSubmittedEvent.class));
+        assertTrue(dailySubmitterRegistry.hasSubmittedToday("stored"));
+    }
+
+    @Test
+    void testSubmitMoods_ConcurrentDuplicateStoresOneByOne() {
+        // Arrange
+        List<MoodSubmissionDO> batch = List.of(new MoodSubmissionDO(MoodType.HAPPY, "user1", null),
+                new MoodSubmissionDO(MoodType.GRUMPY, "user2", null));
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", null, MoodSubmissionDO.USER_DAY_CONSTRAINT));
+        when(moodRepository.findUserIdsBySubmissionDayAndUserIdIn(anyLong(), anyCollection())).thenReturn(List.of());
+        when(moodRepository.saveAllAndFlush(anyList())).thenThrow(duplicate);
+        when(moodRepository.saveAndFlush(batch.get(0))).thenThrow(duplicate);
+        when(moodRepository.saveAndFlush(batch.get(1))).thenReturn(batch.get(1));
+
+        // Act
+        List<BatchItemStatus> statuses = moodService.submitMoods(batch);
+
+        // Assert
+        assertEquals(List.of(BatchItemStatus.DUPLICATE, BatchItemStatus.ACCEPTED), statuses);
+        assertTrue(dailySubmitterRegistry.hasSubmittedToday("user1"));
+        ArgumentCaptor<MoodSubmittedEvent> published = ArgumentCaptor.forClass(MoodSubmittedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(published.capture());
+        assertSame(batch.get(1), published.getValue().getSubmission());
+    }
+
+    @Test
+    void testImportMoods_KeepsDatesAndSettlesDuplicatesPerDay() {
+        // Arrange
+        LocalDate day = LocalDate.of(2024, 5, 1);
+        List<MoodSubmissionDO> batch = List.of(
+                imported("user1", day.atTime(9, 0)),
+                imported("user1", day.plusDays(1).atTime(9, 0)),
+                imported("user1", day.atTime(17, 0)),
+                imported("stored", day.atTime(10, 0)),
+                imported("user2", LocalDateTime.now()));
+        when(moodRepository.findUserIdsBySubmissionDayAndUserIdIn(eq(day.toEpochDay()), anyCollection())).thenReturn(List.of("stored"));
+        when(moodRepository.findUserIdsBySubmissionDayAndUserIdIn(eq(day.plusDays(1).toEpochDay()), anyCollection())).thenReturn(List.of());
+        when(moodRepository.findUserIdsBySubmissionDayAndUserIdIn(eq(LocalDate.now().toEpochDay()), anyCollection())).thenReturn(List.of());
+
+        // Act
+        List<BatchItemStatus> statuses = moodService.importMoods(batch);
+
+        // Assert
+        assertEquals(List.of(BatchItemStatus.ACCEPTED, BatchItemStatus.ACCEPTED, BatchItemStatus.DUPLICATE,
+                BatchItemStatus.DUPLICATE, BatchItemStatus.ACCEPTED), statuses);
+        verify(moodRepository).saveAllAndFlush(List.of(batch.get(0), batch.get(1), batch.get(4)));
+        assertEquals(day.atTime(9, 0), batch.get(0).getSubmissionDate());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof MoodSubmittedEvent submitted
+                && submitted.getSubmission() == batch.get(4)));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof MoodsImportedEvent imported
+                && imported.getDays().equals(Set.of(day, day.plusDays(1)))));
+    }
+
+    @Test
+    void testImportMoods_ConcurrentDuplicateStoresOneByOne() {
+        // Arrange
+        LocalDate day = LocalDate.of(2024, 5, 1);
+        List<MoodSubmissionDO> batch = List.of(imported("user1", day.atTime(9, 0)), imported("user2", day.atTime(9, 0)));
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", null, MoodSubmissionDO.USER_DAY_CONSTRAINT));
+        when(moodRepository.findUserIdsBySubmissionDayAndUserIdIn(anyLong(), anyCollection())).thenReturn(List.of());
+        when(moodRepository.saveAllAndFlush(anyList())).thenThrow(duplicate);
+        when(moodRepository.saveAndFlush(batch.get(0))).thenThrow(duplicate);
+        when(moodRepository.saveAndFlush(batch.get(1))).thenReturn(batch.get(1));
+
+        // Act
+        List<BatchItemStatus> statuses = moodService.importMoods(batch);
+
+        // Assert
+        assertEquals(List.of(BatchItemStatus.DUPLICATE, BatchItemStatus.ACCEPTED), statuses);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof MoodsImportedEvent imported
+                && imported.getDays().equals(Set.of(day))));
+    }
+
+    private static MoodSubmissionDO imported(String userId, LocalDateTime submissionDate) {
+        MoodSubmissionDO submission = new MoodSubmissionDO(MoodType.HAPPY, userId, null);
+        submission.setSubmissionDate(submissionDate);
+        return submission;
     }
 
     @Test
     void testGetOverallMood_NoSubmissions() {
         // Arrange
-        when(moodRepository.findBySubmissionDateBetween(startOfDay, endOfDay))
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
                 .thenReturn(Collections.emptyList());
         
         // Act
-        TeamMoodDTO result = moodService.getOverallMood();
+        TeamMoodDTO result = moodService.getOverallMood(TEAM);
         
         // Assert
         assertNull(result.getOverallMood());
         assertTrue(result.getComments().isEmpty());
+        verify(moodRepository, never()).findTeamCommentsAfter(any(), any(), anyLong(), any());
     }
 
     @Test
     void testGetOverallMood_MultipleSubmissions() {
         // Arrange
-        List<MoodSubmissionDO> submissions = Arrays.asList(
-                new MoodSubmissionDO(MoodType.HAPPY, "user1", "Great day!"),
-                new MoodSubmissionDO(MoodType.JUST_NORMAL_REALLY, "user2", "Okay day"),
-                new MoodSubmissionDO(MoodType.A_BIT_MEH, "user3", null)
-        );
-        
-        when(moodRepository.findBySubmissionDateBetween(startOfDay, endOfDay))
-                .thenReturn(submissions);
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(Arrays.asList(
+                        teamMoodCount(TEAM, MoodType.HAPPY, 1, 1),
+                        teamMoodCount(TEAM, MoodType.JUST_NORMAL_REALLY, 1, 0),
+                        teamMoodCount(TEAM, MoodType.A_BIT_MEH, 1, 1),
+                        teamMoodCount("design", MoodType.GRUMPY, 1, 1)
+                ));
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, 0L, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(List.of(commentView(1L, TEAM, "Great day!"), commentView(2L, "design", "Long day"),
+                        commentView(3L, TEAM, "Okay day")));
         
         // Act
-        TeamMoodDTO result = moodService.getOverallMood();
+        TeamMoodDTO result = moodService.getOverallMood(TEAM);
         
         // Assert
         assertEquals(MoodType.JUST_NORMAL_REALLY, result.getOverallMood(), 
                 "Average mood should be JUST_NORMAL_REALLY");
-        assertEquals(2, result.getComments().size(), 
-                "Should have 2 comments (null comment filtered out)");
+        assertEquals(2, result.getComments().size());
         assertTrue(result.getComments().contains("Great day!"));
         assertTrue(result.getComments().contains("Okay day"));
+        verify(moodRepository, never()).findBySubmissionDateBetween(any(), any());
     }
 
     @Test
     void testGetOverallMood_CalculatesCorrectOverallMood() {
         // Arrange
-        List<MoodSubmissionDO> submissions = Arrays.asList(
-                new MoodSubmissionDO(MoodType.HAPPY, "user1", "Comment 1"), // 5
-                new MoodSubmissionDO(MoodType.HAPPY, "user2", "Comment 2"), // 5
-                new MoodSubmissionDO(MoodType.GRUMPY, "user3", "Comment 3"), // 2
-                new MoodSubmissionDO(MoodType.GRUMPY, "user4", "Comment 4")  // 2
-        );
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(Arrays.asList(
+                        teamMoodCount(TEAM, MoodType.HAPPY, 2, 2),  // 5 + 5
+                        teamMoodCount(TEAM, MoodType.GRUMPY, 2, 2)  // 2 + 2
+                ));
         // Average = (5+5+2+2)/4 = 3.5, which should map to JUST_NORMAL_REALLY
-        
-        when(moodRepository.findBySubmissionDateBetween(startOfDay, endOfDay))
-                .thenReturn(submissions);
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, 0L, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(List.of(commentView(1L, TEAM, "Comment 1"), commentView(2L, TEAM, "Comment 2"),
+                        commentView(3L, TEAM, "Comment 3"), commentView(4L, TEAM, "Comment 4")));
         
         // Act
-        TeamMoodDTO result = moodService.getOverallMood();
+        TeamMoodDTO result = moodService.getOverallMood(TEAM);
         
         // Assert
         assertEquals(MoodType.JUST_NORMAL_REALLY, result.getOverallMood());
         assertEquals(4, result.getComments().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetOverallMood_ReadsAggregateAfterFirstLoad() {
+        // Arrange
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(List.of(teamMoodCount(TEAM, MoodType.HAPPY, 1, 0)));
+        moodService.getOverallMood(TEAM);
+
+        // Act
+        TeamMoodDTO result = moodService.getOverallMood(TEAM);
+
+        // Assert
+        assertEquals(MoodType.HAPPY, result.getOverallMood());
+        verify(moodRepository, times(1)).countTeamMoods(startOfDay, startOfNextDay);
+    }
+
+    @Test
+    void testGetOverallMoodSummary_DoesNotLoadComments() {
+        // Arrange
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(List.of(teamMoodCount(TEAM, MoodType.HAPPY, 3, 2)));
+
+        // Act
+        TeamMoodDTO result = moodService.getOverallMoodSummary(TEAM);
+
+        // Assert
+        assertEquals(MoodType.HAPPY, result.getOverallMood());
+        assertNull(result.getComments());
+        assertEquals(2, result.getCommentCount());
+        verify(moodRepository, never()).findTeamCommentsAfter(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testGetOverallMoodVersion_ChangesWithSubmissions() {
+        // Arrange
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(Collections.emptyList());
+        MoodVersion before = moodService.getOverallMoodVersion(TEAM);
+
+        // Act
+        moodService.submitMood(moodSubmission);
+        dailyMoodAggregator.onMoodSubmitted(new MoodSubmittedEvent(moodSubmission));
+        MoodVersion after = moodService.getOverallMoodVersion(TEAM);
+
+        // Assert
+        assertNotEquals(before.getTag(), after.getTag());
+    }
+
+    @Test
+    void testGetComments_ReturnsCursorWhenMorePagesExist() {
+        // Arrange
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, 0L, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(List.of(commentView(4L, TEAM, "Comment 1"), commentView(5L, "design", "Other team"),
+                        commentView(7L, TEAM, "Comment 2"), commentView(9L, TEAM, "Comment 3")));
+
+        // Act
+        CommentPageDTO page = moodService.getComments(TEAM, null, 2);
+
+        // Assert
+        assertEquals(List.of("Comment 1", "Comment 2"), page.getComments());
+        assertEquals(7L, page.getNextCursor());
+    }
+
+    @Test
+    void testGetComments_LastPageHasNoCursor() {
+        // Arrange
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, 0L, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(List.of(commentView(4L, TEAM, "Comment 1"), commentView(7L, TEAM, "Comment 2"),
+                        commentView(9L, TEAM, "Comment 3")));
+
+        // Act
+        CommentPageDTO page = moodService.getComments(TEAM, 7L, 2);
+
+        // Assert
+        assertEquals(List.of("Comment 3"), page.getComments());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetComments_CapsPageSize() {
+        // Arrange
+        when(moodRepository.findTeamCommentsAfter(startOfDay, startOfNextDay, 0L, Limit.of(ColumnarDayStore.LOAD_PAGE_SIZE)))
+                .thenReturn(List.of(commentView(1L, TEAM, "Comment 1"), commentView(2L, TEAM, "Comment 2")));
+
+        // Act
+        CommentPageDTO page = moodService.getComments(TEAM, null, 100_000);
+
+        // Assert
+        assertEquals(2, page.getComments().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetOverallMood_OnlyCountsOwnTeam() {
+        // Arrange
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(List.of(teamMoodCount("platform", MoodType.GRUMPY, 1, 0)));
+        moodService.getOverallMoodSummary("platform");
+        moodService.getOverallMoodSummary("design");
+        MoodSubmissionDO designSubmission = new MoodSubmissionDO(MoodType.HAPPY, userId, null);
+        designSubmission.setTeamId("design");
+
+        // Act
+        moodService.submitMood(designSubmission);
+        dailyMoodAggregator.onMoodSubmitted(new MoodSubmittedEvent(designSubmission));
+
+        // Assert
+        assertEquals(MoodType.GRUMPY, moodService.getOverallMoodSummary("platform").getOverallMood());
+        assertEquals(MoodType.HAPPY, moodService.getOverallMoodSummary("design").getOverallMood());
+    }
+
+    private static TeamCommentView commentView(Long id, String teamId, String comment) {
+        return new TeamCommentView() {
+            public Long getId() { return id; }
+            public String getTeamId() { return teamId; }
+            public MoodType getMood() { return MoodType.HAPPY; }
+            public String getComment() { return comment; }
+        };
+    }
+
+    private static TeamMoodCount teamMoodCount(String teamId, MoodType mood, long total, long comments) {
+        return new TeamMoodCount() {
+            public String getTeamId() { return teamId; }
+            public MoodType getMood() { return mood; }
+            public long getTotal() { return total; }
+            public long getComments() { return comments; }
+        };
+    }
+
+    @Test
+    void testGetTopPhrases_CapsLimitAtCapacity() {
+        // Arrange
+        for (String comment : List.of("Busy sprint", "Busy day", "Great sprint", "Busy week ahead")) {
+            MoodSubmissionDO submission = new MoodSubmissionDO(MoodType.HAPPY, UUID.randomUUID().toString(), comment);
+            submission.setSubmissionDate(LocalDateTime.now());
+            phraseFrequencyIndex.onMoodSubmitted(new MoodSubmittedEvent(submission));
+        }
+
+        // Act
+        List<PhraseCountDTO> phrases = moodService.getTopPhrases(LocalDate.now(), null, 100);
+
+        // Assert
+        assertEquals(3, phrases.size());
+        assertEquals("busy", phrases.get(0).getPhrase());
+        assertEquals(3, phrases.get(0).getCount());
+        assertEquals("sprint", phrases.get(1).getPhrase());
+    }
+
+    @Test
+    void testGetTrend_ReadsPastDaysFromRollups() {
+        // Arrange
+        LocalDate from = LocalDate.now().minusDays(10);
+        LocalDate to = LocalDate.now().minusDays(1);
+        MoodDailyRollupDO busyDay = new MoodDailyRollupDO(from);
+        busyDay.setCount(MoodType.HAPPY, 3);
+        busyDay.setCount(MoodType.GRUMPY, 1);
+        busyDay.setCommentCount(2);
+        when(rollupRepository.findByDayBetweenOrderByDay(from, to))
+                .thenReturn(List.of(busyDay, new MoodDailyRollupDO(from.plusDays(1))));
+
+        // Act
+        List<DailyMoodDTO> trend = moodService.getTrend(from, to);
+
+        // Assert
+        assertEquals(1, trend.size(), "Days without submissions should be left out");
+        DailyMoodDTO day = trend.get(0);
+        assertEquals(from, day.getDay());
+        assertEquals(MoodType.JUST_NORMAL_REALLY, day.getOverallMood());
+        assertEquals(4.25, day.getAverageScore());
+        assertEquals(4, day.getSubmissionCount());
+        assertEquals(2, day.getCommentCount());
+        assertEquals(3L, day.getMoodCounts().get(MoodType.HAPPY));
+        assertEquals(0L, day.getMoodCounts().get(MoodType.A_BIT_MEH));
+        verifyNoInteractions(moodRepository);
+    }
+
+    @Test
+    void testGetTrend_TakesTodayFromAggregate() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        MoodDailyRollupDO staleToday = new MoodDailyRollupDO(today);
+        staleToday.setCount(MoodType.GRUMPY, 1);
+        when(rollupRepository.findByDayBetweenOrderByDay(today.minusDays(7), today)).thenReturn(List.of(staleToday));
+        when(moodRepository.countTeamMoods(startOfDay, startOfNextDay))
+                .thenReturn(List.of(teamMoodCount(TEAM, MoodType.HAPPY, 2, 0)));
+
+        // Act
+        List<DailyMoodDTO> trend = moodService.getTrend(today.minusDays(7), today);
+
+        // Assert
+        assertEquals(1, trend.size());
+        assertEquals(MoodType.HAPPY, trend.get(0).getOverallMood());
+        assertEquals(2, trend.get(0).getSubmissionCount());
+    }
+
+    @Test
+    void testGetParticipation_MergesSketchesPerWeek() {
+        // Arrange - Thursday to the Sunday after next, in three weeks
+        LocalDate from = LocalDate.of(2025, 3, 13);
+        LocalDate to = LocalDate.of(2025, 3, 30);
+        MoodDailyRollupDO thursday = rollup(from, MoodType.HAPPY, "user1", "user2");
+        MoodDailyRollupDO monday = rollup(LocalDate.of(2025, 3, 17), MoodType.HAPPY, "user1", "user2");
+        MoodDailyRollupDO tuesday = rollup(LocalDate.of(2025, 3, 18), MoodType.GRUMPY, "user2", "user3");
+        when(rollupRepository.findByDayBetweenOrderByDay(from, to)).thenReturn(List.of(thursday, monday, tuesday));
+
+        // Act
+        List<ParticipationDTO> participation = moodService.getParticipation(from, to, ReportingPeriod.WEEK);
+
+        // Assert
+        assertEquals(3, participation.size());
+        assertEquals(from, participation.get(0).getFrom());
+        assertEquals(LocalDate.of(2025, 3, 16), participation.get(0).getTo());
+        assertEquals(2, participation.get(0).getDistinctParticipants());
+        ParticipationDTO secondWeek = participation.get(1);
+        assertEquals(3, secondWeek.getDistinctParticipants());
+        assertEquals(4, secondWeek.getSubmissionCount());
+        assertEquals(0.5, secondWeek.getMoodShares().get(MoodType.GRUMPY));
+        assertEquals(0, participation.get(2).getSubmissionCount(), "Weeks without submissions should be included");
+        assertEquals(0.0, participation.get(2).getMoodShares().get(MoodType.HAPPY));
+        verifyNoInteractions(moodRepository);
+    }
+
+    @Test
+    void testGetParticipation_WholeRangeWithoutPeriod() {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        MoodDailyRollupDO withoutSketch = new MoodDailyRollupDO(from);
+        withoutSketch.setCount(MoodType.HAPPY, 1);
+        when(rollupRepository.findByDayBetweenOrderByDay(from, to))
+                .thenReturn(List.of(withoutSketch, rollup(to, MoodType.A_BIT_MEH, "user1")));
+
+        // Act
+        List<ParticipationDTO> participation = moodService.getParticipation(from, to, null);
+
+        // Assert
+        assertEquals(1, participation.size());
+        assertEquals(to, participation.get(0).getTo());
+        assertEquals(1, participation.get(0).getDistinctParticipants());
+        assertEquals(2, participation.get(0).getSubmissionCount());
+    }
+
+    @Test
+    void testExportSubmissions_WritesEveryRowAndClosesStream() throws Exception {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 3, 14);
+        MoodSubmissionDO submission = new MoodSubmissionDO(MoodType.HAPPY, "user1", null);
+        submission.setId(7L);
+        submission.setSubmissionDate(day.atTime(9, 0));
+        AtomicBoolean closed = new AtomicBoolean();
+        when(moodRepository.streamSubmissions(day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+                .thenReturn(Stream.of(submission).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        moodService.exportSubmissions(day, day, ExportFormat.NDJSON, out);
+
+        // Assert
+        assertEquals("{\"id\":7,\"submissionDate\":\"2025-03-14T09:00\",\"userId\":\"user1\",\"teamId\":\"default\",\"mood\":\"HAPPY\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+
+    private static MoodDailyRollupDO rollup(LocalDate day, MoodType mood, String... userIds) {
+        MoodDailyRollupDO rollup = new MoodDailyRollupDO(day);
+        rollup.setCount(mood, userIds.length);
+        HyperLogLog participants = new HyperLogLog();
+        for (String userId : userIds) {
+            participants.add(userId);
+        }
+        rollup.setParticipantSketch(participants.toBytes());
+        return rollup;
+    }
+}
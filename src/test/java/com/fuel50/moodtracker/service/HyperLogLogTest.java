@@ -0,0 +1,78 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.domainobject.MoodDailyRollupDO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add("user" + i);
+        }
+        return sketch;
+    }
+
+    @Test
+    void testEstimate_SmallCountsAreNearlyExact() {
+        // Arrange
+        HyperLogLog sketch = sketchOf(0, 100);
+        sketch.add("user1");
+        sketch.add("user2");
+
+        // Act & Assert
+        assertEquals(0, new HyperLogLog().estimate());
+        assertEquals(3, sketchOf(0, 3).estimate());
+        assertEquals(100, sketch.estimate(), 2);
+    }
+
+    @Test
+    void testEstimate_LargeCountsWithinFewPercent() {
+        // Act
+        long estimate = sketchOf(0, 100_000).estimate();
+
+        // Assert
+        assertEquals(100_000, estimate, 5_000);
+    }
+
+    @Test
+    void testMerge_EstimatesUnion() {
+        // Arrange
+        HyperLogLog monday = sketchOf(0, 30_000);
+        HyperLogLog tuesday = sketchOf(20_000, 50_000);
+
+        // Act
+        monday.merge(tuesday);
+
+        // Assert
+        assertEquals(sketchOf(0, 50_000), monday);
+        assertEquals(50_000, monday.estimate(), 2_500);
+    }
+
+    @Test
+    void testBytesRoundTrip() {
+        // Arrange
+        HyperLogLog sketch = sketchOf(0, 1_000);
+
+        // Act
+        HyperLogLog read = HyperLogLog.fromBytes(sketch.toBytes());
+
+        // Assert
+        assertEquals(sketch, read);
+        assertEquals(sketch.estimate(), read.estimate());
+    }
+
+    @Test
+    void testFromBytes_RejectsWrongLength() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[16]));
+    }
+
+    @Test
+    void testSketchFitsRollupColumn() {
+        // Assert
+        assertEquals(MoodDailyRollupDO.PARTICIPANT_SKETCH_BYTES, HyperLogLog.REGISTERS);
+    }
+}
@@ -0,0 +1,277 @@
+package com.fuel50.moodtracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MoodUpdateBroadcasterTest {
+
+    private static final String TEAM = "platform";
+
+    @Mock
+    private DailyMoodAggregator dailyMoodAggregator;
+
+    private DailyMoodAggregate aggregate;
+
+    @BeforeEach
+    void setUp() {
+        aggregate = new DailyMoodAggregate(LocalDate.now());
+        lenient().when(dailyMoodAggregator.forTeam(TEAM, LocalDate.now())).thenReturn(aggregate);
+    }
+
+    private MoodUpdateBroadcaster broadcaster(int bufferSize, Executor dispatcher) {
+        return new MoodUpdateBroadcaster(dailyMoodAggregator, new ObjectMapper(), bufferSize, Duration.ofMinutes(1),
+                Duration.ofSeconds(10), dispatcher);
+    }
+
+    private static MoodSubmittedEvent submitted(MoodType mood, String comment) {
+        MoodSubmissionDO submission = new MoodSubmissionDO(mood, "user1", comment);
+        submission.setTeamId(TEAM);
+        submission.setSubmissionDate(LocalDateTime.now());
+        return new MoodSubmittedEvent(submission);
+    }
+
+    @Test
+    void testRegister_SendsSnapshot() {
+        // Arrange
+        aggregate.record(MoodType.HAPPY, true);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act
+        broadcaster(4, Runnable::run).register(TEAM, emitter);
+
+        // Assert
+        assertEquals(1, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("\"submissionCount\":1"));
+        assertFalse(emitter.events.get(0).contains("\"mood\""));
+    }
+
+    @Test
+    void testOnMoodSubmitted_SendsUpdateToEverySubscriber() {
+        // Arrange
+        MoodUpdateBroadcaster broadcaster = broadcaster(4, Runnable::run);
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        broadcaster.register(TEAM, first);
+        broadcaster.register(TEAM, second);
+        aggregate.record(MoodType.GRUMPY, true);
+
+        // Act
+        broadcaster.onMoodSubmitted(submitted(MoodType.GRUMPY, "Long day"));
+
+        // Assert
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            assertEquals(2, emitter.events.size());
+            String update = emitter.events.get(1);
+            assertTrue(update.contains("event:" + MoodUpdateBroadcaster.UPDATE_EVENT));
+            assertTrue(update.contains("\"overallMood\":\"GRUMPY\""));
+            assertTrue(update.contains("\"comment\":\"Long day\""));
+        }
+    }
+
+    @Test
+    void testOnMoodSubmitted_SkipsAggregateWithoutSubscribers() {
+        // Act
+        broadcaster(4, Runnable::run).onMoodSubmitted(submitted(MoodType.HAPPY, null));
+
+        // Assert
+        verifyNoInteractions(dailyMoodAggregator);
+    }
+
+    @Test
+    void testOnMoodSubmitted_OnlySendsToSameTeam() {
+        // Arrange
+        MoodUpdateBroadcaster broadcaster = broadcaster(4, Runnable::run);
+        RecordingEmitter sameTeam = new RecordingEmitter();
+        RecordingEmitter otherTeam = new RecordingEmitter();
+        when(dailyMoodAggregator.forTeam("design", LocalDate.now())).thenReturn(new DailyMoodAggregate(LocalDate.now()));
+        broadcaster.register(TEAM, sameTeam);
+        broadcaster.register("design", otherTeam);
+
+        // Act
+        broadcaster.onMoodSubmitted(submitted(MoodType.HAPPY, null));
+
+        // Assert
+        assertEquals(2, sameTeam.events.size());
+        assertEquals(1, otherTeam.events.size(), "Only the snapshot should reach another team");
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void testSlowSubscriberIsDisconnected() {
+        // Arrange - the dispatcher never runs, so the subscriber never catches up
+        MoodUpdateBroadcaster broadcaster = broadcaster(2, task -> { });
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(TEAM, emitter);
+
+        // Act
+        broadcaster.onMoodSubmitted(submitted(MoodType.HAPPY, null));
+        broadcaster.onMoodSubmitted(submitted(MoodType.HAPPY, null));
+
+        // Assert
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    void testFailedSendRemovesSubscriber() {
+        // Arrange
+        MoodUpdateBroadcaster broadcaster = broadcaster(4, Runnable::run);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(TEAM, emitter);
+        emitter.failing = true;
+
+        // Act
+        broadcaster.heartbeat();
+
+        // Assert
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertEquals(0, broadcaster.getTeamCount());
+    }
+
+    @Test
+    void testRemove_KeepsTeamWhileOthersFollowIt() {
+        // Arrange
+        MoodUpdateBroadcaster broadcaster = broadcaster(4, Runnable::run);
+        RecordingEmitter leaving = new RecordingEmitter();
+        broadcaster.register(TEAM, leaving);
+        broadcaster.register(TEAM, new RecordingEmitter());
+        leaving.failing = true;
+
+        // Act
+        broadcaster.heartbeat();
+
+        // Assert
+        assertEquals(1, broadcaster.getSubscriberCount());
+        assertEquals(1, broadcaster.getTeamCount());
+    }
+
+    @Test
+    void testDisconnectBlockedSubscribers_ReplacesBlockedDispatchThread() throws Exception {
+        // Arrange
+        ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        MoodUpdateBroadcaster broadcaster = new MoodUpdateBroadcaster(dailyMoodAggregator, new ObjectMapper(), 4,
+                Duration.ofMinutes(1), Duration.ZERO, dispatcher);
+        RecordingEmitter blocked = new RecordingEmitter();
+        blocked.release = new CountDownLatch(1);
+        RecordingEmitter other = new RecordingEmitter();
+        broadcaster.register(TEAM, blocked);
+        assertTrue(blocked.sending.await(5, TimeUnit.SECONDS));
+
+        try {
+            // Act
+            broadcaster.disconnectBlockedSubscribers();
+            broadcaster.register(TEAM, other);
+
+            // Assert - the other subscriber is served while the blocked send is still waiting
+            assertEquals(2, dispatcher.getCorePoolSize());
+            assertEquals(1, broadcaster.getSubscriberCount());
+            awaitEvents(other, 1);
+            assertFalse(blocked.completed);
+        } finally {
+            blocked.release.countDown();
+        }
+        awaitCompleted(blocked);
+        assertEquals(1, dispatcher.getCorePoolSize());
+        assertEquals(1, dispatcher.getMaximumPoolSize());
+        dispatcher.shutdownNow();
+    }
+
+    @Test
+    void testDisconnectBlockedSubscribers_KeepsSubscribersWithinWriteTimeout() {
+        // Arrange
+        MoodUpdateBroadcaster broadcaster = broadcaster(4, Runnable::run);
+        broadcaster.register(TEAM, new RecordingEmitter());
+
+        // Act
+        broadcaster.disconnectBlockedSubscribers();
+
+        // Assert
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    private static void awaitEvents(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.events.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, emitter.events.size());
+    }
+
+    private static void awaitCompleted(RecordingEmitter emitter) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!emitter.completed && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(emitter.completed);
+    }
+
+    @Test
+    void testHeartbeat_SendsComment() {
+        // Arrange
+        MoodUpdateBroadcaster broadcaster = broadcaster(4, Runnable::run);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(TEAM, emitter);
+
+        // Act
+        broadcaster.heartbeat();
+
+        // Assert
+        assertEquals(":heartbeat\n\n", emitter.events.get(1));
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch release;
+        private volatile boolean failing;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            Set<DataWithMediaType> parts = builder.build();
+            events.add(parts.stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.config.GlobalExceptionHandler;
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MoodWriteBehindQueueTest {
+
+    @Mock
+    private MoodRepository moodRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MoodWriteBehindQueue queue(boolean enabled, int capacity, int maxBatch) {
+        return new MoodWriteBehindQueue(moodRepository, eventPublisher, transactionManager, meterRegistry, enabled,
+                capacity, maxBatch, Duration.ofMillis(20), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void testOffer_RejectsWhenFull() {
+        // Arrange
+        MoodWriteBehindQueue queue = queue(true, 1, 10);
+
+        // Act
+        boolean first = queue.offer(new MoodSubmissionDO(MoodType.HAPPY, "user1", null));
+        boolean second = queue.offer(new MoodSubmissionDO(MoodType.HAPPY, "user2", null));
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testFlush_WritesInBatches() {
+        // Arrange
+        MoodWriteBehindQueue queue = queue(true, 10, 2);
+        queue.offer(new MoodSubmissionDO(MoodType.HAPPY, "user1", null));
+        queue.offer(new MoodSubmissionDO(MoodType.GRUMPY, "user2", null));
+        queue.offer(new MoodSubmissionDO(MoodType.A_BIT_MEH, "user3", null));
+
+        // Act
+        queue.flush();
+
+        // Assert
+        verify(moodRepository, times(2)).saveAllAndFlush(anyList());
+        verify(eventPublisher, times(3)).publishEvent(any(MoodSubmittedEvent.class));
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testFlush_DropsSubmissionsRejectedByTheDatabase() {
+        // Arrange
+        MoodWriteBehindQueue queue = queue(true, 10, 10);
+        MoodSubmissionDO stored = new MoodSubmissionDO(MoodType.HAPPY, "user1", null);
+        MoodSubmissionDO duplicate = new MoodSubmissionDO(MoodType.GRUMPY, "user2", null);
+        queue.offer(stored);
+        queue.offer(duplicate);
+        when(moodRepository.saveAllAndFlush(anyList())).thenThrow(duplicateSubmission());
+        lenient().when(moodRepository.saveAndFlush(duplicate)).thenThrow(duplicateSubmission());
+
+        // Act
+        queue.flush();
+
+        // Assert
+        verify(moodRepository).saveAndFlush(stored);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                ((MoodSubmittedEvent) event).getSubmission() == stored));
+        verify(eventPublisher, times(1)).publishEvent(any(MoodSubmittedEvent.class));
+        assertEquals(0, invalidRejections(), "A duplicate is not an invalid submission");
+    }
+
+    @Test
+    void testFlush_CountsSubmissionsRejectedForOtherReasons() {
+        // Arrange
+        MoodWriteBehindQueue queue = queue(true, 10, 10);
+        MoodSubmissionDO stored = new MoodSubmissionDO(MoodType.HAPPY, "user1", null);
+        MoodSubmissionDO invalid = new MoodSubmissionDO(null, "user2", null);
+        queue.offer(stored);
+        queue.offer(invalid);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("mood is null",
+                new ConstraintViolationException("mood is null", null, null));
+        when(moodRepository.saveAllAndFlush(anyList())).thenThrow(violation);
+        lenient().when(moodRepository.saveAndFlush(invalid)).thenThrow(violation);
+
+        // Act
+        queue.flush();
+
+        // Assert
+        verify(moodRepository).saveAndFlush(stored);
+        verify(eventPublisher, times(1)).publishEvent(any(MoodSubmittedEvent.class));
+        assertEquals(1, invalidRejections());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testStop_DrainsQueue() {
+        // Arrange
+        MoodWriteBehindQueue queue = queue(true, 10, 10);
+        queue.start();
+        queue.offer(new MoodSubmissionDO(MoodType.HAPPY, "user1", null));
+
+        // Act
+        queue.stop();
+
+        // Assert
+        assertFalse(queue.isRunning());
+        assertEquals(0, queue.size());
+        verify(moodRepository, atLeastOnce()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void testStart_DoesNothingWhenDisabled() {
+        // Arrange
+        MoodWriteBehindQueue queue = queue(false, 10, 10);
+
+        // Act
+        queue.start();
+
+        // Assert
+        assertFalse(queue.isEnabled());
+        assertFalse(queue.isRunning());
+    }
+
+    @Test
+    void testGetPhase_StopsAfterWebServer() {
+        // Arrange
+        MoodWriteBehindQueue queue = queue(true, 10, 10);
+        int webServerPhase = SmartLifecycle.DEFAULT_PHASE - 2048;
+
+        // Act
+        int phase = queue.getPhase();
+
+        // Assert
+        assertTrue(phase < webServerPhase);
+    }
+
+    private static DataIntegrityViolationException duplicateSubmission() {
+        return new DataIntegrityViolationException("Duplicate",
+                new ConstraintViolationException("Duplicate", null, "mood_submission." + MoodSubmissionDO.USER_DAY_CONSTRAINT));
+    }
+
+    private double invalidRejections() {
+        return meterRegistry.get(GlobalExceptionHandler.REJECTED_SUBMISSIONS_METRIC).tag("reason", "queued_invalid").counter().count();
+    }
+}
@@ -0,0 +1,80 @@
+package com.fuel50.moodtracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PhraseCounterTest {
+
+    private static List<String> phrases(List<Map.Entry<String, Integer>> top) {
+        return top.stream().map(Map.Entry::getKey).toList();
+    }
+
+    @Test
+    void testTop_MostFrequentFirst() {
+        // Arrange
+        PhraseCounter counter = new PhraseCounter(10);
+        for (String phrase : List.of("lunch", "deadline", "deadline", "release", "deadline", "release")) {
+            counter.add(phrase);
+        }
+
+        // Act
+        List<Map.Entry<String, Integer>> top = counter.top(2);
+
+        // Assert
+        assertEquals(List.of("deadline", "release"), phrases(top));
+        assertEquals(3, top.get(0).getValue());
+    }
+
+    @Test
+    void testTop_TiesInAlphabeticalOrder() {
+        // Arrange
+        PhraseCounter counter = new PhraseCounter(10);
+        counter.add("zoom");
+        counter.add("coffee");
+
+        // Act & Assert
+        assertEquals(List.of("coffee", "zoom"), phrases(counter.top(5)));
+    }
+
+    @Test
+    void testAdd_FrequentPhraseDisplacesRareOnes() {
+        // Arrange - the capacity is full of phrases seen once before the frequent one gets going
+        PhraseCounter counter = new PhraseCounter(3);
+        counter.add("one");
+        counter.add("two");
+        counter.add("three");
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            counter.add("outage");
+        }
+
+        // Assert
+        List<Map.Entry<String, Integer>> top = counter.top(3);
+        assertEquals(3, top.size());
+        assertEquals("outage", top.get(0).getKey());
+        assertEquals(4, top.get(0).getValue(), "The occurrence seen before it got in is still counted");
+    }
+
+    @Test
+    void testAdd_BoundedByCapacity() {
+        // Arrange
+        PhraseCounter counter = new PhraseCounter(50);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            counter.add("phrase " + i);
+            counter.add("frequent");
+        }
+
+        // Assert
+        List<Map.Entry<String, Integer>> top = counter.top(100);
+        assertEquals(50, top.size());
+        assertEquals("frequent", top.get(0).getKey());
+        assertTrue(top.get(0).getValue() >= 10_000);
+    }
+}
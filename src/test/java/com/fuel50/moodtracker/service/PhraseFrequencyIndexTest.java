@@ -0,0 +1,104 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.dataaccessobject.TeamCommentView;
+import com.fuel50.moodtracker.datatransferobject.PhraseCountDTO;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PhraseFrequencyIndexTest {
+
+    @Mock
+    private MoodRepository moodRepository;
+
+    private PhraseFrequencyIndex index;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        index = new PhraseFrequencyIndex(moodRepository, 7, 20);
+        today = LocalDate.now();
+    }
+
+    private static MoodSubmittedEvent submitted(MoodType mood, String comment, LocalDateTime submissionDate) {
+        MoodSubmissionDO submission = new MoodSubmissionDO(mood, "user", comment);
+        submission.setSubmissionDate(submissionDate);
+        return new MoodSubmittedEvent(submission);
+    }
+
+    private static TeamCommentView comment(long id, MoodType mood, String comment) {
+        return new TeamCommentView() {
+            public Long getId() { return id; }
+            public String getTeamId() { return MoodSubmissionDO.DEFAULT_TEAM; }
+            public MoodType getMood() { return mood; }
+            public String getComment() { return comment; }
+        };
+    }
+
+    private static List<String> phrases(List<PhraseCountDTO> phraseCounts) {
+        return phraseCounts.stream().map(PhraseCountDTO::getPhrase).toList();
+    }
+
+    @Test
+    void testOnMoodSubmitted_CountsPerDayAndMood() {
+        // Arrange
+        index.onMoodSubmitted(submitted(MoodType.GRUMPY, "Deadline again", LocalDateTime.now()));
+        index.onMoodSubmitted(submitted(MoodType.GRUMPY, "Another deadline", LocalDateTime.now()));
+        index.onMoodSubmitted(submitted(MoodType.HAPPY, "Team lunch, then deadline met", LocalDateTime.now()));
+        index.onMoodSubmitted(submitted(MoodType.HAPPY, null, LocalDateTime.now()));
+
+        // Act
+        List<PhraseCountDTO> all = index.getTopPhrases(today, null, 1);
+        List<PhraseCountDTO> happy = index.getTopPhrases(today, MoodType.HAPPY, 20);
+        List<PhraseCountDTO> meh = index.getTopPhrases(today, MoodType.A_BIT_MEH, 20);
+
+        // Assert
+        assertEquals("deadline", all.get(0).getPhrase());
+        assertEquals(3, all.get(0).getCount());
+        assertTrue(phrases(happy).contains("team lunch"));
+        assertFalse(phrases(happy).contains("another deadline"));
+        assertTrue(meh.isEmpty());
+    }
+
+    @Test
+    void testGetTopPhrases_EmptyForDaysNotKept() {
+        // Arrange
+        index.onMoodSubmitted(submitted(MoodType.HAPPY, "Old news", LocalDateTime.now().minusDays(7)));
+
+        // Act & Assert
+        assertTrue(index.getTopPhrases(today.minusDays(7), null, 10).isEmpty());
+        assertTrue(index.getTopPhrases(today, null, 10).isEmpty());
+    }
+
+    @Test
+    void testRebuild_ReadsKeptDaysFromRepository() {
+        // Arrange
+        lenient().when(moodRepository.findTeamCommentsAfter(today.atStartOfDay(), today.plusDays(1).atStartOfDay(), 0L, Limit.of(10_000)))
+                .thenReturn(List.of(comment(1L, MoodType.HAPPY, "Release day"), comment(2L, MoodType.GRUMPY, "Release blocked")));
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertEquals(List.of("release"), phrases(index.getTopPhrases(today, null, 1)));
+        assertEquals(2, index.getTopPhrases(today, null, 1).get(0).getCount());
+        assertTrue(phrases(index.getTopPhrases(today, MoodType.GRUMPY, 10)).contains("release blocked"));
+        verify(moodRepository, times(7)).findTeamCommentsAfter(any(), any(), anyLong(), any());
+    }
+}
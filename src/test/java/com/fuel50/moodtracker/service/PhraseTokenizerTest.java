@@ -0,0 +1,52 @@
+package com.fuel50.moodtracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PhraseTokenizerTest {
+
+    @Test
+    void testPhrases_WordsAndShortRuns() {
+        // Act
+        Set<String> phrases = PhraseTokenizer.phrases("Great team lunch!");
+
+        // Assert
+        assertEquals(List.of("great", "great team", "great team lunch", "team", "team lunch", "lunch"), List.copyOf(phrases));
+    }
+
+    @Test
+    void testPhrases_SkipsStopWordsAtEdges() {
+        // Act
+        Set<String> phrases = PhraseTokenizer.phrases("The end of the sprint is near");
+
+        // Assert
+        assertTrue(phrases.contains("end"));
+        assertTrue(phrases.contains("sprint"));
+        assertFalse(phrases.contains("the"));
+        assertFalse(phrases.contains("end of"));
+        assertFalse(phrases.contains("the sprint"));
+        assertTrue(phrases.contains("sprint is near"));
+    }
+
+    @Test
+    void testPhrases_NormalizesCaseAndPunctuation() {
+        // Act
+        Set<String> phrases = PhraseTokenizer.phrases("DEPLOY day... 'deploy' Day, don't panic");
+
+        // Assert
+        assertTrue(phrases.contains("deploy day"));
+        assertTrue(phrases.contains("don't panic"));
+        assertEquals(1, phrases.stream().filter("deploy"::equals).count());
+    }
+
+    @Test
+    void testPhrases_EmptyForStopWordsOnly() {
+        // Act & Assert
+        assertTrue(PhraseTokenizer.phrases("It is what it is, a").isEmpty());
+        assertTrue(PhraseTokenizer.phrases("  !!! ").isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SubmissionDayBackfillTest {
+
+    @Mock
+    private MoodRepository moodRepository;
+
+    @InjectMocks
+    private SubmissionDayBackfill backfill;
+
+    @Test
+    void testBackfill() {
+        // Arrange
+        when(moodRepository.backfillSubmissionDay()).thenReturn(3);
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        verify(moodRepository).backfillSubmissionDay();
+        verify(moodRepository).backfillTeamId(MoodSubmissionDO.DEFAULT_TEAM);
+    }
+
+    @Test
+    void testBackfill_DuplicateRowsDoNotPreventStartup() {
+        // Arrange
+        when(moodRepository.backfillSubmissionDay()).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> backfill.backfill());
+    }
+
+    @Test
+    void testBackfill_FillsEveryRowButTheDuplicates() {
+        // Arrange
+        when(moodRepository.backfillSubmissionDay()).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(moodRepository.findIdsWithoutSubmissionDay(0, Limit.of(SubmissionDayBackfill.PAGE_SIZE))).thenReturn(List.of(1L, 2L, 3L));
+        when(moodRepository.backfillSubmissionDay(anyLong())).thenReturn(1);
+        when(moodRepository.backfillSubmissionDay(2L)).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // Act
+        backfill.backfill();
+
+        // Assert
+        verify(moodRepository).backfillSubmissionDay(1L);
+        verify(moodRepository).backfillSubmissionDay(3L);
+        verify(moodRepository, never()).findIdsWithoutSubmissionDay(eq(3L), any());
+        verify(moodRepository).backfillTeamId(MoodSubmissionDO.DEFAULT_TEAM);
+    }
+}
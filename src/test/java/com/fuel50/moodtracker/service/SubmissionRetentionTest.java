@@ -0,0 +1,193 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.dataaccessobject.DailyMoodCount;
+import com.fuel50.moodtracker.dataaccessobject.MoodRepository;
+import com.fuel50.moodtracker.dataaccessobject.SubmissionPartitions;
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.ExportFormat;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SubmissionRetentionTest {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.of(2024, 4);
+    private static final LocalDate EXPIRED_DAY = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private MoodRepository moodRepository;
+
+    @Mock
+    private MoodService moodService;
+
+    @Mock
+    private DailyMoodRollup dailyMoodRollup;
+
+    @Mock
+    private SubmissionPartitions partitions;
+
+    @TempDir
+    Path archivePath;
+
+    private SubmissionRetention retention(String archivePath) {
+        return new SubmissionRetention(moodRepository, moodService, dailyMoodRollup, partitions, 2, archivePath);
+    }
+
+    @Test
+    void testExpire_RollsUpArchivesAndDeletesExpiredMonths() throws IOException {
+        // Arrange
+        when(moodRepository.findFirstSubmissionDate()).thenReturn(LocalDate.of(2023, 12, 31).atTime(9, 0));
+        when(moodRepository.countDailyMoods(any(), any())).thenReturn(List.of());
+        when(moodRepository.countDailyMoods(LocalDate.of(2024, 1, 1).atStartOfDay(), LocalDate.of(2024, 2, 1).atStartOfDay()))
+                .thenReturn(List.of(dailyMoodCount(EXPIRED_DAY, MoodType.HAPPY), dailyMoodCount(EXPIRED_DAY, MoodType.GRUMPY)));
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write("{\"userId\":\"user1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(moodService).exportSubmissions(any(), any(), eq(ExportFormat.NDJSON), any());
+
+        // Act
+        retention(archivePath.toString()).expire(CURRENT_MONTH);
+
+        // Assert - months before February expire, two months before April; December has no days to archive
+        verify(dailyMoodRollup).rollUp(EXPIRED_DAY);
+        verify(moodService).exportSubmissions(eq(LocalDate.of(2024, 1, 1)), eq(LocalDate.of(2024, 1, 31)), eq(ExportFormat.NDJSON), any());
+        verify(moodRepository).deleteSubmissions(LocalDate.of(2024, 1, 1).atStartOfDay(), LocalDate.of(2024, 2, 1).atStartOfDay());
+        verify(moodRepository, times(1)).deleteSubmissions(any(), any());
+        try (InputStream archive = new GZIPInputStream(Files.newInputStream(archivePath.resolve("mood_submission-2024-01.ndjson.gz")))) {
+            assertEquals("{\"userId\":\"user1\"}\n", new String(archive.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (var files = Files.list(archivePath)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testExpire_ArchivesEverySubmissionItDeletes() throws IOException {
+        // Arrange - the real export, reading the mocked repository; a submission in the last second of the month
+        LocalDateTime from = LocalDate.of(2024, 1, 1).atStartOfDay();
+        LocalDateTime to = LocalDate.of(2024, 2, 1).atStartOfDay();
+        MoodSubmissionDO lastSecond = new MoodSubmissionDO(MoodType.HAPPY, "user1", null);
+        lastSecond.setId(7L);
+        lastSecond.setSubmissionDate(LocalDate.of(2024, 1, 31).atTime(23, 59, 59, 500_000_000));
+        MoodService exporter = new DefaultMoodService(moodRepository, null, null, null, null, null, null, null);
+        when(moodRepository.findFirstSubmissionDate()).thenReturn(EXPIRED_DAY.atTime(9, 0));
+        when(moodRepository.countDailyMoods(any(), any())).thenReturn(List.of());
+        when(moodRepository.countDailyMoods(from, to)).thenReturn(List.of(dailyMoodCount(EXPIRED_DAY, MoodType.HAPPY)));
+        when(moodRepository.streamSubmissions(from, to)).thenReturn(Stream.of(lastSecond));
+
+        // Act
+        new SubmissionRetention(moodRepository, exporter, dailyMoodRollup, partitions, 2, archivePath.toString())
+                .expire(CURRENT_MONTH);
+
+        // Assert - archived with the bounds of the delete
+        verify(moodRepository).deleteSubmissions(from, to);
+        try (InputStream archive = new GZIPInputStream(Files.newInputStream(archivePath.resolve("mood_submission-2024-01.ndjson.gz")))) {
+            assertEquals("{\"id\":7,\"submissionDate\":\"2024-01-31T23:59:59.500\",\"userId\":\"user1\",\"teamId\":\"default\",\"mood\":\"HAPPY\"}\n",
+                    new String(archive.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testExpire_DropsPartitionsWithoutArchiving() throws IOException {
+        // Arrange
+        when(moodRepository.findFirstSubmissionDate()).thenReturn(EXPIRED_DAY.atTime(9, 0));
+        when(moodRepository.countDailyMoods(any(), any())).thenReturn(List.of());
+        when(partitions.isPartitioned()).thenReturn(true);
+
+        // Act
+        retention("").expire(CURRENT_MONTH);
+
+        // Assert
+        verify(partitions, atLeastOnce()).dropBefore(YearMonth.of(2024, 2));
+        verify(partitions, never()).dropBefore(YearMonth.of(2024, 3));
+        verify(moodService, never()).exportSubmissions(any(), any(), any(), any());
+        verify(moodRepository, never()).deleteSubmissions(any(), any());
+    }
+
+    @Test
+    void testExpire_DeletesSubmissionsWithoutDay() throws IOException {
+        // Arrange - only repeated legacy submissions, which the backfill left without a day
+        when(moodRepository.findFirstSubmissionDate()).thenReturn(EXPIRED_DAY.atTime(9, 0));
+        when(moodRepository.countDailyMoods(any(), any())).thenReturn(List.of());
+        when(moodRepository.countDailyMoods(LocalDate.of(2024, 1, 1).atStartOfDay(), LocalDate.of(2024, 2, 1).atStartOfDay()))
+                .thenReturn(List.of(dailyMoodCount(null, MoodType.HAPPY)));
+
+        // Act
+        retention(archivePath.toString()).expire(CURRENT_MONTH);
+
+        // Assert
+        verifyNoInteractions(dailyMoodRollup);
+        verify(moodService).exportSubmissions(eq(LocalDate.of(2024, 1, 1)), eq(LocalDate.of(2024, 1, 31)), eq(ExportFormat.NDJSON), any());
+        verify(moodRepository).deleteSubmissions(LocalDate.of(2024, 1, 1).atStartOfDay(), LocalDate.of(2024, 2, 1).atStartOfDay());
+    }
+
+    @Test
+    void testExpire_KeepsMonthWhenArchiveFails() throws IOException {
+        // Arrange
+        when(moodRepository.findFirstSubmissionDate()).thenReturn(EXPIRED_DAY.atTime(9, 0));
+        when(moodRepository.countDailyMoods(any(), any())).thenReturn(List.of(dailyMoodCount(EXPIRED_DAY, MoodType.HAPPY)));
+        doThrow(new IOException("Disk full")).when(moodService).exportSubmissions(any(), any(), any(), any());
+
+        // Act
+        retention(archivePath.toString()).expire(CURRENT_MONTH);
+
+        // Assert
+        verify(moodRepository, never()).deleteSubmissions(any(), any());
+        verify(partitions, never()).dropBefore(any());
+    }
+
+    @Test
+    void testExpire_NothingStored() {
+        // Arrange
+        when(moodRepository.findFirstSubmissionDate()).thenReturn(null);
+
+        // Act
+        retention("").expire(CURRENT_MONTH);
+
+        // Assert
+        verify(moodRepository, never()).deleteSubmissions(any(), any());
+        verifyNoInteractions(dailyMoodRollup);
+    }
+
+    @Test
+    void testRetention_KeepsAtLeastOneMonth() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new SubmissionRetention(moodRepository, moodService, dailyMoodRollup, partitions, 0, ""));
+    }
+
+    private static DailyMoodCount dailyMoodCount(LocalDate day, MoodType mood) {
+        return new DailyMoodCount() {
+            @Override
+            public Long getDay() { return day == null ? null : day.toEpochDay(); }
+            @Override
+            public MoodType getMood() { return mood; }
+            @Override
+            public long getTotal() { return 1; }
+            @Override
+            public long getComments() { return 0; }
+        };
+    }
+}
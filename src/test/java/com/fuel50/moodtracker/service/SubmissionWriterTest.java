@@ -0,0 +1,97 @@
+package com.fuel50.moodtracker.service;
+
+import com.fuel50.moodtracker.domainobject.MoodSubmissionDO;
+import com.fuel50.moodtracker.domainvalue.ExportFormat;
+import com.fuel50.moodtracker.domainvalue.MoodType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubmissionWriterTest {
+
+    private static MoodSubmissionDO submission(long id, MoodType mood, String userId, String comment) {
+        MoodSubmissionDO submission = new MoodSubmissionDO(mood, userId, comment);
+        submission.setId(id);
+        submission.setSubmissionDate(LocalDateTime.of(2025, 3, 14, 9, 30));
+        return submission;
+    }
+
+    private static String export(ExportFormat format, MoodSubmissionDO... submissions) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SubmissionWriter writer = SubmissionWriter.of(format, out);
+        for (MoodSubmissionDO submission : submissions) {
+            writer.write(submission);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testCsv_QuotesValuesThatNeedIt() throws IOException {
+        // Act
+        String csv = export(ExportFormat.CSV,
+                submission(1, MoodType.HAPPY, "user1", "Great day"),
+                submission(2, MoodType.GRUMPY, "user2", "Long, \"hard\"\nday"),
+                submission(3, MoodType.A_BIT_MEH, "user3", null));
+
+        // Assert
+        assertEquals("id,submissionDate,userId,teamId,mood,comment\r\n"
+                + "1,2025-03-14T09:30,user1,default,HAPPY,Great day\r\n"
+                + "2,2025-03-14T09:30,user2,default,GRUMPY,\"Long, \"\"hard\"\"\nday\"\r\n"
+                + "3,2025-03-14T09:30,user3,default,A_BIT_MEH,\r\n", csv);
+    }
+
+    @Test
+    void testCsv_PrefixesValuesThatWouldBeReadAsFormulas() throws IOException {
+        // Act
+        String csv = export(ExportFormat.CSV,
+                submission(1, MoodType.HAPPY, "=cmd", "+1 for the demo"),
+                submission(2, MoodType.GRUMPY, "@user2", "-2, \"meh\""),
+                submission(3, MoodType.A_BIT_MEH, "user3", "\tindented"),
+                submission(4, MoodType.HAPPY, "user4", "\rreturned"));
+
+        // Assert
+        assertEquals("id,submissionDate,userId,teamId,mood,comment\r\n"
+                + "1,2025-03-14T09:30,'=cmd,default,HAPPY,'+1 for the demo\r\n"
+                + "2,2025-03-14T09:30,'@user2,default,GRUMPY,\"'-2, \"\"meh\"\"\"\r\n"
+                + "3,2025-03-14T09:30,user3,default,A_BIT_MEH,'\tindented\r\n"
+                + "4,2025-03-14T09:30,user4,default,HAPPY,\"'\rreturned\"\r\n", csv);
+    }
+
+    @Test
+    void testCsv_HeaderIsSentBeforeAnyRow() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        SubmissionWriter.of(ExportFormat.CSV, out);
+
+        // Assert
+        assertEquals("id,submissionDate,userId,teamId,mood,comment\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testNdjson_OneObjectPerLine() throws IOException {
+        // Act
+        String ndjson = export(ExportFormat.NDJSON,
+                submission(1, MoodType.HAPPY, "user1", "Say \"hi\""),
+                submission(2, MoodType.GRUMPY, "user2", null));
+
+        // Assert
+        assertEquals("{\"id\":1,\"submissionDate\":\"2025-03-14T09:30\",\"userId\":\"user1\",\"teamId\":\"default\","
+                + "\"mood\":\"HAPPY\",\"comment\":\"Say \\\"hi\\\"\"}\n"
+                + "{\"id\":2,\"submissionDate\":\"2025-03-14T09:30\",\"userId\":\"user2\",\"teamId\":\"default\","
+                + "\"mood\":\"GRUMPY\"}\n", ndjson);
+    }
+
+    @Test
+    void testNdjson_EmptyExportIsEmpty() throws IOException {
+        // Act & Assert
+        assertEquals("", export(ExportFormat.NDJSON));
+    }
+}